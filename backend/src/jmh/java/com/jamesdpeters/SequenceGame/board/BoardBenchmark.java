@@ -0,0 +1,106 @@
+package com.jamesdpeters.SequenceGame.board;
+
+import com.jamesdpeters.SequenceGame.card.Card;
+import com.jamesdpeters.SequenceGame.game.GameStates;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sequence detection, chip placement and dead card checks on boards taken from seeded random games.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BoardBenchmark {
+
+	@Param({"MID", "LATE"})
+	public String stage;
+
+	private Board board;
+	private int[] occupiedRows;
+	private int[] occupiedColumns;
+	private int[] openRows;
+	private int[] openColumns;
+	private final List<Card> cards = distinctCards();
+	private int next;
+
+	/**
+	 * Rebuilt every iteration, since the benchmarks below leave sequence marks and counters behind.
+	 */
+	@Setup(Level.Iteration)
+	public void setUp() {
+		var moves = "MID".equals(stage) ? GameStates.MID_GAME_MOVES : GameStates.LATE_GAME_MOVES;
+		board = GameStates.playedGame(7, moves).getBoard();
+
+		var occupied = new ArrayList<int[]>();
+		var open = new ArrayList<int[]>();
+		for (int cell = 0; cell < board.getCellCount(); cell++) {
+			var position = new int[]{board.getCellRow(cell), board.getCellColumn(cell)};
+			if (board.getCard(position[0], position[1]) == null) {
+				continue;
+			}
+			(board.getChip(position[0], position[1]) != null ? occupied : open).add(position);
+		}
+		occupiedRows = occupied.stream().mapToInt(position -> position[0]).toArray();
+		occupiedColumns = occupied.stream().mapToInt(position -> position[1]).toArray();
+		openRows = open.stream().mapToInt(position -> position[0]).toArray();
+		openColumns = open.stream().mapToInt(position -> position[1]).toArray();
+	}
+
+	/**
+	 * Re-checks sequences through one occupied cell per op, cycling through every chip on the board.
+	 */
+	@Benchmark
+	public Board checkSequences() {
+		var i = next++ % occupiedRows.length;
+		board.checkSequences(occupiedRows[i], occupiedColumns[i]);
+		return board;
+	}
+
+	/**
+	 * Places and removes a chip on one open cell per op, each placement running a sequence check.
+	 */
+	@Benchmark
+	public Board setChip() {
+		var i = next++ % openRows.length;
+		board.setChip(openRows[i], openColumns[i], ChipColour.BLUE);
+		board.setChip(openRows[i], openColumns[i], null);
+		return board;
+	}
+
+	/**
+	 * Checks all 52 distinct cards per op.
+	 */
+	@Benchmark
+	public void isDeadCard(Blackhole blackhole) {
+		for (var card : cards) {
+			blackhole.consume(board.isDeadCard(card));
+		}
+	}
+
+	private static List<Card> distinctCards() {
+		var cards = new ArrayList<Card>(Card.COUNT);
+		for (int id = 0; id < Card.COUNT; id++) {
+			cards.add(Card.of(id));
+		}
+		return cards;
+	}
+}
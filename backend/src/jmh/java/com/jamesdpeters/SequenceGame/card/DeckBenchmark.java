@@ -0,0 +1,53 @@
+package com.jamesdpeters.SequenceGame.card;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drawing and discarding, including the reshuffle of the discard pile whenever the draw pile runs out.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DeckBenchmark {
+
+	private Deck deck;
+
+	@Setup
+	public void setUp() {
+		deck = new Deck();
+	}
+
+	/**
+	 * One draw and discard per op, so every 104 ops the discard pile is shuffled back in.
+	 */
+	@Benchmark
+	public Card drawAndDiscard() {
+		var card = deck.draw();
+		deck.discard(card);
+		return card;
+	}
+
+	@Benchmark
+	public Deck newDeck() {
+		return new Deck();
+	}
+
+	@Benchmark
+	public Deck copy() {
+		return deck.copy();
+	}
+}
@@ -0,0 +1,84 @@
+package com.jamesdpeters.SequenceGame.game;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Move application, legal move generation and complete random playouts.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GameBenchmark {
+
+	private Random random;
+	private long seed;
+	private Game game;
+	private Game midGame;
+
+	@Setup
+	public void setUp() {
+		random = new Random(42);
+		game = GameStates.newGame(seed++, 2);
+		midGame = GameStates.playedGame(7, GameStates.MID_GAME_MOVES);
+	}
+
+	/**
+	 * One random move per op via {@link Game#doPlayerMoveAction}, dealing a new game whenever one ends.
+	 */
+	@Benchmark
+	public Game doPlayerMoveAction() {
+		if (!GameStates.playRandomMove(game, random)) {
+			game = GameStates.newGame(seed++, 2);
+		}
+		return game;
+	}
+
+	/**
+	 * Makes and unmakes every legal move of a mid-game position, as a search expanding one node would.
+	 */
+	@Benchmark
+	public long makeUnmakeMidGame() {
+		var player = midGame.getCurrentPlayerTurn();
+		long hashes = 0;
+		for (var move : midGame.getLegalMoveGenerator().getLegalMoves(player)) {
+			var undo = midGame.makeMove(player, move);
+			hashes ^= midGame.getBoard().getHash();
+			midGame.unmakeMove(undo);
+		}
+		return hashes;
+	}
+
+	@Benchmark
+	public List<MoveAction> legalMovesMidGame() {
+		return midGame.getLegalMoveGenerator().getLegalMoves(midGame.getCurrentPlayerTurn());
+	}
+
+	@Benchmark
+	public boolean[] actionMaskMidGame() {
+		return midGame.getLegalMoveGenerator().getActionMask(midGame.getCurrentPlayerTurn());
+	}
+
+	/**
+	 * A complete two player game from the deal, so the score is games per second.
+	 */
+	@Benchmark
+	public int randomPlayout() {
+		return GameStates.playOut(GameStates.newGame(seed++, 2), random);
+	}
+}
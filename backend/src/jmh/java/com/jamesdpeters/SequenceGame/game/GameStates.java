@@ -0,0 +1,84 @@
+package com.jamesdpeters.SequenceGame.game;
+
+import com.jamesdpeters.SequenceGame.card.Card;
+import com.jamesdpeters.SequenceGame.card.Deck;
+import com.jamesdpeters.SequenceGame.player.Player;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Reproducible game states for the benchmarks, built by playing uniformly random legal moves from a seeded deal.
+ */
+public final class GameStates {
+
+	public static final int MID_GAME_MOVES = 30;
+	public static final int LATE_GAME_MOVES = 70;
+
+	private GameStates() {
+	}
+
+	/**
+	 * @return a started game with {@code players} players, dealt from a deck shuffled by {@code seed}
+	 */
+	public static Game newGame(long seed, int players) {
+		var cards = new ArrayList<Card>(2 * Card.COUNT);
+		for (int id = 0; id < Card.COUNT; id++) {
+			cards.add(Card.of(id));
+			cards.add(Card.of(id));
+		}
+		Collections.shuffle(cards, new Random(seed));
+
+		var game = new Game(players, new Deck(cards));
+		for (int i = 0; i < players; i++) {
+			game.addPlayer(new Player(new UUID(seed, i), new UUID(~seed, i), "Player " + (i + 1)));
+		}
+		game.initialise();
+		return game;
+	}
+
+	/**
+	 * @return a two player game after up to {@code moves} random moves, stopping early if the game ends
+	 */
+	public static Game playedGame(long seed, int moves) {
+		var game = newGame(seed, 2);
+		var random = new Random(seed);
+		for (int i = 0; i < moves && playRandomMove(game, random); i++) {
+			// Keep playing.
+		}
+		return game;
+	}
+
+	/**
+	 * Plays one uniformly random legal move for the current player.
+	 *
+	 * @return whether the game can continue
+	 */
+	public static boolean playRandomMove(Game game, Random random) {
+		if (game.getStatus() != Game.Status.IN_PROGRESS) {
+			return false;
+		}
+		var player = game.getCurrentPlayerTurn();
+		var moves = game.getLegalMoveGenerator().getLegalMoves(player);
+		if (moves.isEmpty()) {
+			return false;
+		}
+		game.doPlayerMoveAction(player, moves.get(random.nextInt(moves.size())));
+		return game.getStatus() == Game.Status.IN_PROGRESS;
+	}
+
+	/**
+	 * Plays random moves until the game is won or nobody can move.
+	 *
+	 * @return the number of moves played
+	 */
+	public static int playOut(Game game, Random random) {
+		var moves = 0;
+		while (playRandomMove(game, random)) {
+			moves++;
+		}
+		return moves;
+	}
+}
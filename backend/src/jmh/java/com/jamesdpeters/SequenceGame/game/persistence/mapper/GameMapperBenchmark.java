@@ -0,0 +1,74 @@
+package com.jamesdpeters.SequenceGame.game.persistence.mapper;
+
+import com.jamesdpeters.SequenceGame.game.Game;
+import com.jamesdpeters.SequenceGame.game.GameStates;
+import com.jamesdpeters.SequenceGame.game.persistence.entity.GameEntity;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Domain to entity graph mapping and back, without a database. The in-place update measures what a save after
+ * one move costs the mapper, since only the rows that move changed are touched.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameMapperBenchmark {
+
+	@Param({"MID", "LATE"})
+	public String stage;
+
+	private final GameToEntityMapper entityMapper = new GameToEntityMapper();
+	private final GameToDomainMapper domainMapper = new GameToDomainMapper();
+
+	private Game game;
+	private GameEntity entity;
+	private byte[] snapshot;
+
+	@Setup
+	public void setUp() {
+		var moves = "MID".equals(stage) ? GameStates.MID_GAME_MOVES : GameStates.LATE_GAME_MOVES;
+		game = GameStates.playedGame(7, moves);
+		entity = entityMapper.toEntity(game);
+		snapshot = GameSnapshotCodec.encode(game);
+	}
+
+	@Benchmark
+	public GameEntity toNewEntity() {
+		return entityMapper.toEntity(game);
+	}
+
+	@Benchmark
+	public GameEntity toExistingEntity() {
+		return entityMapper.toEntity(game, entity);
+	}
+
+	@Benchmark
+	public Game toDomain() {
+		return domainMapper.toDomain(entity);
+	}
+
+	@Benchmark
+	public byte[] encodeSnapshot() {
+		return GameSnapshotCodec.encode(game);
+	}
+
+	@Benchmark
+	public GameSnapshotCodec.Snapshot decodeSnapshot() {
+		return GameSnapshotCodec.decode(snapshot);
+	}
+}
@@ -1,27 +1,39 @@
 package com.jamesdpeters.SequenceGame.board;
 
 import com.jamesdpeters.SequenceGame.card.Card;
-import lombok.Getter;
-import org.apache.commons.lang3.tuple.ImmutablePair;
 import org.apache.commons.lang3.tuple.Pair;
 
-import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Collections;
+import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
 
+/**
+ * Bitboard backed Sequence board. Chips are stored as one lo/hi pair of longs per {@link ChipColour}, with
+ * the cell numbering and line tables supplied by a shared {@link BoardGeometry}. {@link BoardSpace}
+ * instances are thin views onto this state and are only created when asked for.
+ * <p>
+ * A 64-bit {@link Zobrist} hash of the chips and sequence flags is updated with every change, so two
+ * positions can be told apart without walking the board.
+ */
 public class Board {
 
 	private static final int DEFAULT_SEQUENCE_LENGTH = 5;
-	private static final int[][] DIRECTIONS = {{0, 1}, {1, 0}, {1, 1}, {1, -1}};
+	private static final ChipColour[] COLOURS = ChipColour.values();
 
-	@Getter private final BoardSpace[][] boardSpaces;
-	private final int sequenceLength;
+	private final BoardGeometry geometry;
 
-	@Getter
-	private final Map<ChipColour, Integer> completedSequences = new HashMap<>();
-	@Getter
-	private final Map<ChipColour, Integer> chipsPlaced = new HashMap<>();
+	private final long[] chipsLo = new long[COLOURS.length];
+	private final long[] chipsHi = new long[COLOURS.length];
+	private long sequenceLo;
+	private long sequenceHi;
+	private final int[] completedSequences = new int[COLOURS.length];
+	// Number of chip-free cells still showing each card, indexed by BoardGeometry.cardIndex.
+	private final int[] openSpaces;
+	// Zobrist hash of every chip and sequence flag, kept up to date by each change.
+	private long hash;
+
+	private BoardSpace[][] boardSpaces;
 
 	public Board() {
 		this(BoardLayout.DEFAULT_LAYOUT);
@@ -32,130 +44,351 @@ public class Board {
 	}
 
 	public Board(String[][] layout, int sequenceLength) {
-		this.boardSpaces = fromBoardLayout(layout);
-		this.sequenceLength = sequenceLength;
+		this.geometry = BoardGeometry.of(layout, sequenceLength);
+		this.openSpaces = new int[BoardGeometry.CARD_KINDS];
+		for (int card = 0; card < BoardGeometry.CARD_KINDS; card++) {
+			openSpaces[card] = geometry.cardCells[card].length;
+		}
+	}
+
+	private Board(Board source) {
+		this.geometry = source.geometry;
+		System.arraycopy(source.chipsLo, 0, chipsLo, 0, chipsLo.length);
+		System.arraycopy(source.chipsHi, 0, chipsHi, 0, chipsHi.length);
+		this.sequenceLo = source.sequenceLo;
+		this.sequenceHi = source.sequenceHi;
+		System.arraycopy(source.completedSequences, 0, completedSequences, 0, completedSequences.length);
+		this.openSpaces = source.openSpaces.clone();
+		this.hash = source.hash;
+	}
+
+	/**
+	 * @return an independent board with the same layout, chips and sequences
+	 */
+	public Board copy() {
+		return new Board(this);
 	}
 
 	public int getRows() {
-		return boardSpaces.length;
+		return geometry.rows;
+	}
+
+	public int getRowLength(int row) {
+		return geometry.rowLengths[row];
 	}
 
 	public BoardSpace[] getColumn(int row) {
-		return boardSpaces[row];
+		return getBoardSpaces()[row];
 	}
 
 	public BoardSpace getSpace(int x, int y) {
-		return boardSpaces[x][y];
+		return getBoardSpaces()[x][y];
 	}
 
-	public void setChip(int x, int y, ChipColour chipColour) {
-		var space = boardSpaces[x][y];
-		if (space.getCard() != null) {
-			var previousChip = space.getChip();
-			if (previousChip != null) {
-				chipsPlaced.merge(previousChip, -1, Integer::sum);
+	public BoardSpace[][] getBoardSpaces() {
+		if (boardSpaces == null) {
+			boardSpaces = new BoardSpace[geometry.rows][];
+			for (int row = 0; row < geometry.rows; row++) {
+				boardSpaces[row] = new BoardSpace[geometry.rowLengths[row]];
+				for (int col = 0; col < geometry.rowLengths[row]; col++) {
+					boardSpaces[row][col] = new BoardSpace(this, row, col);
+				}
 			}
-			if (chipColour != null) chipsPlaced.merge(chipColour, 1, Integer::sum);
-			boardSpaces[x][y].setChip(chipColour);
-			checkSequences(x, y);
 		}
+		return boardSpaces;
 	}
 
-	public boolean isDeadCard(Card card) {
-		for (BoardSpace[] rows : boardSpaces) {
-			for (BoardSpace space : rows) {
-				if (space.getCard() != null && space.getCard().equals(card) && space.getChip() == null) {
-						return false;
-				}
+	public int getCellCount() {
+		return geometry.cellCount;
+	}
+
+	/**
+	 * @return the row-major cell index of (x, y), as used by {@link CellMask}
+	 */
+	public int getCellIndex(int x, int y) {
+		return geometry.index(x, y);
+	}
+
+	public int getCellRow(int cell) {
+		return geometry.cellRows[cell];
+	}
+
+	public int getCellColumn(int cell) {
+		return geometry.cellColumns[cell];
+	}
+
+	/**
+	 * @return every non-corner cell without a chip
+	 */
+	public CellMask getOpenCells() {
+		long occupiedLo = geometry.freeLo;
+		long occupiedHi = geometry.freeHi;
+		for (int colour = 0; colour < COLOURS.length; colour++) {
+			occupiedLo |= chipsLo[colour];
+			occupiedHi |= chipsHi[colour];
+		}
+		return new CellMask(geometry.cellsLo & ~occupiedLo, geometry.cellsHi & ~occupiedHi);
+	}
+
+	/**
+	 * @return every cell showing {@code card} without a chip
+	 */
+	public CellMask getOpenCells(Card card) {
+		var cardIndex = BoardGeometry.cardIndex(card);
+		if (cardIndex < 0) {
+			return CellMask.EMPTY;
+		}
+		var open = getOpenCells();
+		return new CellMask(open.lo() & geometry.cardLo[cardIndex], open.hi() & geometry.cardHi[cardIndex]);
+	}
+
+	/**
+	 * @return every chip not belonging to {@code team} that is not part of a sequence
+	 */
+	public CellMask getRemovableCells(ChipColour team) {
+		long removableLo = 0;
+		long removableHi = 0;
+		for (int colour = 0; colour < COLOURS.length; colour++) {
+			if (colour != team.ordinal()) {
+				removableLo |= chipsLo[colour];
+				removableHi |= chipsHi[colour];
 			}
 		}
-		return true;
+		return new CellMask(removableLo & ~sequenceLo, removableHi & ~sequenceHi);
 	}
 
-	public List<Pair<Integer, Integer>> getBoardSpacesFromCard(Card card) {
-		var spaces = new ArrayList<Pair<Integer, Integer>>();
-		for (int row = 0; row < boardSpaces.length; row++) {
-			var column = boardSpaces[row];
-			for (int col = 0; col < column.length; col++) {
-				if (column[col].getCard() != null && column[col].getCard().equals(card)) {
-					spaces.add(new ImmutablePair<>(row, col));
-				}
+	public Card getCard(int x, int y) {
+		return geometry.cards[geometry.index(x, y)];
+	}
+
+	public ChipColour getChip(int x, int y) {
+		return chipAt(geometry.index(x, y));
+	}
+
+	public boolean isPartOfSequence(int x, int y) {
+		return isSet(sequenceLo, sequenceHi, geometry.index(x, y));
+	}
+
+	public void setPartOfSequence(int x, int y, boolean partOfSequence) {
+		var cell = geometry.index(x, y);
+		if (isSet(sequenceLo, sequenceHi, cell) != partOfSequence) {
+			hash ^= Zobrist.sequence(cell);
+		}
+		if (cell < 64) {
+			sequenceLo = partOfSequence ? sequenceLo | (1L << cell) : sequenceLo & ~(1L << cell);
+		} else {
+			sequenceHi = partOfSequence ? sequenceHi | (1L << (cell - 64)) : sequenceHi & ~(1L << (cell - 64));
+		}
+	}
+
+	public void setChip(int x, int y, ChipColour chipColour) {
+		var cell = geometry.index(x, y);
+		if (geometry.cards[cell] == null) {
+			return;
+		}
+		writeChip(cell, chipColour);
+		checkSequences(x, y);
+	}
+
+	/**
+	 * @return the cells that are part of a sequence, for handing back to {@link #undoChip}
+	 */
+	public CellMask getSequenceCells() {
+		return new CellMask(sequenceLo, sequenceHi);
+	}
+
+	/**
+	 * Takes back a {@link #setChip} on (x, y), given the chip it replaced, and the sequence cells and the
+	 * placed colour's completed sequences from before it. Sequences are restored rather than rechecked.
+	 */
+	public void undoChip(int x, int y, ChipColour previousChip, CellMask sequenceCells, int completedSequences) {
+		var cell = geometry.index(x, y);
+		if (geometry.cards[cell] == null) {
+			return;
+		}
+		var placedChip = chipAt(cell);
+		if (placedChip != null) {
+			this.completedSequences[placedChip.ordinal()] = completedSequences;
+		}
+		writeChip(cell, previousChip);
+		var changed = new CellMask(sequenceLo ^ sequenceCells.lo(), sequenceHi ^ sequenceCells.hi());
+		for (int flipped = changed.nextCell(0); flipped >= 0; flipped = changed.nextCell(flipped + 1)) {
+			hash ^= Zobrist.sequence(flipped);
+		}
+		sequenceLo = sequenceCells.lo();
+		sequenceHi = sequenceCells.hi();
+	}
+
+	private void writeChip(int cell, ChipColour chipColour) {
+		var previousChip = chipAt(cell);
+		if (previousChip != null) {
+			if (cell < 64) chipsLo[previousChip.ordinal()] &= ~(1L << cell);
+			else chipsHi[previousChip.ordinal()] &= ~(1L << (cell - 64));
+			hash ^= Zobrist.chip(previousChip, cell);
+		}
+		if (chipColour != null) {
+			if (cell < 64) chipsLo[chipColour.ordinal()] |= 1L << cell;
+			else chipsHi[chipColour.ordinal()] |= 1L << (cell - 64);
+			hash ^= Zobrist.chip(chipColour, cell);
+		}
+		if (previousChip == null && chipColour != null) {
+			openSpaces[geometry.cellCards[cell]]--;
+		} else if (previousChip != null && chipColour == null) {
+			openSpaces[geometry.cellCards[cell]]++;
+		}
+	}
+
+	/**
+	 * @return the Zobrist hash of the chips and sequence flags, equal for equal positions on the same layout
+	 */
+	public long getHash() {
+		return hash;
+	}
+
+	/**
+	 * Hashes the position from scratch, for checking {@link #getHash()}.
+	 */
+	public long computeHash() {
+		long computed = 0;
+		for (int cell = 0; cell < geometry.cellCount; cell++) {
+			var chip = chipAt(cell);
+			if (chip != null) {
+				computed ^= Zobrist.chip(chip, cell);
+			}
+			if (isSet(sequenceLo, sequenceHi, cell)) {
+				computed ^= Zobrist.sequence(cell);
 			}
 		}
-		return spaces;
+		return computed;
+	}
+
+	public boolean isDeadCard(Card card) {
+		return getOpenSpaces(card) == 0;
+	}
+
+	/**
+	 * @return how many cells showing {@code card} have no chip on them
+	 */
+	public int getOpenSpaces(Card card) {
+		var cardIndex = BoardGeometry.cardIndex(card);
+		return cardIndex < 0 ? 0 : openSpaces[cardIndex];
+	}
+
+	/**
+	 * @return every (row, column) showing {@code card}, occupied or not. The list is shared by all boards
+	 * with this layout and must not be modified.
+	 */
+	public List<Pair<Integer, Integer>> getBoardSpacesFromCard(Card card) {
+		var cardIndex = BoardGeometry.cardIndex(card);
+		return cardIndex < 0 ? Collections.emptyList() : geometry.cardPositions.get(cardIndex);
 	}
 
 	public int getCompletedSequences(ChipColour chipColour) {
-		return completedSequences.getOrDefault(chipColour, 0);
+		return completedSequences[chipColour.ordinal()];
 	}
 
-	private BoardSpace[][] fromBoardLayout(String[][] layout) {
-		var boardSpace = new BoardSpace[layout.length][];
-		for(int x = 0; x < layout.length; x++) {
-			boardSpace[x] = new BoardSpace[layout[x].length];
-			for (int y = 0; y < layout[x].length; y++) {
-				var card = Card.fromString(layout[x][y]);
-				boardSpace[x][y] = new BoardSpace(card);
+	public Map<ChipColour, Integer> getCompletedSequences() {
+		var sequences = new EnumMap<ChipColour, Integer>(ChipColour.class);
+		for (var colour : COLOURS) {
+			if (completedSequences[colour.ordinal()] > 0) {
+				sequences.put(colour, completedSequences[colour.ordinal()]);
 			}
 		}
-		return boardSpace;
+		return sequences;
+	}
+
+	public int getChipsPlaced(ChipColour chipColour) {
+		return Long.bitCount(chipsLo[chipColour.ordinal()]) + Long.bitCount(chipsHi[chipColour.ordinal()]);
+	}
+
+	public Map<ChipColour, Integer> getChipsPlaced() {
+		var chipsPlaced = new EnumMap<ChipColour, Integer>(ChipColour.class);
+		for (var colour : COLOURS) {
+			var placed = getChipsPlaced(colour);
+			if (placed > 0) {
+				chipsPlaced.put(colour, placed);
+			}
+		}
+		return chipsPlaced;
 	}
 
 	protected void checkSequences(int row, int col) {
-		var chip = boardSpaces[row][col].getChip();
+		var cell = geometry.index(row, col);
+		var chip = chipAt(cell);
 		if (chip == null) {
 			return;
 		}
 
-		for (int[] dir : DIRECTIONS) {
-			var run = collectRun(row, col, dir[0], dir[1], chip);
-			if (run.size() >= sequenceLength) {
-				run.forEach(space -> space.setPartOfSequence(true));
+		long ownedLo = chipsLo[chip.ordinal()] | geometry.freeLo;
+		long ownedHi = chipsHi[chip.ordinal()] | geometry.freeHi;
+		var sequenceLength = geometry.sequenceLength;
+
+		for (int dir = 0; dir < BoardGeometry.DIRECTIONS.length; dir++) {
+			// A run of sequenceLength through this cell exists iff one of the precomputed lines is fully owned.
+			var completesLine = false;
+			for (int line : geometry.cellLines[cell][dir]) {
+				if ((ownedLo & geometry.lineLo[line]) == geometry.lineLo[line]
+						&& (ownedHi & geometry.lineHi[line]) == geometry.lineHi[line]) {
+					completesLine = true;
+					break;
+				}
+			}
+			if (!completesLine) {
+				continue;
 			}
-			int leftLen = collectLength(row, col, -dir[0], -dir[1], chip);
-			int rightLen = collectLength(row, col, dir[0], dir[1], chip);
+
+			int leftLen = collectLength(geometry.backward[dir], cell, ownedLo, ownedHi);
+			int rightLen = collectLength(geometry.forward[dir], cell, ownedLo, ownedHi);
+			markRun(geometry.backward[dir], cell, leftLen);
+			markRun(geometry.forward[dir], cell, rightLen);
+
 			int before = (leftLen / sequenceLength) + (rightLen / sequenceLength);
 			int after = (leftLen + 1 + rightLen) / sequenceLength;
 			int delta = Math.max(0, after - before);
 			if (delta > 0) {
-				completedSequences.merge(chip, delta, Integer::sum);
+				completedSequences[chip.ordinal()] += delta;
 			}
 		}
 	}
 
-	private List<BoardSpace> collectRun(int row, int col, int dRow, int dCol, ChipColour chip) {
-		var spaces = new ArrayList<BoardSpace>();
-		walkAndCollect(spaces, row, col, -dRow, -dCol, chip);
-		spaces.add(boardSpaces[row][col]);
-		walkAndCollect(spaces, row, col, dRow, dCol, chip);
-		return spaces;
+	private static int collectLength(int[] step, int cell, long ownedLo, long ownedHi) {
+		int count = 0;
+		int next = step[cell];
+		while (next != -1 && isSet(ownedLo, ownedHi, next)) {
+			count++;
+			next = step[next];
+		}
+		return count;
 	}
 
-	private void walkAndCollect(List<BoardSpace> spaces, int row, int col, int dRow, int dCol, ChipColour chip) {
-		int r = row + dRow;
-		int c = col + dCol;
-		while (r >= 0 && r < boardSpaces.length && c >= 0 && c < boardSpaces[r].length && matchesChip(r, c, chip)) {
-			spaces.add(boardSpaces[r][c]);
-			r += dRow;
-			c += dCol;
+	private void markRun(int[] step, int cell, int length) {
+		var current = cell;
+		markSequence(current);
+		for (int i = 0; i < length; i++) {
+			current = step[current];
+			markSequence(current);
 		}
 	}
 
-	private int collectLength(int row, int col, int dRow, int dCol, ChipColour chip) {
-		int r = row + dRow;
-		int c = col + dCol;
-		int count = 0;
-		while (r >= 0 && r < boardSpaces.length && c >= 0 && c < boardSpaces[r].length && matchesChip(r, c, chip)) {
-			count++;
-			r += dRow;
-			c += dCol;
+	private void markSequence(int cell) {
+		if (!isSet(sequenceLo, sequenceHi, cell)) {
+			hash ^= Zobrist.sequence(cell);
 		}
-		return count;
+		if (cell < 64) sequenceLo |= 1L << cell;
+		else sequenceHi |= 1L << (cell - 64);
+	}
+
+	private ChipColour chipAt(int cell) {
+		for (int colour = 0; colour < COLOURS.length; colour++) {
+			if (isSet(chipsLo[colour], chipsHi[colour], cell)) {
+				return COLOURS[colour];
+			}
+		}
+		return null;
 	}
 
-	private boolean matchesChip(int row, int col, ChipColour chip) {
-		var space = boardSpaces[row][col];
-		return space.getCard() == null || space.getChip() == chip;
+	private static boolean isSet(long lo, long hi, int cell) {
+		return cell < 64 ? (lo & (1L << cell)) != 0 : (hi & (1L << (cell - 64))) != 0;
 	}
 
 }
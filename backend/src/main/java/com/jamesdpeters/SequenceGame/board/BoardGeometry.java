@@ -0,0 +1,212 @@
+package com.jamesdpeters.SequenceGame.board;
+
+import com.jamesdpeters.SequenceGame.card.Card;
+import org.apache.commons.lang3.tuple.ImmutablePair;
+import org.apache.commons.lang3.tuple.Pair;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Immutable, precomputed description of a board layout: the card printed on every cell, the cells of
+ * every card, the free corner mask, neighbour tables and every line of {@code sequenceLength} cells.
+ * Instances are shared by every {@link Board} built from the same layout array.
+ * <p>
+ * Cells are numbered row-major ({@code rowOffset[row] + column}) and stored as bits in a pair of longs,
+ * so a layout may hold at most {@value #MAX_CELLS} cells.
+ */
+final class BoardGeometry {
+
+	static final int MAX_CELLS = 128;
+	static final int CARD_KINDS = Card.Suit.values().length * 13;
+	static final int[][] DIRECTIONS = {{0, 1}, {1, 0}, {1, 1}, {1, -1}};
+
+	// Keyed on the layout array identity, boards built from BoardLayout.DEFAULT_LAYOUT all share one geometry.
+	private static final Map<Key, BoardGeometry> CACHE = new ConcurrentHashMap<>();
+
+	private record Key(String[][] layout, int sequenceLength) { }
+
+	final int rows;
+	final int cellCount;
+	final int sequenceLength;
+	final int[] rowOffsets;
+	final int[] rowLengths;
+	final int[] cellRows;
+	final int[] cellColumns;
+	final long cellsLo;
+	final long cellsHi;
+	final Card[] cards;
+	// cellCards[cell] -> card index (see cardIndex), or -1 for free corners.
+	final int[] cellCards;
+	// cardCells[cardIndex] -> every cell printed with that card, and the same positions as (row, column) pairs.
+	final int[][] cardCells;
+	final long[] cardLo;
+	final long[] cardHi;
+	final List<List<Pair<Integer, Integer>>> cardPositions;
+	final long freeLo;
+	final long freeHi;
+
+	// Every line of sequenceLength cells, as lo/hi bit masks.
+	final long[] lineLo;
+	final long[] lineHi;
+	// cellLines[cell][direction] -> indices into lineLo/lineHi of the lines through that cell.
+	final int[][][] cellLines;
+	// forward[direction][cell] / backward[direction][cell] -> neighbouring cell, or -1 off the board.
+	final int[][] forward;
+	final int[][] backward;
+
+	static BoardGeometry of(String[][] layout, int sequenceLength) {
+		return CACHE.computeIfAbsent(new Key(layout, sequenceLength), key -> new BoardGeometry(key.layout(), key.sequenceLength()));
+	}
+
+	private BoardGeometry(String[][] layout, int sequenceLength) {
+		this.rows = layout.length;
+		this.sequenceLength = sequenceLength;
+		this.rowOffsets = new int[rows];
+		this.rowLengths = new int[rows];
+
+		int cells = 0;
+		for (int row = 0; row < rows; row++) {
+			rowOffsets[row] = cells;
+			rowLengths[row] = layout[row].length;
+			cells += layout[row].length;
+		}
+		if (cells > MAX_CELLS) {
+			throw new IllegalArgumentException("Board layouts larger than " + MAX_CELLS + " spaces are not supported: " + cells);
+		}
+		this.cellCount = cells;
+		this.cellsLo = cells >= 64 ? -1L : (1L << cells) - 1;
+		this.cellsHi = cells <= 64 ? 0 : cells == MAX_CELLS ? -1L : (1L << (cells - 64)) - 1;
+
+		this.cellRows = new int[cells];
+		this.cellColumns = new int[cells];
+		this.cards = new Card[cells];
+		long lo = 0;
+		long hi = 0;
+		for (int row = 0; row < rows; row++) {
+			for (int col = 0; col < rowLengths[row]; col++) {
+				var cell = rowOffsets[row] + col;
+				cellRows[cell] = row;
+				cellColumns[cell] = col;
+				cards[cell] = Card.fromString(layout[row][col]);
+				if (cards[cell] == null) {
+					if (cell < 64) lo |= 1L << cell;
+					else hi |= 1L << (cell - 64);
+				}
+			}
+		}
+		this.freeLo = lo;
+		this.freeHi = hi;
+
+		this.cellCards = new int[cells];
+		var cellsPerCard = new ArrayList<List<Integer>>(CARD_KINDS);
+		for (int card = 0; card < CARD_KINDS; card++) {
+			cellsPerCard.add(new ArrayList<>());
+		}
+		for (int cell = 0; cell < cells; cell++) {
+			cellCards[cell] = cardIndex(cards[cell]);
+			if (cellCards[cell] >= 0) {
+				cellsPerCard.get(cellCards[cell]).add(cell);
+			}
+		}
+		this.cardCells = new int[CARD_KINDS][];
+		this.cardLo = new long[CARD_KINDS];
+		this.cardHi = new long[CARD_KINDS];
+		var positions = new ArrayList<List<Pair<Integer, Integer>>>(CARD_KINDS);
+		for (int card = 0; card < CARD_KINDS; card++) {
+			cardCells[card] = cellsPerCard.get(card).stream().mapToInt(Integer::intValue).toArray();
+			var cardPosition = new ArrayList<Pair<Integer, Integer>>(cardCells[card].length);
+			for (int cell : cardCells[card]) {
+				if (cell < 64) cardLo[card] |= 1L << cell;
+				else cardHi[card] |= 1L << (cell - 64);
+				cardPosition.add(new ImmutablePair<>(cellRows[cell], cellColumns[cell]));
+			}
+			positions.add(Collections.unmodifiableList(cardPosition));
+		}
+		this.cardPositions = Collections.unmodifiableList(positions);
+
+		this.forward = new int[DIRECTIONS.length][cells];
+		this.backward = new int[DIRECTIONS.length][cells];
+		for (int dir = 0; dir < DIRECTIONS.length; dir++) {
+			for (int row = 0; row < rows; row++) {
+				for (int col = 0; col < rowLengths[row]; col++) {
+					var cell = rowOffsets[row] + col;
+					forward[dir][cell] = cellOrMissing(row + DIRECTIONS[dir][0], col + DIRECTIONS[dir][1]);
+					backward[dir][cell] = cellOrMissing(row - DIRECTIONS[dir][0], col - DIRECTIONS[dir][1]);
+				}
+			}
+		}
+
+		var lineLoList = new ArrayList<Long>();
+		var lineHiList = new ArrayList<Long>();
+		var cellLineLists = new ArrayList<List<List<Integer>>>(cells);
+		for (int cell = 0; cell < cells; cell++) {
+			var perDirection = new ArrayList<List<Integer>>(DIRECTIONS.length);
+			for (int dir = 0; dir < DIRECTIONS.length; dir++) {
+				perDirection.add(new ArrayList<>());
+			}
+			cellLineLists.add(perDirection);
+		}
+		for (int dir = 0; dir < DIRECTIONS.length && sequenceLength > 0; dir++) {
+			for (int start = 0; start < cells; start++) {
+				long maskLo = 0;
+				long maskHi = 0;
+				int cell = start;
+				int length = 0;
+				while (cell != -1 && length < sequenceLength) {
+					if (cell < 64) maskLo |= 1L << cell;
+					else maskHi |= 1L << (cell - 64);
+					length++;
+					cell = forward[dir][cell];
+				}
+				if (length < sequenceLength) {
+					continue;
+				}
+				var lineIndex = lineLoList.size();
+				lineLoList.add(maskLo);
+				lineHiList.add(maskHi);
+				cell = start;
+				for (int i = 0; i < sequenceLength; i++) {
+					cellLineLists.get(cell).get(dir).add(lineIndex);
+					cell = forward[dir][cell];
+				}
+			}
+		}
+
+		this.lineLo = lineLoList.stream().mapToLong(Long::longValue).toArray();
+		this.lineHi = lineHiList.stream().mapToLong(Long::longValue).toArray();
+		this.cellLines = new int[cells][DIRECTIONS.length][];
+		for (int cell = 0; cell < cells; cell++) {
+			for (int dir = 0; dir < DIRECTIONS.length; dir++) {
+				cellLines[cell][dir] = cellLineLists.get(cell).get(dir).stream().mapToInt(Integer::intValue).toArray();
+			}
+		}
+	}
+
+	/**
+	 * Dense index of a card in {@code [0, CARD_KINDS)}, or -1 for null and out of range cards.
+	 */
+	static int cardIndex(Card card) {
+		if (card == null || card.value() < 1 || card.value() > 13) {
+			return -1;
+		}
+		return card.id();
+	}
+
+	int index(int row, int col) {
+		Objects.checkIndex(row, rows);
+		Objects.checkIndex(col, rowLengths[row]);
+		return rowOffsets[row] + col;
+	}
+
+	private int cellOrMissing(int row, int col) {
+		if (row < 0 || row >= rows || col < 0 || col >= rowLengths[row]) {
+			return -1;
+		}
+		return rowOffsets[row] + col;
+	}
+}
@@ -1,15 +1,35 @@
 package com.jamesdpeters.SequenceGame.board;
 
 import com.jamesdpeters.SequenceGame.card.Card;
-import lombok.Getter;
-import lombok.RequiredArgsConstructor;
 import lombok.AccessLevel;
-import lombok.Setter;
+import lombok.RequiredArgsConstructor;
 
-@RequiredArgsConstructor
-@Getter
+/**
+ * Read/write view of a single cell of a {@link Board}. Holds no state of its own.
+ */
+@RequiredArgsConstructor(access = AccessLevel.PACKAGE)
 public class BoardSpace {
-	private final Card card;  // null for corners
-	@Setter(AccessLevel.PROTECTED) private ChipColour chip;  // null if empty
-	@Setter private boolean partOfSequence;
-}
\ No newline at end of file
+	private final Board board;
+	private final int row;
+	private final int column;
+
+	public Card getCard() {
+		return board.getCard(row, column);  // null for corners
+	}
+
+	public ChipColour getChip() {
+		return board.getChip(row, column);  // null if empty
+	}
+
+	protected void setChip(ChipColour chip) {
+		board.setChip(row, column, chip);
+	}
+
+	public boolean isPartOfSequence() {
+		return board.isPartOfSequence(row, column);
+	}
+
+	public void setPartOfSequence(boolean partOfSequence) {
+		board.setPartOfSequence(row, column, partOfSequence);
+	}
+}
@@ -0,0 +1,46 @@
+package com.jamesdpeters.SequenceGame.board;
+
+/**
+ * Immutable set of board cells, one bit per cell index (see {@link Board#getCellIndex(int, int)}).
+ * <p>
+ * Iterate without allocating using {@link #nextCell(int)}:
+ * <pre>{@code
+ * for (int cell = mask.nextCell(0); cell >= 0; cell = mask.nextCell(cell + 1)) { ... }
+ * }</pre>
+ */
+public record CellMask(long lo, long hi) {
+
+	public static final CellMask EMPTY = new CellMask(0, 0);
+
+	public boolean isEmpty() {
+		return (lo | hi) == 0;
+	}
+
+	public int size() {
+		return Long.bitCount(lo) + Long.bitCount(hi);
+	}
+
+	public boolean contains(int cell) {
+		return cell < 64 ? (lo & (1L << cell)) != 0 : (hi & (1L << (cell - 64))) != 0;
+	}
+
+	/**
+	 * @return the lowest cell in this mask that is {@code >= from}, or -1 if there is none
+	 */
+	public int nextCell(int from) {
+		if (from < 64) {
+			long bits = lo & (-1L << from);
+			if (bits != 0) {
+				return Long.numberOfTrailingZeros(bits);
+			}
+			from = 64;
+		}
+		if (from < BoardGeometry.MAX_CELLS) {
+			long bits = hi & (-1L << (from - 64));
+			if (bits != 0) {
+				return 64 + Long.numberOfTrailingZeros(bits);
+			}
+		}
+		return -1;
+	}
+}
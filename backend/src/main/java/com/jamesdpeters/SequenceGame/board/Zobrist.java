@@ -0,0 +1,70 @@
+package com.jamesdpeters.SequenceGame.board;
+
+/**
+ * Fixed 64-bit Zobrist keys for hashing board and game state. Every key is the SplitMix64 mix of a unique
+ * index, so keys are distinct, need no table beyond the board's, and agree across JVMs and restarts, which
+ * lets hashes computed on different nodes be compared.
+ */
+public final class Zobrist {
+
+	private static final ChipColour[] COLOURS = ChipColour.values();
+
+	private static final int CHIP = 1;
+	private static final int SEQUENCE = 2;
+	private static final int HAND_CARD = 3;
+	private static final int TURN = 4;
+	private static final int STATUS = 5;
+	private static final int FLAG = 6;
+
+	// Board keys are looked up on every setChip, so they are tabled.
+	private static final long[][] CHIP_KEYS = new long[COLOURS.length][BoardGeometry.MAX_CELLS];
+	private static final long[] SEQUENCE_KEYS = new long[BoardGeometry.MAX_CELLS];
+
+	static {
+		for (int cell = 0; cell < BoardGeometry.MAX_CELLS; cell++) {
+			for (var colour : COLOURS) {
+				CHIP_KEYS[colour.ordinal()][cell] = key(CHIP, colour.ordinal(), cell);
+			}
+			SEQUENCE_KEYS[cell] = key(SEQUENCE, 0, cell);
+		}
+	}
+
+	private Zobrist() { }
+
+	static long chip(ChipColour colour, int cell) {
+		return CHIP_KEYS[colour.ordinal()][cell];
+	}
+
+	static long sequence(int cell) {
+		return SEQUENCE_KEYS[cell];
+	}
+
+	/**
+	 * @param copy 0 for the first copy of the card in the hand, 1 for the second, as a hand may hold both
+	 */
+	public static long handCard(int seat, int cardId, int copy) {
+		return key(HAND_CARD, seat, cardId << 8 | copy);
+	}
+
+	public static long turn(int seat) {
+		return key(TURN, seat, 0);
+	}
+
+	public static long status(int ordinal) {
+		return key(STATUS, ordinal, 0);
+	}
+
+	/**
+	 * @param flag a per-caller constant naming a boolean that is hashed only while it is set
+	 */
+	public static long flag(int flag) {
+		return key(FLAG, flag, 0);
+	}
+
+	private static long key(int kind, int a, int b) {
+		var z = ((long) kind << 56 | (long) (a & 0xFFFFFF) << 32 | (b & 0xFFFFFFFFL)) + 0x9E3779B97F4A7C15L;
+		z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+		z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+		return z ^ (z >>> 31);
+	}
+}
@@ -1,10 +1,79 @@
 package com.jamesdpeters.SequenceGame.card;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * A playing card. There are only 52 distinct cards, so {@link #of} hands out shared instances from a static
+ * table and each card also has a dense id, {@code suit.ordinal() * 13 + value - 1}, for compact storage.
+ * Prefer {@link #of} to the constructor so equal cards are the same instance.
+ */
 public record Card(Suit suit, int value) {
 	public enum Suit {
 		SPADES, HEARTS, DIAMONDS, CLUBS
 	}
 
+	public static final int COUNT = Suit.values().length * 13;
+
+	private static final Card[] CARDS = new Card[COUNT];
+
+	static {
+		for (var suit : Suit.values()) {
+			for (int value = 1; value <= 13; value++) {
+				CARDS[suit.ordinal() * 13 + value - 1] = new Card(suit, value);
+			}
+		}
+	}
+
+	/**
+	 * @return the shared instance of the card
+	 * @throws IllegalArgumentException if {@code value} is not between 1 and 13
+	 */
+	public static Card of(Suit suit, int value) {
+		if (!isValid(suit, value)) {
+			throw new IllegalArgumentException("Invalid card " + value + " of " + suit);
+		}
+		return CARDS[suit.ordinal() * 13 + value - 1];
+	}
+
+	/**
+	 * Reads a card from JSON. A card outside the deck reads as null instead of failing the whole request, so a
+	 * move naming one is still rejected by the game rules as a card not in hand.
+	 */
+	@JsonCreator
+	private static @Nullable Card fromJson(@JsonProperty("suit") @Nullable Suit suit, @JsonProperty("value") int value) {
+		return isValid(suit, value) ? of(suit, value) : null;
+	}
+
+	private static boolean isValid(@Nullable Suit suit, int value) {
+		return suit != null && value >= 1 && value <= 13;
+	}
+
+	/**
+	 * @return the shared instance of the card with dense id {@code id}
+	 */
+	public static Card of(int id) {
+		return CARDS[id];
+	}
+
+	/**
+	 * @return the dense id of this card, from 0 to {@link #COUNT} - 1
+	 */
+	public int id() {
+		return suit.ordinal() * 13 + value - 1;
+	}
+
+	@Override
+	public boolean equals(Object other) {
+		return this == other || other instanceof Card card && suit == card.suit && value == card.value;
+	}
+
+	@Override
+	public int hashCode() {
+		return suit.ordinal() * 13 + value;
+	}
+
 	public static Card fromString(String cardString) {
 		if (cardString.length() != 2)
 			return null;
@@ -15,7 +84,7 @@ public record Card(Suit suit, int value) {
 		if (suit == null || rank == -1)
 			return null;
 
-		return new Card(suit, rank);
+		return of(suit, rank);
 	}
 
 	public boolean isOneEyedJack() {
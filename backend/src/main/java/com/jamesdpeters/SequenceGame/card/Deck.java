@@ -1,43 +1,114 @@
 package com.jamesdpeters.SequenceGame.card;
 
-import java.util.ArrayDeque;
+import java.util.AbstractCollection;
+import java.util.AbstractList;
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
 
-public class Deck extends ArrayDeque<Card> {
+/**
+ * Draw and discard piles stored as {@link Card#id() card ids} in byte arrays. The draw pile is read from
+ * {@code head} as a ring, so drawing and discarding never allocate. The discard pile is shuffled back in place,
+ * Fisher–Yates, with the deck's own {@link RandomGenerator}, so a seeded generator gives a reproducible game.
+ * <p>
+ * Iterating the deck walks the draw pile from the next card to be drawn.
+ */
+public class Deck extends AbstractCollection<Card> {
 
-	private final ArrayList<Card> discardPile = new ArrayList<>();
+	// Sequence has two standard 52 card decks
+	private static final int FULL_DECK = 2 * Card.COUNT;
+
+	private final RandomGenerator random;
+	private byte[] drawPile;
+	private int head;
+	private int drawCount;
+	private byte[] discardPile;
+	private int discardCount;
 
 	public Deck() {
-		var cards = new ArrayList<Card>();
-		for (Card.Suit value : Card.Suit.values()) {
-			for (int i = 1; i <= 13; i++) {
-				// Sequence has two standard 52 card decks
-				cards.add(new Card(value, i));
-				cards.add(new Card(value, i));
-			}
+		this(new SplittableRandom());
+	}
+
+	/**
+	 * A full shuffled deck whose order, and every later reshuffle of the discard pile, is determined by
+	 * {@code random}.
+	 */
+	public Deck(RandomGenerator random) {
+		this.random = random != null ? random : new SplittableRandom();
+		this.drawPile = new byte[FULL_DECK];
+		this.discardPile = new byte[FULL_DECK];
+		for (int id = 0; id < Card.COUNT; id++) {
+			drawPile[2 * id] = (byte) id;
+			drawPile[2 * id + 1] = (byte) id;
 		}
-		Collections.shuffle(cards);
-		addAll(cards);
+		shuffle(drawPile, FULL_DECK);
+		this.drawCount = FULL_DECK;
 	}
 
 	public Deck(List<Card> cards) {
-		super(cards);
+		this(cards, List.of());
 	}
 
+	/**
+	 * A deck restored from its piles, such as a stored game. The generator a deck was created with is not
+	 * stored, so a restored deck reshuffles with a fresh unseeded one and a seeded game only stays
+	 * reproducible while it is not reloaded.
+	 */
 	public Deck(List<Card> drawCards, List<Card> discardCards) {
-		super(drawCards);
-		discardPile.addAll(discardCards);
+		this.random = new SplittableRandom();
+		var capacity = Math.max(FULL_DECK, drawCards.size() + discardCards.size());
+		this.drawPile = new byte[capacity];
+		this.discardPile = new byte[capacity];
+		for (var card : drawCards) {
+			drawPile[drawCount++] = (byte) card.id();
+		}
+		for (var card : discardCards) {
+			discardPile[discardCount++] = (byte) card.id();
+		}
+	}
+
+	private Deck(Deck source, RandomGenerator random) {
+		this.random = random;
+		this.drawPile = source.drawPile.clone();
+		this.head = source.head;
+		this.drawCount = source.drawCount;
+		this.discardPile = source.discardPile.clone();
+		this.discardCount = source.discardCount;
+	}
+
+	/**
+	 * An independent deck with the same piles. Its generator is split from this deck's, so forks of a seeded
+	 * deck reshuffle reproducibly without sharing generator state.
+	 */
+	public Deck copy() {
+		var forked = random instanceof RandomGenerator.SplittableGenerator splittable
+				? splittable.split()
+				: new SplittableRandom(random.nextLong());
+		return copy(forked);
+	}
+
+	/**
+	 * An independent deck with the same piles that shuffles with {@code random}.
+	 */
+	public Deck copy(RandomGenerator random) {
+		return new Deck(this, random);
 	}
 
 	public Card draw() {
-		if (isEmpty() && !discardPile.isEmpty()) {
+		if (drawCount == 0 && discardCount > 0) {
 			shuffleDiscardPileIntoDeck();
-		} else if (isEmpty()) {
+		} else if (drawCount == 0) {
 			throw new IllegalStateException("Deck is empty");
 		}
-		return removeFirst();
+		var card = Card.of(drawPile[head]);
+		head = (head + 1) % drawPile.length;
+		drawCount--;
+		return card;
 	}
 
 	public List<Card> draw(int count) {
@@ -49,16 +120,114 @@ public class Deck extends ArrayDeque<Card> {
 	}
 
 	public void discard(Card card) {
-		discardPile.add(card);
+		if (discardCount == discardPile.length) {
+			discardPile = Arrays.copyOf(discardPile, discardPile.length * 2);
+		}
+		discardPile[discardCount++] = (byte) card.id();
+	}
+
+	/**
+	 * Puts {@code card}, the last card drawn, back on top of the draw pile.
+	 */
+	public void undoDraw(Card card) {
+		if (drawCount == drawPile.length) {
+			throw new IllegalStateException("Draw pile is full");
+		}
+		head = (head + drawPile.length - 1) % drawPile.length;
+		drawPile[head] = (byte) card.id();
+		drawCount++;
+	}
+
+	/**
+	 * Takes {@code card}, the last card discarded, back off the discard pile.
+	 */
+	public void undoDiscard(Card card) {
+		if (discardCount == 0 || discardPile[discardCount - 1] != card.id()) {
+			throw new IllegalStateException("Last discard is not " + card);
+		}
+		discardCount--;
 	}
 
+	/**
+	 * Takes back the reshuffle of the discard pile into the empty draw pile: the draw pile is emptied and
+	 * {@code discardPile}, as it was before the reshuffle, is restored. The generator is not rewound, so a
+	 * later reshuffle deals a different order.
+	 */
+	public void undoReshuffle(List<Card> discardPile) {
+		head = 0;
+		drawCount = 0;
+		discardCount = 0;
+		for (var card : discardPile) {
+			discard(card);
+		}
+	}
+
+	/**
+	 * Only called with an empty draw pile, so the discard pile can be shuffled in place and swapped in.
+	 */
 	private void shuffleDiscardPileIntoDeck() {
-		Collections.shuffle(discardPile);
-		addAll(discardPile);
-		discardPile.clear();
+		shuffle(discardPile, discardCount);
+		var emptied = drawPile;
+		drawPile = discardPile;
+		discardPile = emptied.length >= drawPile.length ? emptied : new byte[drawPile.length];
+		head = 0;
+		drawCount = discardCount;
+		discardCount = 0;
+	}
+
+	private void shuffle(byte[] cards, int count) {
+		for (int i = count - 1; i > 0; i--) {
+			var j = random.nextInt(i + 1);
+			var swap = cards[i];
+			cards[i] = cards[j];
+			cards[j] = swap;
+		}
+	}
+
+	@Override
+	public int size() {
+		return drawCount;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return drawCount == 0;
 	}
 
+	@Override
+	public Iterator<Card> iterator() {
+		return new Iterator<>() {
+			private int next;
+
+			@Override
+			public boolean hasNext() {
+				return next < drawCount;
+			}
+
+			@Override
+			public Card next() {
+				if (!hasNext()) {
+					throw new NoSuchElementException();
+				}
+				return Card.of(drawPile[(head + next++) % drawPile.length]);
+			}
+		};
+	}
+
+	/**
+	 * @return a read-only view of the discard pile, oldest discard first
+	 */
 	public List<Card> getDiscardPile() {
-		return Collections.unmodifiableList(discardPile);
+		return new AbstractList<>() {
+			@Override
+			public Card get(int index) {
+				return Card.of(discardPile[Objects.checkIndex(index, discardCount)]);
+			}
+
+			@Override
+			public int size() {
+				return discardCount;
+			}
+		};
 	}
 }
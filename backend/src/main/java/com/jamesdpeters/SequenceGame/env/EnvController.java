@@ -0,0 +1,65 @@
+package com.jamesdpeters.SequenceGame.env;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.UUID;
+
+@Slf4j
+@RequiredArgsConstructor
+@RestController
+@RequestMapping(value = "/env", produces = MediaType.APPLICATION_JSON_VALUE)
+@Tag(name = "Environment", description = "Batched game environments for reinforcement learning clients")
+public class EnvController {
+
+	static final String NPY_VALUE = "application/x-npy";
+
+	private final EnvService envService;
+
+	@PostMapping("/reset")
+	@Operation(summary = "Create environments", description = "Creates and starts a batch of games with every seat played by an agent, and returns the first observation of each")
+	@ApiResponse(responseCode = "200", description = "Environments created")
+	@ApiResponse(responseCode = "400", description = "Batch too large, or invalid count or players")
+	public ResponseEntity<EnvResetResponse> reset(@RequestBody EnvResetRequest request) {
+		log.debug("Resetting {} environments", request.count());
+		return ResponseEntity.ok(envService.reset(request));
+	}
+
+	@PostMapping("/step")
+	@Operation(summary = "Step environments", description = "Applies one action index per game and returns the next observation, reward, done flag and legal action mask of each")
+	@ApiResponse(responseCode = "200", description = "Environments stepped")
+	@ApiResponse(responseCode = "400", description = "Batch too large")
+	@ApiResponse(responseCode = "401", description = "Invalid player UUID")
+	@ApiResponse(responseCode = "404", description = "Game not found")
+	public ResponseEntity<EnvStepResponse> step(@RequestBody EnvStepRequest request) {
+		log.debug("Stepping {} environments", request.actions() != null ? request.actions().size() : 0);
+		return ResponseEntity.ok(envService.step(request));
+	}
+
+	@GetMapping(value = "/observation/{gameUuid}/{playerUuid}", produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+	@Operation(summary = "Get a binary observation", description = "Returns the player's observation as a raw int8 vector: chips, board cards and sequence membership for every cell, then the hand as 7 card ids, then 4 bytes of turn info. Send Accept: application/x-npy for a NumPy .npy stream instead. Requires the player's private UUID.")
+	@ApiResponse(responseCode = "200", description = "Observation retrieved")
+	@ApiResponse(responseCode = "401", description = "Invalid player UUID")
+	@ApiResponse(responseCode = "404", description = "Game not found")
+	public ResponseEntity<byte[]> getObservation(@PathVariable UUID gameUuid, @PathVariable UUID playerUuid) {
+		return ResponseEntity.ok().contentType(MediaType.APPLICATION_OCTET_STREAM).body(envService.observation(gameUuid, playerUuid));
+	}
+
+	@GetMapping(value = "/observation/{gameUuid}/{playerUuid}", produces = NPY_VALUE)
+	@Operation(summary = "Get a binary observation as .npy", description = "Same as the raw observation, wrapped in the NumPy .npy format so it loads with numpy.load.")
+	public ResponseEntity<byte[]> getObservationNpy(@PathVariable UUID gameUuid, @PathVariable UUID playerUuid) {
+		var npy = ObservationEncoder.toNpy(envService.observation(gameUuid, playerUuid));
+		return ResponseEntity.ok().contentType(MediaType.parseMediaType(NPY_VALUE)).body(npy);
+	}
+}
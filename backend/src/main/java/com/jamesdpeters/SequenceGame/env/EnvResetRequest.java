@@ -0,0 +1,10 @@
+package com.jamesdpeters.SequenceGame.env;
+
+/**
+ * @param count   the number of new games to create and start
+ * @param players seats per game, defaults to 2
+ */
+public record EnvResetRequest(
+				int count,
+				Integer players
+) {}
@@ -0,0 +1,13 @@
+package com.jamesdpeters.SequenceGame.env;
+
+import java.util.List;
+
+/**
+ * @param boardCards the card id on each cell, shared by every environment
+ */
+public record EnvResetResponse(
+				int cellCount,
+				int maxHandSize,
+				byte[] boardCards,
+				List<EnvState> envs
+) {}
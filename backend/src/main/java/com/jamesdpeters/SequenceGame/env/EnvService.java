@@ -0,0 +1,177 @@
+package com.jamesdpeters.SequenceGame.env;
+
+import com.jamesdpeters.SequenceGame.board.Board;
+import com.jamesdpeters.SequenceGame.env.exceptions.EnvBatchTooLargeException;
+import com.jamesdpeters.SequenceGame.env.exceptions.EnvInvalidResetException;
+import com.jamesdpeters.SequenceGame.game.Game;
+import com.jamesdpeters.SequenceGame.game.GameService;
+import com.jamesdpeters.SequenceGame.game.MoveAction;
+import com.jamesdpeters.SequenceGame.game.exceptions.GameMoveException;
+import com.jamesdpeters.SequenceGame.game.exceptions.UserDoesNotHavePermissionException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+/**
+ * Creates and steps many games per request for vectorised training environments. Each environment in a batch
+ * runs on its own virtual thread through {@link GameService}, so a batch fans out across cores while moves on
+ * the same game stay serialised by its mailbox.
+ */
+@Slf4j
+@Service
+public class EnvService {
+
+	private final GameService gameService;
+	private final int maxBatchSize;
+	private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+	public EnvService(GameService gameService, @Value("${app.env.max-batch-size:1024}") int maxBatchSize) {
+		this.gameService = gameService;
+		this.maxBatchSize = maxBatchSize;
+	}
+
+	/**
+	 * Creates and starts {@code request.count()} games with every seat taken by an agent. The request is
+	 * validated up front, so a batch only fails part way through on an unexpected error, which leaves the
+	 * games already created in progress with no agent holding their player UUIDs.
+	 *
+	 * @throws EnvInvalidResetException if the count is not positive or no game has that many seats
+	 */
+	public EnvResetResponse reset(EnvResetRequest request) {
+		if (request.count() < 1) {
+			throw new EnvInvalidResetException("count", request.count(), "at least one environment is required");
+		}
+		checkBatchSize(request.count());
+		var players = request.players() != null ? request.players() : 2;
+		if (!Game.isValidPlayerSize(players)) {
+			throw new EnvInvalidResetException("players", players, "games are played by 2, 3, 4, 6, 8, 9, 10 or 12 players");
+		}
+		var states = fanOut(request.count(), i -> () -> {
+			var game = gameService.createGame(players);
+			for (int seat = 0; seat < players; seat++) {
+				gameService.joinGame(game.getUuid(), "Agent " + (seat + 1));
+			}
+			game = gameService.startGame(game);
+			return observe(game, 0, 0, false);
+		});
+
+		var board = new Board();
+		return new EnvResetResponse(board.getCellCount(), ObservationEncoder.MAX_HAND_SIZE, ObservationEncoder.boardCards(board), states);
+	}
+
+	/**
+	 * Applies one action per environment. Illegal actions leave the game unchanged and are reported as invalid.
+	 *
+	 * @throws UserDoesNotHavePermissionException if a player UUID does not belong to its game
+	 */
+	public EnvStepResponse step(EnvStepRequest request) {
+		var actions = request.actions() != null ? request.actions() : List.<EnvStepRequest.EnvAction>of();
+		checkBatchSize(actions.size());
+		return new EnvStepResponse(fanOut(actions.size(), i -> () -> step(actions.get(i))));
+	}
+
+	/**
+	 * @return the player's dense observation of the game, see {@link ObservationEncoder#observation}
+	 * @throws UserDoesNotHavePermissionException if the player UUID does not belong to the game
+	 */
+	public byte[] observation(UUID gameUuid, UUID playerUuid) {
+		var game = gameService.getGame(gameUuid);
+		var player = game.getPlayerContainer().getPublicUuid(playerUuid);
+		if (player == null) {
+			throw new UserDoesNotHavePermissionException(playerUuid);
+		}
+		return ObservationEncoder.observation(game, player);
+	}
+
+	private EnvState step(EnvStepRequest.EnvAction action) {
+		var game = gameService.getGame(action.gameUuid());
+		var player = game.getPlayerContainer().getPublicUuid(action.playerUuid());
+		if (player == null) {
+			throw new UserDoesNotHavePermissionException(action.playerUuid());
+		}
+
+		var move = decodeAction(game, player, action.action());
+		if (move == null) {
+			return observe(game, -1, 0, true);
+		}
+		var team = game.getPlayerContainer().getTeam(player);
+		var sequencesBefore = game.getBoard().getCompletedSequences(team);
+		try {
+			game = gameService.doPlayerMove(action.gameUuid(), player, move);
+		} catch (GameMoveException e) {
+			return observe(game, -1, 0, true);
+		}
+		var sequencesCompleted = game.getBoard().getCompletedSequences(team) - sequencesBefore;
+		var reward = game.getWinner() == team ? 1 : 0;
+		return observe(game, reward, sequencesCompleted, false);
+	}
+
+	private static MoveAction decodeAction(Game game, UUID player, int action) {
+		var board = game.getBoard();
+		var hand = game.getPlayerContainer().getCards(player);
+		if (action < 0 || hand == null) {
+			return null;
+		}
+		var slot = action / board.getCellCount();
+		var cell = action % board.getCellCount();
+		if (slot >= hand.size()) {
+			return null;
+		}
+		return new MoveAction(board.getCellRow(cell), board.getCellColumn(cell), hand.get(slot));
+	}
+
+	private static EnvState observe(Game game, double reward, int sequencesCompleted, boolean invalid) {
+		var player = game.getCurrentPlayerTurn();
+		return new EnvState(
+				game.getUuid(),
+				game.getPlayerContainer().getPrivateUuid(player),
+				ObservationEncoder.chips(game, player),
+				ObservationEncoder.sequences(game.getBoard()),
+				ObservationEncoder.hand(game, player),
+				ObservationEncoder.actionMask(game, player),
+				reward,
+				sequencesCompleted,
+				game.getStatus() == Game.Status.COMPLETED,
+				invalid,
+				game.getWinner());
+	}
+
+	private void checkBatchSize(int size) {
+		if (size > maxBatchSize) {
+			throw new EnvBatchTooLargeException(size, maxBatchSize);
+		}
+	}
+
+	/**
+	 * Runs every task and returns their results in order, rethrowing the first failure once all have finished.
+	 * Tasks are not rolled back, so whatever the other tasks did stays done.
+	 */
+	private <T> List<T> fanOut(int count, IntFunction<Supplier<T>> tasks) {
+		var futures = new ArrayList<CompletableFuture<T>>(count);
+		for (int i = 0; i < count; i++) {
+			futures.add(CompletableFuture.supplyAsync(tasks.apply(i), executor));
+		}
+		var results = new ArrayList<T>(count);
+		try {
+			for (var future : futures) {
+				results.add(future.join());
+			}
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof RuntimeException runtimeException) {
+				throw runtimeException;
+			}
+			throw e;
+		}
+		return results;
+	}
+}
@@ -0,0 +1,28 @@
+package com.jamesdpeters.SequenceGame.env;
+
+import com.jamesdpeters.SequenceGame.board.ChipColour;
+
+import java.util.UUID;
+
+/**
+ * One environment after a reset or step, observed by the player due to act next. Byte arrays are sent as
+ * base64 and use the layouts of {@link ObservationEncoder}.
+ *
+ * @param playerUuid          private UUID of the player due to act next
+ * @param reward              for the player that acted: 1 for a winning move, -1 for an illegal action, otherwise 0
+ * @param sequencesCompleted  sequences completed by the acting player's team with this action
+ * @param invalid             the action was illegal and the game is unchanged
+ */
+public record EnvState(
+				UUID gameUuid,
+				UUID playerUuid,
+				byte[] chips,
+				byte[] sequences,
+				byte[] hand,
+				byte[] actionMask,
+				double reward,
+				int sequencesCompleted,
+				boolean done,
+				boolean invalid,
+				ChipColour winner
+) {}
@@ -0,0 +1,18 @@
+package com.jamesdpeters.SequenceGame.env;
+
+import java.util.List;
+import java.util.UUID;
+
+public record EnvStepRequest(
+				List<EnvAction> actions
+) {
+	/**
+	 * @param playerUuid the acting player's private UUID
+	 * @param action     {@code handSlot * cellCount + cell}, see {@link ObservationEncoder#actionMask}
+	 */
+	public record EnvAction(
+					UUID gameUuid,
+					UUID playerUuid,
+					int action
+	) {}
+}
@@ -0,0 +1,7 @@
+package com.jamesdpeters.SequenceGame.env;
+
+import java.util.List;
+
+public record EnvStepResponse(
+				List<EnvState> envs
+) {}
@@ -0,0 +1,186 @@
+package com.jamesdpeters.SequenceGame.env;
+
+import com.jamesdpeters.SequenceGame.board.Board;
+import com.jamesdpeters.SequenceGame.board.ChipColour;
+import com.jamesdpeters.SequenceGame.card.Card;
+import com.jamesdpeters.SequenceGame.game.Game;
+
+import java.util.UUID;
+
+/**
+ * Dense per-cell encodings of a game from one player's point of view, for ML clients. Every plane has one byte
+ * per board cell in row-major {@link Board#getCellIndex} order.
+ * <p>
+ * Card ids are {@link Card#id()} + 1, so 1 to 52, with 0 for no card (free corners and empty
+ * hand slots). Chips are relative to the player: 0 empty, 1 their team, then 2 and 3 for the teams that
+ * follow in {@link ChipColour} order.
+ * <p>
+ * {@link #observation} packs everything into one int8 vector of {@link #observationLength} bytes:
+ * <pre>
+ * [0, cells)            chips
+ * [cells, 2 * cells)    board cards
+ * [2 * cells, 3 * cells) sequence membership
+ * next 7                hand card ids
+ * next 4                player's turn, dead card already discarded this turn, own sequences, opponent sequences
+ * </pre>
+ */
+public final class ObservationEncoder {
+
+	/**
+	 * Hands are padded to this many slots, the largest hand dealt in any game size.
+	 */
+	public static final int MAX_HAND_SIZE = 7;
+
+	/**
+	 * Bytes of turn information at the end of an {@link #observation}.
+	 */
+	public static final int TURN_INFO_SIZE = 4;
+
+	private static final int COLOURS = ChipColour.values().length;
+	private static final byte[] NPY_MAGIC = {(byte) 0x93, 'N', 'U', 'M', 'P', 'Y', 1, 0};
+
+	private ObservationEncoder() {
+	}
+
+	public static byte cardId(Card card) {
+		return card == null ? 0 : (byte) (card.id() + 1);
+	}
+
+	/**
+	 * @return the card printed on each cell; the same for every game on the default layout
+	 */
+	public static byte[] boardCards(Board board) {
+		var cards = new byte[board.getCellCount()];
+		writeBoardCards(board, cards, 0);
+		return cards;
+	}
+
+	public static byte[] chips(Game game, UUID publicPlayerUuid) {
+		var chips = new byte[game.getBoard().getCellCount()];
+		writeChips(game, publicPlayerUuid, chips, 0);
+		return chips;
+	}
+
+	/**
+	 * @return 1 for every cell that is part of a completed sequence, otherwise 0
+	 */
+	public static byte[] sequences(Board board) {
+		var sequences = new byte[board.getCellCount()];
+		writeSequences(board, sequences, 0);
+		return sequences;
+	}
+
+	/**
+	 * @return the player's hand as card ids, padded with 0 to {@link #MAX_HAND_SIZE}
+	 */
+	public static byte[] hand(Game game, UUID publicPlayerUuid) {
+		var hand = new byte[MAX_HAND_SIZE];
+		writeHand(game, publicPlayerUuid, hand, 0);
+		return hand;
+	}
+
+	public static int observationLength(Board board) {
+		return 3 * board.getCellCount() + MAX_HAND_SIZE + TURN_INFO_SIZE;
+	}
+
+	/**
+	 * @return the whole observation for the player as one int8 vector, see the class comment for its layout
+	 */
+	public static byte[] observation(Game game, UUID publicPlayerUuid) {
+		var board = game.getBoard();
+		var cells = board.getCellCount();
+		var observation = new byte[observationLength(board)];
+		writeChips(game, publicPlayerUuid, observation, 0);
+		writeBoardCards(board, observation, cells);
+		writeSequences(board, observation, 2 * cells);
+		writeHand(game, publicPlayerUuid, observation, 3 * cells);
+
+		var turnInfo = 3 * cells + MAX_HAND_SIZE;
+		var team = game.getPlayerContainer().getTeam(publicPlayerUuid);
+		var ownSequences = team != null ? board.getCompletedSequences(team) : 0;
+		var opponentSequences = 0;
+		for (var colour : ChipColour.values()) {
+			opponentSequences += colour != team ? board.getCompletedSequences(colour) : 0;
+		}
+		observation[turnInfo] = (byte) (publicPlayerUuid.equals(game.getCurrentPlayerTurn()) ? 1 : 0);
+		observation[turnInfo + 1] = (byte) (game.isDeadCardDiscardedThisTurn() ? 1 : 0);
+		observation[turnInfo + 2] = (byte) ownSequences;
+		observation[turnInfo + 3] = (byte) opponentSequences;
+		return observation;
+	}
+
+	/**
+	 * Wraps a one dimensional int8 vector in the NumPy {@code .npy} format, version 1.0, so it loads with
+	 * {@code numpy.load}.
+	 */
+	public static byte[] toNpy(byte[] data) {
+		var header = new StringBuilder("{'descr': '|i1', 'fortran_order': False, 'shape': (" + data.length + ",), }");
+		// Magic, version and header length take 10 bytes, and the header ends with a newline. The data must start 64 byte aligned.
+		while ((NPY_MAGIC.length + 2 + header.length() + 1) % 64 != 0) {
+			header.append(' ');
+		}
+		header.append('\n');
+
+		var npy = new byte[NPY_MAGIC.length + 2 + header.length() + data.length];
+		System.arraycopy(NPY_MAGIC, 0, npy, 0, NPY_MAGIC.length);
+		npy[NPY_MAGIC.length] = (byte) header.length();
+		npy[NPY_MAGIC.length + 1] = (byte) (header.length() >> 8);
+		for (int i = 0; i < header.length(); i++) {
+			npy[NPY_MAGIC.length + 2 + i] = (byte) header.charAt(i);
+		}
+		System.arraycopy(data, 0, npy, npy.length - data.length, data.length);
+		return npy;
+	}
+
+	/**
+	 * Packs the legal action mask into bits, least significant bit first, so it unpacks with
+	 * {@code numpy.unpackbits(mask, bitorder="little")}. Action {@code slot * cellCount + cell} plays hand slot
+	 * {@code slot} on {@code cell}; there are {@code MAX_HAND_SIZE * cellCount} actions.
+	 */
+	public static byte[] actionMask(Game game, UUID publicPlayerUuid) {
+		var mask = game.getLegalMoveGenerator().getActionMask(publicPlayerUuid);
+		var actions = MAX_HAND_SIZE * game.getBoard().getCellCount();
+		var packed = new byte[(actions + 7) / 8];
+		for (int action = 0; action < Math.min(mask.length, actions); action++) {
+			if (mask[action]) {
+				packed[action >> 3] |= (byte) (1 << (action & 7));
+			}
+		}
+		return packed;
+	}
+
+	private static void writeBoardCards(Board board, byte[] out, int offset) {
+		for (int cell = 0; cell < board.getCellCount(); cell++) {
+			out[offset + cell] = cardId(board.getCard(board.getCellRow(cell), board.getCellColumn(cell)));
+		}
+	}
+
+	private static void writeChips(Game game, UUID publicPlayerUuid, byte[] out, int offset) {
+		var board = game.getBoard();
+		var team = game.getPlayerContainer().getTeam(publicPlayerUuid);
+		var own = team != null ? team.ordinal() : 0;
+		for (int cell = 0; cell < board.getCellCount(); cell++) {
+			var chip = board.getChip(board.getCellRow(cell), board.getCellColumn(cell));
+			if (chip != null) {
+				out[offset + cell] = (byte) ((chip.ordinal() - own + COLOURS) % COLOURS + 1);
+			}
+		}
+	}
+
+	private static void writeSequences(Board board, byte[] out, int offset) {
+		for (int cell = 0; cell < board.getCellCount(); cell++) {
+			if (board.isPartOfSequence(board.getCellRow(cell), board.getCellColumn(cell))) {
+				out[offset + cell] = 1;
+			}
+		}
+	}
+
+	private static void writeHand(Game game, UUID publicPlayerUuid, byte[] out, int offset) {
+		var cards = game.getPlayerContainer().getCards(publicPlayerUuid);
+		if (cards != null) {
+			for (int slot = 0; slot < Math.min(cards.size(), MAX_HAND_SIZE); slot++) {
+				out[offset + slot] = cardId(cards.get(slot));
+			}
+		}
+	}
+}
@@ -0,0 +1,17 @@
+package com.jamesdpeters.SequenceGame.env.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.web.ErrorResponseException;
+
+public class EnvBatchTooLargeException extends ErrorResponseException {
+	public EnvBatchTooLargeException(int size, int maxSize) {
+		var problemDetail = ProblemDetail.forStatus(HttpStatus.BAD_REQUEST);
+		problemDetail.setTitle("Batch too large");
+		problemDetail.setDetail("Batch of " + size + " environments exceeds the limit of " + maxSize);
+		problemDetail.setProperty("size", size);
+		problemDetail.setProperty("maxSize", maxSize);
+
+		super(HttpStatus.BAD_REQUEST, problemDetail, null);
+	}
+}
@@ -0,0 +1,17 @@
+package com.jamesdpeters.SequenceGame.env.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.web.ErrorResponseException;
+
+public class EnvInvalidResetException extends ErrorResponseException {
+	public EnvInvalidResetException(String field, int value, String reason) {
+		var problemDetail = ProblemDetail.forStatus(HttpStatus.BAD_REQUEST);
+		problemDetail.setTitle("Invalid reset");
+		problemDetail.setDetail("Invalid " + field + " " + value + ": " + reason);
+		problemDetail.setProperty("field", field);
+		problemDetail.setProperty("value", value);
+
+		super(HttpStatus.BAD_REQUEST, problemDetail, null);
+	}
+}
@@ -0,0 +1,367 @@
+package com.jamesdpeters.SequenceGame.game;
+
+import com.jamesdpeters.SequenceGame.game.exceptions.GameVersionConflictException;
+import com.jamesdpeters.SequenceGame.player.Player;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.Nullable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write-behind cache of live {@link Game} aggregates in front of the database backed repository.
+ * <p>
+ * Reads of a cached game are served from memory and saves only bump the version and mark the game dirty.
+ * Every {@code app.persistence.cache.flush-interval} each dirty game is written in its own transaction, in
+ * parallel across games, and a game saved several times since the last flush is written once with all of its
+ * changes, so durable state is never more than one interval behind. After each flush, games idle for longer than {@code app.persistence.cache.ttl}
+ * are dropped, then the least recently used games until at most {@code app.persistence.cache.max-size} remain.
+ * Saves the delegate {@link DurableGameRepository#requiresImmediateWrite requires immediately} are written
+ * straight away. Everything still dirty is flushed on shutdown.
+ * <p>
+ * Flushes and evictions run through the game's mailbox, so they never see a game part way through a command.
+ * Callers must likewise only save or load a game, or look up its players, from inside its mailbox, as
+ * {@link GameService} does, since {@link #findByUuid} returns the cached instance itself. {@link #findByPlayer} and {@link #findAll} return
+ * copies taken inside each game's mailbox, so they must not be called from inside a mailbox, and summaries are
+ * read from a snapshot taken on every save.
+ */
+@Slf4j
+@Service
+@Primary
+@Profile("!inmemory")
+@ConditionalOnProperty(name = "app.persistence.cache.enabled", havingValue = "true", matchIfMissing = true)
+public class CachingGameRepository implements GameRepository {
+
+	private final DurableGameRepository delegate;
+	private final GameMailboxes mailboxes;
+	private final GameMetrics metrics;
+	private final int maxSize;
+	private final long ttlNanos;
+	private final Map<UUID, Entry> entries = new ConcurrentHashMap<>();
+	private final ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(
+			Thread.ofPlatform().name("game-cache-flush").daemon().factory());
+
+	/**
+	 * @param delegate the database backed repository of the active profile
+	 */
+	public CachingGameRepository(
+			DurableGameRepository delegate,
+			GameMailboxes mailboxes,
+			GameMetrics metrics,
+			@Value("${app.persistence.cache.max-size:10000}") int maxSize,
+			@Value("${app.persistence.cache.ttl:30m}") Duration ttl,
+			@Value("${app.persistence.cache.flush-interval:1s}") Duration flushInterval
+	) {
+		this.delegate = delegate;
+		this.mailboxes = mailboxes;
+		this.metrics = metrics;
+		this.maxSize = Math.max(0, maxSize);
+		this.ttlNanos = ttl.toNanos();
+		var intervalMillis = Math.max(1, flushInterval.toMillis());
+		flusher.scheduleWithFixedDelay(this::flushAndEvict, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+	}
+
+	@Override
+	public Game save(Game game) {
+		var entry = entries.get(game.getUuid());
+		if (entry == null) {
+			var storedVersion = delegate.findVersion(game.getUuid());
+			if (storedVersion != null && storedVersion != game.getVersion()) {
+				throw new GameVersionConflictException(game.getUuid(), game.getVersion());
+			}
+			entry = new Entry(game, storedVersion);
+			if (storedVersion != null) {
+				game.setVersion(game.getVersion() + 1);
+			}
+			entries.put(game.getUuid(), entry);
+		} else {
+			if (entry.game != game && entry.game.getVersion() != game.getVersion()) {
+				throw new GameVersionConflictException(game.getUuid(), game.getVersion());
+			}
+			game.setVersion(game.getVersion() + 1);
+			entry.game = game;
+		}
+		entry.summary = GameSummary.from(game);
+		entry.dirty = true;
+		entry.touch();
+		if (delegate.requiresImmediateWrite(game)) {
+			flush(entry);
+		}
+		return game;
+	}
+
+	@Override
+	public Game findByUuid(UUID uuid) {
+		var entry = entries.get(uuid);
+		if (entry != null) {
+			entry.touch();
+			return entry.game;
+		}
+		var game = delegate.findByUuid(uuid);
+		if (game == null) {
+			return null;
+		}
+		var cached = entries.putIfAbsent(uuid, new Entry(game, game.getVersion()));
+		return cached != null ? cached.game : game;
+	}
+
+	@Override
+	public Long findVersion(UUID uuid) {
+		var entry = entries.get(uuid);
+		return entry != null ? entry.game.getVersion() : delegate.findVersion(uuid);
+	}
+
+	@Override
+	public @Nullable UUID findPublicPlayerUuid(UUID gameUuid, UUID privateUuid) {
+		var entry = entries.get(gameUuid);
+		return entry != null
+				? entry.game.getPlayerContainer().getPublicUuid(privateUuid)
+				: delegate.findPublicPlayerUuid(gameUuid, privateUuid);
+	}
+
+	@Override
+	public List<Game> findByPlayer(Player player) {
+		var games = withCachedGames(delegate.findByPlayer(player));
+		for (var entry : entries.values()) {
+			if (!games.containsKey(entry.summary.gameUuid()) && entry.summary.players().contains(player.publicUuid())) {
+				games.put(entry.summary.gameUuid(), copyOf(entry));
+			}
+		}
+		return List.copyOf(games.values());
+	}
+
+	/**
+	 * Reads stored summaries, replacing those of cached games and adding cached games not yet written, so
+	 * summaries are as current as {@link #findByUuid}.
+	 */
+	@Override
+	public List<GameSummary> findSummariesByPlayer(UUID publicUuid, @Nullable GameCursor before, int limit) {
+		var summaries = new LinkedHashMap<UUID, GameSummary>();
+		for (var summary : delegate.findSummariesByPlayer(publicUuid, before, limit)) {
+			var entry = entries.get(summary.gameUuid());
+			summaries.put(summary.gameUuid(), entry != null ? entry.summary : summary);
+		}
+		for (var entry : entries.values()) {
+			var summary = entry.summary;
+			if (summary.players().contains(publicUuid)) {
+				if (before == null || GameCursor.of(summary).compareTo(before) < 0) {
+					summaries.putIfAbsent(summary.gameUuid(), summary);
+				}
+			}
+		}
+		return summaries.values().stream().sorted(GameSummary.LISTING_ORDER).limit(limit).toList();
+	}
+
+	@Override
+	public Collection<Game> findAll() {
+		var games = withCachedGames(delegate.findAll());
+		for (var entry : entries.values()) {
+			if (!games.containsKey(entry.summary.gameUuid())) {
+				games.put(entry.summary.gameUuid(), copyOf(entry));
+			}
+		}
+		return List.copyOf(games.values());
+	}
+
+	/**
+	 * Counts stored games, so games whose status changed since the last flush are counted in their old status.
+	 */
+	@Override
+	public Map<Game.Status, Long> countByStatus() {
+		return delegate.countByStatus();
+	}
+
+	/**
+	 * Reads stored stats, so they lag the cached games by at most one flush.
+	 */
+	@Override
+	public List<GameStats> findStats(GameStatsFilter filter, @Nullable GameCursor after, int limit) {
+		return delegate.findStats(filter, after, limit);
+	}
+
+	@Override
+	public GameStatsBackfillBatch backfillStats(@Nullable UUID after, int limit) {
+		return delegate.backfillStats(after, limit);
+	}
+
+	/**
+	 * Writes every dirty game, then evicts idle games and the least recently used games over the size cap.
+	 */
+	void flushAndEvict() {
+		try {
+			flush();
+			evict();
+		} catch (RuntimeException e) {
+			log.error("Game cache flush failed", e);
+		}
+	}
+
+	/**
+	 * Writes every dirty game to the durable repository, one transaction per game, in parallel across games.
+	 * A game that fails to write stays dirty and does not hold back the others.
+	 */
+	void flush() {
+		try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+			for (var entry : entries.values()) {
+				if (entry.dirty) {
+					executor.execute(() -> mailboxes.execute(entry.game.getUuid(), () -> flush(entry)));
+				}
+			}
+		}
+	}
+
+	int size() {
+		return entries.size();
+	}
+
+	@PreDestroy
+	void close() {
+		flusher.shutdown();
+		try {
+			flusher.awaitTermination(1, TimeUnit.MINUTES);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		flush();
+	}
+
+	private Void flush(Entry entry) {
+		if (!entry.dirty || entries.get(entry.game.getUuid()) != entry) {
+			return null;
+		}
+		var game = entry.game;
+		try {
+			delegate.saveCoalesced(game, entry.storedVersion);
+			entry.storedVersion = game.getVersion();
+			entry.dirty = false;
+		} catch (GameVersionConflictException e) {
+			reconcile(entry);
+		} catch (RuntimeException e) {
+			log.warn("Failed to flush game {}, retrying on the next flush", game.getUuid(), e);
+		}
+		return null;
+	}
+
+	/**
+	 * Resolves a flush rejected because the stored version is not the one last written. If the stored game is
+	 * an earlier state of the cached one, such as a write that committed but reported a failure, the cached game
+	 * is written over it. Otherwise another node changed the game, so the saves made here since the last flush
+	 * are lost: they are reported and the entry is dropped, so the next read reloads the stored game.
+	 */
+	private void reconcile(Entry entry) {
+		var game = entry.game;
+		var stored = delegate.findByUuid(game.getUuid());
+		if (stored != null && continues(game, stored)) {
+			try {
+				delegate.saveCoalesced(game, stored.getVersion());
+				entry.storedVersion = game.getVersion();
+				entry.dirty = false;
+			} catch (RuntimeException e) {
+				log.warn("Failed to flush game {}, retrying on the next flush", game.getUuid(), e);
+			}
+			return;
+		}
+		metrics.cachedGameLost();
+		var lostFrom = entry.storedVersion != null ? entry.storedVersion + 1 : 0;
+		log.error("Dropping cached game {}, versions {} to {} with {} moves were never written: stored game was changed elsewhere, now at version {} with {} moves",
+				game.getUuid(), lostFrom, game.getVersion(), game.getMoveHistory().size(),
+				stored != null ? stored.getVersion() : null, stored != null ? stored.getMoveHistory().size() : 0);
+		entries.remove(game.getUuid(), entry);
+	}
+
+	/**
+	 * @return whether {@code game} is {@code stored} with more players, moves or a later status added
+	 */
+	private static boolean continues(Game game, Game stored) {
+		return stored.getVersion() < game.getVersion()
+				&& stored.getStatus().compareTo(game.getStatus()) <= 0
+				// Starting a game reorders the players into teams, so only membership is compared.
+				&& game.getPlayers().containsAll(stored.getPlayers())
+				&& startsWith(game.getMoveHistory(), stored.getMoveHistory());
+	}
+
+	private static boolean startsWith(List<?> list, List<?> prefix) {
+		return list.size() >= prefix.size() && list.subList(0, prefix.size()).equals(prefix);
+	}
+
+	private void evict() {
+		var now = System.nanoTime();
+		var evictions = new ArrayList<Entry>();
+		var remaining = new ArrayList<Entry>();
+		for (var entry : entries.values()) {
+			if (now - entry.lastAccess > ttlNanos) {
+				evictions.add(entry);
+			} else {
+				remaining.add(entry);
+			}
+		}
+		if (remaining.size() > maxSize) {
+			remaining.sort(Comparator.comparingLong(entry -> entry.lastAccess));
+			evictions.addAll(remaining.subList(0, remaining.size() - maxSize));
+		}
+		if (evictions.isEmpty()) {
+			return;
+		}
+
+		try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+			for (var entry : evictions) {
+				executor.execute(() -> mailboxes.execute(entry.game.getUuid(), () -> {
+					// A game saved since the flush stays until the next one has written it.
+					if (!entry.dirty) {
+						entries.remove(entry.game.getUuid(), entry);
+					}
+					return null;
+				}));
+			}
+		}
+	}
+
+	private Map<UUID, Game> withCachedGames(Collection<Game> storedGames) {
+		var games = new LinkedHashMap<UUID, Game>();
+		for (var game : storedGames) {
+			var entry = entries.get(game.getUuid());
+			games.put(game.getUuid(), entry != null ? copyOf(entry) : game);
+		}
+		return games;
+	}
+
+	private Game copyOf(Entry entry) {
+		return mailboxes.execute(entry.summary.gameUuid(), () -> entry.game.copy());
+	}
+
+	private static class Entry {
+		private volatile Game game;
+		// Taken on every save, inside the mailbox, so it can be read from anywhere.
+		private volatile GameSummary summary;
+		// Version held by the durable repository, or null if the game has not been written yet.
+		private volatile Long storedVersion;
+		private volatile boolean dirty;
+		private volatile long lastAccess = System.nanoTime();
+
+		private Entry(Game game, Long storedVersion) {
+			this.game = game;
+			this.summary = GameSummary.from(game);
+			this.storedVersion = storedVersion;
+		}
+
+		private void touch() {
+			lastAccess = System.nanoTime();
+		}
+	}
+}
@@ -1,62 +1,199 @@
 package com.jamesdpeters.SequenceGame.game;
 
+import com.jamesdpeters.SequenceGame.game.persistence.entity.GameEntity;
 import com.jamesdpeters.SequenceGame.game.persistence.mapper.GameToDomainMapper;
 import com.jamesdpeters.SequenceGame.game.persistence.mapper.GameToEntityMapper;
+import com.jamesdpeters.SequenceGame.game.persistence.repository.GameDeckCardJpaRepository;
 import com.jamesdpeters.SequenceGame.game.persistence.repository.GameJpaRepository;
+import com.jamesdpeters.SequenceGame.game.persistence.repository.GameStatsJpaRepository;
 import com.jamesdpeters.SequenceGame.player.Player;
+import com.jamesdpeters.SequenceGame.game.exceptions.GameVersionConflictException;
+import io.micrometer.core.instrument.Timer;
 import jakarta.transaction.Transactional;
-import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Hibernate;
+import org.jspecify.annotations.Nullable;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
+@Slf4j
 @Service
-@RequiredArgsConstructor
-public class DbGameRepository implements GameRepository {
+@Profile("!inmemory & !eventsourced")
+public class DbGameRepository implements DurableGameRepository {
 
 	private final GameJpaRepository gameJpaRepository;
+	private final GameDeckCardJpaRepository deckCardJpaRepository;
+	private final GameStatsJpaRepository statsJpaRepository;
 	private final GameToEntityMapper entityMapper;
 	private final GameToDomainMapper domainMapper;
+	private final Timer saveJpaTimer;
+	private final Timer saveMappingTimer;
+	private final Timer findJpaTimer;
+	private final Timer findMappingTimer;
+
+	public DbGameRepository(
+			GameJpaRepository gameJpaRepository,
+			GameDeckCardJpaRepository deckCardJpaRepository,
+			GameStatsJpaRepository statsJpaRepository,
+			GameToEntityMapper entityMapper,
+			GameToDomainMapper domainMapper,
+			GameMetrics metrics
+	) {
+		this.gameJpaRepository = gameJpaRepository;
+		this.deckCardJpaRepository = deckCardJpaRepository;
+		this.statsJpaRepository = statsJpaRepository;
+		this.entityMapper = entityMapper;
+		this.domainMapper = domainMapper;
+		this.saveJpaTimer = metrics.repositoryTimer("save", "jpa");
+		this.saveMappingTimer = metrics.repositoryTimer("save", "mapping");
+		this.findJpaTimer = metrics.repositoryTimer("findByUuid", "jpa");
+		this.findMappingTimer = metrics.repositoryTimer("findByUuid", "mapping");
+	}
 
 	@Override
 	@Transactional
 	public Game save(Game game) {
-		var existing = gameJpaRepository.findById(game.getUuid()).orElse(null);
+		var existing = saveJpaTimer.record(() -> gameJpaRepository.findWithPlayersById(game.getUuid()).orElse(null));
 		if (existing == null) {
-			gameJpaRepository.save(entityMapper.toEntity(game));
+			var mapped = saveMappingTimer.record(() -> entityMapper.toEntity(game));
+			var entity = saveJpaTimer.record(() -> gameJpaRepository.saveAndFlush(mapped));
+			saveJpaTimer.record(() -> statsJpaRepository.upsert(GameStats.from(game)));
+			game.setVersion(entity.getVersion());
 			return game;
 		}
+		if (existing.getVersion() != game.getVersion()) {
+			throw new GameVersionConflictException(game.getUuid(), game.getVersion());
+		}
 
-		entityMapper.clearChildCollections(existing);
-		gameJpaRepository.flush();
-		entityMapper.toEntity(game, existing, false);
-		gameJpaRepository.save(existing);
+		// Deck rows past the end of either pile go in one statement rather than one orphan delete each, which
+		// matters when a reshuffle empties the discard pile. Only safe while the deck cards are still unloaded.
+		if (!Hibernate.isInitialized(existing.getDeckCards())) {
+			var deck = game.getDeck();
+			saveJpaTimer.record(() -> deckCardJpaRepository.deleteBeyond(game.getUuid(), deck.size(), deck.getDiscardPile().size()));
+		}
+		saveJpaTimer.record(() -> gameJpaRepository.fetchChildren(List.of(existing)));
+
+		// Rows are updated in place, so the flush only writes the rows this save actually changed.
+		// The game row is always touched, which bumps its version.
+		saveMappingTimer.record(() -> entityMapper.toEntity(game, existing));
+		try {
+			saveJpaTimer.record(gameJpaRepository::flush);
+		} catch (OptimisticLockingFailureException e) {
+			throw new GameVersionConflictException(game.getUuid(), game.getVersion());
+		}
+		// After the flush, so a version conflict leaves the stats row untouched.
+		saveJpaTimer.record(() -> statsJpaRepository.upsert(GameStats.from(game)));
+		game.setVersion(existing.getVersion());
 		return game;
 	}
 
+	@Override
+	@Transactional
+	public Game saveCoalesced(Game game, Long storedVersion) {
+		// Overridden only so the save and the version overwrite share one transaction.
+		return DurableGameRepository.super.saveCoalesced(game, storedVersion);
+	}
+
+	@Override
+	@Transactional
+	public void overwriteVersion(UUID uuid, long version) {
+		gameJpaRepository.updateVersion(uuid, version);
+	}
+
+	@Override
+	@Transactional
+	public Long findVersion(UUID uuid) {
+		return gameJpaRepository.findVersionById(uuid).orElse(null);
+	}
+
+	@Override
+	@Transactional
+	public @Nullable UUID findPublicPlayerUuid(UUID gameUuid, UUID privateUuid) {
+		return gameJpaRepository.findPublicPlayerUuid(gameUuid, privateUuid).orElse(null);
+	}
+
 	@Override
 	@Transactional
 	public Game findByUuid(UUID uuid) {
-		var entity = gameJpaRepository.findById(uuid).orElse(null);
+		var entity = findJpaTimer.record(() -> {
+			var found = gameJpaRepository.findWithPlayersById(uuid).orElse(null);
+			if (found != null) {
+				gameJpaRepository.fetchChildren(List.of(found));
+			}
+			return found;
+		});
 		if (entity == null) {
 			return null;
 		}
-		return domainMapper.toDomain(entity);
+		return findMappingTimer.record(() -> domainMapper.toDomain(entity));
 	}
 
 	@Override
 	@Transactional
 	public List<Game> findByPlayer(Player player) {
-		var entities = gameJpaRepository.findByPlayer(player);
-		return entities.stream().map(domainMapper::toDomain).toList();
+		var ids = gameJpaRepository.findByPlayer(player).stream().map(GameEntity::getId).toList();
+		return toDomain(ids.isEmpty() ? List.of() : gameJpaRepository.findAllWithPlayersById(ids));
+	}
+
+	@Override
+	@Transactional
+	public List<GameSummary> findSummariesByPlayer(UUID publicUuid, @Nullable GameCursor before, int limit) {
+		return gameJpaRepository.findSummariesByPlayer(publicUuid, before, limit);
 	}
 
 	@Override
 	@Transactional
 	public Collection<Game> findAll() {
-		var entities = gameJpaRepository.findAll();
+		return toDomain(gameJpaRepository.findAllWithPlayers());
+	}
+
+	@Override
+	@Transactional
+	public Map<Game.Status, Long> countByStatus() {
+		return gameJpaRepository.countByStatus();
+	}
+
+	@Override
+	@Transactional
+	public List<GameStats> findStats(GameStatsFilter filter, @Nullable GameCursor after, int limit) {
+		return statsJpaRepository.findPage(filter, after, limit);
+	}
+
+	@Override
+	@Transactional
+	public GameStatsBackfillBatch backfillStats(@Nullable UUID after, int limit) {
+		var ids = statsJpaRepository.findGameIdsWithoutStats(after, limit);
+		if (ids.isEmpty()) {
+			return GameStatsBackfillBatch.EMPTY;
+		}
+		var entities = gameJpaRepository.findAllWithPlayersById(ids);
+		gameJpaRepository.fetchChildren(entities);
+		var backfilled = 0;
+		for (var entity : entities) {
+			GameStats stats;
+			try {
+				stats = GameStats.from(domainMapper.toDomain(entity));
+			} catch (RuntimeException e) {
+				log.warn("Skipping stats backfill of game {}, it could not be loaded", entity.getId(), e);
+				continue;
+			}
+			statsJpaRepository.upsert(stats);
+			backfilled++;
+		}
+		return new GameStatsBackfillBatch(ids.size(), backfilled, ids.getLast());
+	}
+
+	/**
+	 * Loads every child row of {@code entities} in a fixed number of queries, then maps them.
+	 */
+	private List<Game> toDomain(List<GameEntity> entities) {
+		gameJpaRepository.fetchChildren(entities);
 		return entities.stream().map(domainMapper::toDomain).toList();
 	}
 }
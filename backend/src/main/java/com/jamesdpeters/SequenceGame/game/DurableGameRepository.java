@@ -0,0 +1,46 @@
+package com.jamesdpeters.SequenceGame.game;
+
+import org.jspecify.annotations.Nullable;
+
+import java.util.UUID;
+
+/**
+ * A repository writing games to durable storage, which {@link CachingGameRepository} can write behind.
+ */
+public interface DurableGameRepository extends GameRepository {
+
+	/**
+	 * Saves a game whose version has already moved past the stored one, as a write-behind cache does when it
+	 * coalesces several saves into one write. Afterwards the stored version equals the game's version.
+	 *
+	 * @param storedVersion the version currently stored, or null if the game has never been stored
+	 */
+	default Game saveCoalesced(Game game, @Nullable Long storedVersion) {
+		var version = game.getVersion();
+		try {
+			if (storedVersion != null) {
+				game.setVersion(storedVersion);
+			}
+			save(game);
+			if (game.getVersion() != version) {
+				overwriteVersion(game.getUuid(), version);
+			}
+		} finally {
+			game.setVersion(version);
+		}
+		return game;
+	}
+
+	/**
+	 * Whether a write-behind cache must write {@code game} as soon as it is saved instead of coalescing it with
+	 * later saves, because the repository records something about this exact state.
+	 */
+	default boolean requiresImmediateWrite(Game game) {
+		return false;
+	}
+
+	/**
+	 * Sets the stored version of a game without any optimistic lock check, see {@link #saveCoalesced}.
+	 */
+	void overwriteVersion(UUID uuid, long version);
+}
@@ -0,0 +1,242 @@
+package com.jamesdpeters.SequenceGame.game;
+
+import com.jamesdpeters.SequenceGame.game.exceptions.GameVersionConflictException;
+import com.jamesdpeters.SequenceGame.game.persistence.entity.GameEntity;
+import com.jamesdpeters.SequenceGame.game.persistence.entity.GameSnapshotEntity;
+import com.jamesdpeters.SequenceGame.game.persistence.mapper.GameSnapshotCodec;
+import com.jamesdpeters.SequenceGame.game.persistence.mapper.GameToDomainMapper;
+import com.jamesdpeters.SequenceGame.game.persistence.mapper.GameToEntityMapper;
+import com.jamesdpeters.SequenceGame.game.persistence.repository.GameJpaRepository;
+import com.jamesdpeters.SequenceGame.game.persistence.repository.GameMoveJpaRepository;
+import com.jamesdpeters.SequenceGame.game.persistence.repository.GameSnapshotJpaRepository;
+import com.jamesdpeters.SequenceGame.game.persistence.repository.GameStatsJpaRepository;
+import com.jamesdpeters.SequenceGame.player.Player;
+import jakarta.transaction.Transactional;
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.Nullable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Persists games as an append-only move log plus periodic snapshots, instead of the full state tables.
+ * <p>
+ * A move is a single {@code game_move} insert recording the action and the card it drew, plus the version
+ * bump on the game row. A snapshot of the
+ * game state is written when the game starts or finishes, every {@code app.persistence.snapshot-interval}
+ * moves, and after any move that shuffled the discard pile back into the deck, since a shuffle cannot be
+ * replayed. Loading restores the latest snapshot and replays the moves after it.
+ */
+@Slf4j
+@Service
+@Profile("eventsourced")
+public class EventSourcedGameRepository implements DurableGameRepository {
+
+	private final GameJpaRepository gameJpaRepository;
+	private final GameMoveJpaRepository moveJpaRepository;
+	private final GameSnapshotJpaRepository snapshotJpaRepository;
+	private final GameStatsJpaRepository statsJpaRepository;
+	private final GameToEntityMapper entityMapper;
+	private final GameToDomainMapper domainMapper;
+	private final int snapshotInterval;
+
+	public EventSourcedGameRepository(
+			GameJpaRepository gameJpaRepository,
+			GameMoveJpaRepository moveJpaRepository,
+			GameSnapshotJpaRepository snapshotJpaRepository,
+			GameStatsJpaRepository statsJpaRepository,
+			GameToEntityMapper entityMapper,
+			GameToDomainMapper domainMapper,
+			@Value("${app.persistence.snapshot-interval:20}") int snapshotInterval
+	) {
+		this.gameJpaRepository = gameJpaRepository;
+		this.moveJpaRepository = moveJpaRepository;
+		this.snapshotJpaRepository = snapshotJpaRepository;
+		this.statsJpaRepository = statsJpaRepository;
+		this.entityMapper = entityMapper;
+		this.domainMapper = domainMapper;
+		this.snapshotInterval = Math.max(1, snapshotInterval);
+	}
+
+	@Override
+	@Transactional
+	public Game save(Game game) {
+		var entity = gameJpaRepository.findById(game.getUuid()).orElse(null);
+		var persistedMoves = entity != null ? (int) moveJpaRepository.countByGameId(game.getUuid()) : 0;
+		var moves = game.getMoveHistory().size();
+		var snapshot = needsSnapshot(game, entity, persistedMoves, moves);
+
+		if (entity == null) {
+			entity = gameJpaRepository.save(entityMapper.toEntityHeader(game, new GameEntity()));
+		} else if (entity.getVersion() != game.getVersion()) {
+			throw new GameVersionConflictException(game.getUuid(), game.getVersion());
+		} else if (snapshot || game.getStatus() == Game.Status.NOT_STARTED) {
+			entityMapper.toEntityHeader(game, entity);
+		} else {
+			// Between snapshots the move log is the source of truth, the game row only has its version bumped.
+			entity.setUpdatedDate(Instant.now());
+		}
+
+		for (int moveOrder = persistedMoves; moveOrder < moves; moveOrder++) {
+			moveJpaRepository.save(entityMapper.toMoveEntity(game, moveOrder, entity));
+		}
+
+		if (snapshot) {
+			var snapshotEntity = new GameSnapshotEntity();
+			snapshotEntity.setGame(entity);
+			snapshotEntity.setMoveCount(moves);
+			snapshotEntity.setCreatedDate(Instant.now());
+			snapshotEntity.setState(GameSnapshotCodec.encode(game));
+			snapshotJpaRepository.save(snapshotEntity);
+		}
+
+		try {
+			gameJpaRepository.flush();
+		} catch (OptimisticLockingFailureException e) {
+			throw new GameVersionConflictException(game.getUuid(), game.getVersion());
+		}
+		statsJpaRepository.upsert(GameStats.from(game));
+		game.setVersion(entity.getVersion());
+		return game;
+	}
+
+	@Override
+	@Transactional
+	public Game saveCoalesced(Game game, Long storedVersion) {
+		// Overridden only so the save and the version overwrite share one transaction.
+		return DurableGameRepository.super.saveCoalesced(game, storedVersion);
+	}
+
+	/**
+	 * Saves that need a snapshot are written straight through, so a cache does not coalesce them with later
+	 * moves and snapshots land on the start, every reshuffle, the finish and every interval as they would
+	 * without a cache.
+	 */
+	@Override
+	public boolean requiresImmediateWrite(Game game) {
+		if (game.getStatus() == Game.Status.NOT_STARTED) {
+			return false;
+		}
+		var moves = game.getMoveHistory().size();
+		if (moves == 0 || game.getStatus() == Game.Status.COMPLETED || moves % snapshotInterval == 0) {
+			return true;
+		}
+		var draw = game.getMoveDraw(moves - 1);
+		return draw != null && draw.reshuffled();
+	}
+
+	@Override
+	@Transactional
+	public void overwriteVersion(UUID uuid, long version) {
+		gameJpaRepository.updateVersion(uuid, version);
+	}
+
+	@Override
+	@Transactional
+	public Long findVersion(UUID uuid) {
+		return gameJpaRepository.findVersionById(uuid).orElse(null);
+	}
+
+	@Override
+	@Transactional
+	public @Nullable UUID findPublicPlayerUuid(UUID gameUuid, UUID privateUuid) {
+		return gameJpaRepository.findPublicPlayerUuid(gameUuid, privateUuid).orElse(null);
+	}
+
+	@Override
+	@Transactional
+	public Game findByUuid(UUID uuid) {
+		return findByUuidAtMove(uuid, Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Rebuilds a game as it was after its first {@code moveCount} moves.
+	 *
+	 * @return the game, or null if it does not exist
+	 */
+	@Transactional
+	public Game findByUuidAtMove(UUID uuid, int moveCount) {
+		var entity = gameJpaRepository.findById(uuid).orElse(null);
+		if (entity == null) {
+			return null;
+		}
+		return toDomain(entity, moveCount);
+	}
+
+	@Override
+	@Transactional
+	public List<Game> findByPlayer(Player player) {
+		var entities = gameJpaRepository.findByPlayer(player);
+		return entities.stream().map(entity -> toDomain(entity, Integer.MAX_VALUE)).toList();
+	}
+
+	@Override
+	@Transactional
+	public Collection<Game> findAll() {
+		var entities = gameJpaRepository.findAll();
+		return entities.stream().map(entity -> toDomain(entity, Integer.MAX_VALUE)).toList();
+	}
+
+	@Override
+	@Transactional
+	public Map<Game.Status, Long> countByStatus() {
+		return gameJpaRepository.countByStatus();
+	}
+
+	@Override
+	@Transactional
+	public List<GameStats> findStats(GameStatsFilter filter, @Nullable GameCursor after, int limit) {
+		return statsJpaRepository.findPage(filter, after, limit);
+	}
+
+	@Override
+	@Transactional
+	public GameStatsBackfillBatch backfillStats(@Nullable UUID after, int limit) {
+		var ids = statsJpaRepository.findGameIdsWithoutStats(after, limit);
+		var backfilled = 0;
+		for (var id : ids) {
+			GameStats stats;
+			try {
+				stats = GameStats.from(findByUuid(id));
+			} catch (RuntimeException e) {
+				log.warn("Skipping stats backfill of game {}, it could not be loaded", id, e);
+				continue;
+			}
+			statsJpaRepository.upsert(stats);
+			backfilled++;
+		}
+		return new GameStatsBackfillBatch(ids.size(), backfilled, ids.isEmpty() ? null : ids.getLast());
+	}
+
+	private Game toDomain(GameEntity entity, int moveCount) {
+		var moves = moveJpaRepository.findByGameIdOrderByMoveOrder(entity.getId());
+		moves = moves.subList(0, Math.min(moveCount, moves.size()));
+		var snapshot = snapshotJpaRepository
+				.findFirstByGameIdAndMoveCountLessThanEqualOrderByMoveCountDesc(entity.getId(), moves.size())
+				.orElse(null);
+		return domainMapper.toDomain(entity, snapshot, moves);
+	}
+
+	private boolean needsSnapshot(Game game, GameEntity entity, int persistedMoves, int moves) {
+		if (game.getStatus() == Game.Status.NOT_STARTED) {
+			return false;
+		}
+		if (entity == null || entity.getStatus() != game.getStatus()) {
+			return true;
+		}
+		for (int moveOrder = persistedMoves; moveOrder < moves; moveOrder++) {
+			var draw = game.getMoveDraw(moveOrder);
+			if (draw != null && draw.reshuffled()) {
+				return true;
+			}
+		}
+		return persistedMoves / snapshotInterval != moves / snapshotInterval;
+	}
+}
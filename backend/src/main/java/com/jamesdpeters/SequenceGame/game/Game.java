@@ -2,16 +2,19 @@ package com.jamesdpeters.SequenceGame.game;
 
 import com.jamesdpeters.SequenceGame.board.Board;
 import com.jamesdpeters.SequenceGame.board.ChipColour;
+import com.jamesdpeters.SequenceGame.board.Zobrist;
 import com.jamesdpeters.SequenceGame.card.Card;
 import com.jamesdpeters.SequenceGame.card.Deck;
 import com.jamesdpeters.SequenceGame.game.exceptions.GameMoveException;
 import com.jamesdpeters.SequenceGame.player.Player;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.tuple.Pair;
 
 import java.time.Instant;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -22,6 +25,8 @@ import java.util.UUID;
 @Getter
 public class Game {
 
+	private static final int DEAD_CARD_DISCARDED_FLAG = 0;
+
 	private final UUID uuid;
 	private final Instant createdDate;
 	private final Deck deck;
@@ -37,7 +42,13 @@ public class Game {
 
 	private boolean deadCardDiscardedThisTurn;
 
+	private final LegalMoveGenerator legalMoveGenerator = new LegalMoveGenerator(this);
+	// Draws made by moves played on this instance, keyed by index into moveHistory. Not restored on rehydrate.
+	private final Map<Integer, MoveDraw> moveDraws = new HashMap<>();
+
 	@Setter private Status status;
+	// Incremented by the repository on every save, used for optimistic locking and as the HTTP ETag.
+	@Setter(AccessLevel.PACKAGE) private long version;
 
 	public Game() {
 		this(2, new Deck());
@@ -50,7 +61,7 @@ public class Game {
 	public Game(int maxPlayers, Deck deck) {
 		this(
 				UUID.randomUUID(),
-				Instant.now(),
+				now(),
 				deck,
 				new Board(),
 				new GamePlayerContainer(),
@@ -61,7 +72,8 @@ public class Game {
 				null,
 				2,
 				false,
-				Status.NOT_STARTED
+				Status.NOT_STARTED,
+				0
 		);
 	}
 
@@ -78,7 +90,8 @@ public class Game {
 			ChipColour winner,
 			int winningSequenceLength,
 			boolean deadCardDiscardedThisTurn,
-			Status status
+			Status status,
+			long version
 	) {
 		return new Game(
 				uuid,
@@ -93,7 +106,8 @@ public class Game {
 				winner,
 				winningSequenceLength,
 				deadCardDiscardedThisTurn,
-				status
+				status,
+				version
 		);
 	}
 
@@ -110,7 +124,8 @@ public class Game {
 			ChipColour winner,
 			int winningSequenceLength,
 			boolean deadCardDiscardedThisTurn,
-			Status status
+			Status status,
+			long version
 	) {
 		this.uuid = uuid;
 		this.createdDate = createdDate;
@@ -125,6 +140,41 @@ public class Game {
 		this.winningSequenceLength = winningSequenceLength;
 		this.deadCardDiscardedThisTurn = deadCardDiscardedThisTurn;
 		this.status = status;
+		this.version = version;
+	}
+
+	/**
+	 * @return an independent game in the same state, including the draws of moves played on this instance
+	 */
+	public Game copy() {
+		var copy = new Game(
+				uuid,
+				createdDate,
+				deck.copy(),
+				board.copy(),
+				playerContainer.copy(),
+				new HashMap<>(amountOfTurns),
+				new ArrayList<>(moveHistory),
+				maxPlayers,
+				startedDate,
+				winner,
+				winningSequenceLength,
+				deadCardDiscardedThisTurn,
+				status,
+				version
+		);
+		copy.moveDraws.putAll(moveDraws);
+		return copy;
+	}
+
+	/**
+	 * Zobrist hash of the state a player decides on: the board, every hand, whose turn it is, the status and
+	 * whether a dead card was already discarded this turn. The deck and move history are left out, so games
+	 * reaching the same position by different moves hash alike. Costs one pass over the hands.
+	 */
+	public long getHash() {
+		var hash = board.getHash() ^ playerContainer.getHash() ^ Zobrist.status(status.ordinal());
+		return deadCardDiscardedThisTurn ? hash ^ Zobrist.flag(DEAD_CARD_DISCARDED_FLAG) : hash;
 	}
 
 	public UUID getCurrentPlayerTurn() {
@@ -147,6 +197,14 @@ public class Game {
 		return playerContainer.getPlayerNames();
 	}
 
+	/**
+	 * The current time at the microsecond precision PostgreSQL stores, so a cursor built from a game held in
+	 * memory matches the stored row.
+	 */
+	private static Instant now() {
+		return Instant.now().truncatedTo(ChronoUnit.MICROS);
+	}
+
 	public enum Status {
 		NOT_STARTED, IN_PROGRESS, COMPLETED
 	}
@@ -160,7 +218,7 @@ public class Game {
 	}
 
 	public void setGameStarted() {
-		this.startedDate = Instant.now();
+		this.startedDate = now();
 	}
 
 	protected void dealCards() {
@@ -173,12 +231,16 @@ public class Game {
 		playerContainer.addCard(player, deck.draw());
 	}
 
-	protected void playCardAndDraw(UUID player, Card card) {
+	protected MoveDraw playCardAndDraw(UUID player, Card card) {
 		var playedCard = playerContainer.playCard(player, card);
-		if (playedCard != null) {
-			deck.discard(playedCard);
-			drawCard(player);
+		if (playedCard == null) {
+			return null;
 		}
+		deck.discard(playedCard);
+		// The discard pile is only shuffled back in once the draw pile runs out.
+		var reshuffled = deck.isEmpty();
+		drawCard(player);
+		return new MoveDraw(playerContainer.getCards(player).getLast(), reshuffled);
 	}
 
 	public void addPlayer(Player player) {
@@ -190,19 +252,30 @@ public class Game {
 	}
 
 	private int getGameHandSize() {
-		return switch ( playerContainer.getPlayers().size() ) {
+		return getGameHandSize(playerContainer.getPlayers().size());
+	}
+
+	private static int getGameHandSize(int players) {
+		return switch ( players ) {
 			case 2 -> 7;
 			case 3, 4 -> 6;
 			case 6 -> 5;
 			case 8, 9 -> 4;
 			case 10, 12 -> 3;
-			default -> throw new IllegalStateException( "Unexpected value: " + playerContainer.getPlayers().size() );
+			default -> throw new IllegalStateException( "Unexpected value: " + players );
 		};
 	}
 
 	public boolean isValidPlayerSize() {
+		return isValidPlayerSize(playerContainer.getPlayers().size());
+	}
+
+	/**
+	 * @return whether a game can be started with {@code players} seats taken
+	 */
+	public static boolean isValidPlayerSize(int players) {
 		try {
-			getGameHandSize();
+			getGameHandSize(players);
 			return true;
 		} catch (IllegalStateException e) {
 			return false;
@@ -227,21 +300,50 @@ public class Game {
 		}
 	}
 
+	/**
+	 * Applies a previously recorded move, validating it exactly as if it were being played now.
+	 *
+	 * @return the card drawn by the move, or null if it ended the game
+	 */
+	public MoveDraw replayMove(UUID publicPlayerUUID, MoveAction action) {
+		doPlayerMoveAction(publicPlayerUUID, action);
+		return moveDraws.get(moveHistory.size() - 1);
+	}
+
+	/**
+	 * @return the card drawn by move {@code moveIndex}, or null if it drew nothing or was not played on this instance
+	 */
+	public MoveDraw getMoveDraw(int moveIndex) {
+		return moveDraws.get(moveIndex);
+	}
+
 	protected void doPlayerMoveAction(UUID publicPlayerUUID, MoveAction action) {
+		makeMove(publicPlayerUUID, action);
+	}
+
+	/**
+	 * Plays a move exactly like {@link #replayMove}, returning what {@link #unmakeMove} needs to take it back.
+	 * A search can then walk the game tree on one instance instead of copying the game for every node.
+	 */
+	public MoveUndo makeMove(UUID publicPlayerUUID, MoveAction action) {
 		validateMove(publicPlayerUUID, action);
 
 		var card = action.card();
-		var boardSpace = board.getSpace(action.row(), action.column());
 		var teamChip = playerContainer.getTeam(publicPlayerUUID);
 		var nextPlayer = playerContainer.nextPlayerTurn();
 		var deadCardDiscardAction = false;
+		var previousChip = board.getChip(action.row(), action.column());
+		var sequenceCells = board.getSequenceCells();
+		var completedSequences = board.getCompletedSequences(teamChip);
+		var handIndex = playerContainer.getCards(publicPlayerUUID).indexOf(card);
+		var previousDeadCardDiscarded = deadCardDiscardedThisTurn;
 
 		if (card.isOneEyedJack()) {
 			doOneEyedJackAction(board, action.row(), action.column(), teamChip);
 		} else if (card.isTwoEyedJack()) {
 			doTwoEyedJackAction(board, action.row(), action.column(), teamChip);
 		} else {
-			if (boardSpace.getChip() != null) {
+			if (board.getChip(action.row(), action.column()) != null) {
 				throw new GameMoveException(GameMoveException.GameMoveError.POSITION_OCCUPIED);
 			}
 			if (board.isDeadCard(card)) {
@@ -263,13 +365,19 @@ public class Game {
 		if (board.getCompletedSequences(teamChip) >= winningSequenceLength) {
 			winner = teamChip;
 			status = Status.COMPLETED;
-			return;
+			return new MoveUndo(publicPlayerUUID, action, previousChip, sequenceCells, completedSequences, handIndex,
+					null, null, previousDeadCardDiscarded);
 		}
 
-		playCardAndDraw(publicPlayerUUID, card);
+		// Drawing from an empty pile reshuffles the discards, so keep them to put back on undo.
+		var discardPile = deck.isEmpty() ? List.copyOf(deck.getDiscardPile()) : null;
+		var draw = playCardAndDraw(publicPlayerUUID, card);
+		if (draw != null) {
+			moveDraws.put(moveHistory.size() - 1, draw);
+		}
 
 		if (deadCardDiscardAction
-				&& !playerHasPlayableNonDiscardMove(publicPlayerUUID)) {
+				&& !legalMoveGenerator.hasPlayableMove(publicPlayerUUID)) {
 			nextPlayer = playerContainer.nextPlayerTurn();
 		}
 
@@ -278,51 +386,48 @@ public class Game {
 		}
 
 		playerContainer.setCurrentPlayerTurn(nextPlayer);
+		return new MoveUndo(publicPlayerUUID, action, previousChip, sequenceCells, completedSequences, handIndex,
+				draw, discardPile, previousDeadCardDiscarded);
 	}
 
-	private boolean playerHasPlayableNonDiscardMove(UUID publicPlayerUUID) {
-		var hand = playerContainer.getCards(publicPlayerUUID);
-		if (hand == null || hand.isEmpty()) {
-			return false;
-		}
-
-		var playerTeam = playerContainer.getTeam(publicPlayerUUID);
-		if (playerTeam == null) {
-			return false;
+	/**
+	 * Takes back the last move, which must be the one {@code undo} was made for, restoring the board, hands,
+	 * deck, history and turn as they were before it.
+	 */
+	public void unmakeMove(MoveUndo undo) {
+		var player = undo.player();
+		var action = undo.action();
+		if (moveHistory.isEmpty() || moveHistory.getLast().getRight() != action) {
+			throw new IllegalStateException("Only the last move made can be unmade");
 		}
 
-		for (var card : hand) {
-			for (int row = 0; row < board.getRows(); row++) {
-				for (int col = 0; col < board.getColumn(row).length; col++) {
-					var space = board.getSpace(row, col);
-					if (space.getCard() == null) {
-						continue;
-					}
-					if (card.isOneEyedJack()) {
-						if (space.getChip() != null && space.getChip() != playerTeam && !space.isPartOfSequence()) {
-							return true;
-						}
-						continue;
-					}
-					if (card.isTwoEyedJack()) {
-						if (space.getChip() == null) {
-							return true;
-						}
-						continue;
-					}
-					if (space.getChip() == null && card.equals(space.getCard())) {
-						return true;
-					}
-				}
+		var draw = undo.draw();
+		if (draw != null) {
+			var hand = playerContainer.getCards(player);
+			hand.removeLast();
+			hand.add(undo.handIndex(), action.card());
+			deck.undoDraw(draw.card());
+			if (undo.discardPile() != null) {
+				deck.undoReshuffle(undo.discardPile());
+			} else {
+				deck.undoDiscard(action.card());
 			}
 		}
-
-		return false;
+		board.undoChip(action.row(), action.column(), undo.previousChip(), undo.sequenceCells(),
+				undo.completedSequences());
+
+		moveDraws.remove(moveHistory.size() - 1);
+		moveHistory.removeLast();
+		amountOfTurns.computeIfPresent(player, (key, turns) -> turns > 1 ? turns - 1 : null);
+		// Moves are only made in progress, so any win was this move's.
+		winner = null;
+		status = Status.IN_PROGRESS;
+		deadCardDiscardedThisTurn = undo.deadCardDiscardedThisTurn();
+		playerContainer.setCurrentPlayerTurn(player);
 	}
 
 	private static void doTwoEyedJackAction(Board board, int row, int column, ChipColour teamChip) {
-		var boardSpace = board.getSpace(row, column);
-		if (boardSpace.getChip() != null) {
+		if (board.getChip(row, column) != null) {
 			throw new GameMoveException(GameMoveException.GameMoveError.POSITION_OCCUPIED);
 		}
 		// Do action
@@ -330,14 +435,14 @@ public class Game {
 	}
 
 	private static void doOneEyedJackAction(Board board, int row, int column, ChipColour teamChip) {
-		var boardSpace = board.getSpace(row, column);
-		if (boardSpace.isPartOfSequence()) {
+		if (board.isPartOfSequence(row, column)) {
 			throw new GameMoveException(GameMoveException.GameMoveError.CANNOT_REMOVE_SEQUENCE);
 		}
-		if (boardSpace.getChip() == null) {
+		var chip = board.getChip(row, column);
+		if (chip == null) {
 			throw new GameMoveException(GameMoveException.GameMoveError.CANNOT_REMOVE_EMPTY_CHIP);
 		}
-		if (boardSpace.getChip() == teamChip) {
+		if (chip == teamChip) {
 			throw new GameMoveException(GameMoveException.GameMoveError.CANNOT_REMOVE_OWN_CHIP);
 		}
 		// Do action
@@ -361,8 +466,7 @@ public class Game {
 		if (!player.contains(action.card())) {
 			throw new GameMoveException(GameMoveException.GameMoveError.CARD_NOT_IN_HAND);
 		}
-		var boardSpace = board.getSpace(action.row(), action.column());
-		if (boardSpace.getCard() == null) {
+		if (board.getCard(action.row(), action.column()) == null) {
 			throw new GameMoveException(GameMoveException.GameMoveError.CANNOT_PLAY_ON_WILDCARD);
 		}
 	}
@@ -0,0 +1,69 @@
+package com.jamesdpeters.SequenceGame.game;
+
+import com.jamesdpeters.SequenceGame.board.ChipColour;
+import com.jamesdpeters.SequenceGame.card.Card;
+import org.apache.commons.lang3.tuple.Pair;
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Everything that changed in a game since the client's version {@code since}: the moves played, the current
+ * state of every board space they touched plus every space in a sequence, the turn state and the caller's hand.
+ * <p>
+ * Once a game has started every save is exactly one move, so the moves since version {@code since} are the last
+ * {@code version - since} entries of the move history. Changes from before the game started (players joining,
+ * dealing) can't be described this way, so {@code resyncRequired} is set and the client should fetch the full game.
+ */
+public record GameChangesResponse(
+				UUID uuid,
+				long since,
+				long version,
+				boolean resyncRequired,
+				Game.Status status,
+				UUID currentPlayerTurn,
+				ChipColour winner,
+				List<Pair<UUID, MoveAction>> moves,
+				List<BoardResponse.BoardSpaceResponse> spaces,
+				List<Card> playerHand
+) {
+	static GameChangesResponse from(@NonNull Game game, long since, @Nullable UUID publicPlayerUuid) {
+		var moveHistory = game.getMoveHistory();
+		var movesSince = game.getVersion() - since;
+		if (movesSince < 0 || movesSince > moveHistory.size()) {
+			return new GameChangesResponse(game.getUuid(), since, game.getVersion(), true,
+							game.getStatus(), game.getCurrentPlayerTurn(), game.getWinner(), List.of(), List.of(), null);
+		}
+
+		var moves = List.copyOf(moveHistory.subList(moveHistory.size() - (int) movesSince, moveHistory.size()));
+		var board = game.getBoard();
+		var cells = new LinkedHashSet<Integer>();
+		for (var move : moves) {
+			cells.add(board.getCellIndex(move.getRight().row(), move.getRight().column()));
+		}
+		if (!moves.isEmpty()) {
+			// A move can complete a sequence anywhere along its lines, so always send the sequence spaces.
+			for (int cell = 0; cell < board.getCellCount(); cell++) {
+				if (board.isPartOfSequence(board.getCellRow(cell), board.getCellColumn(cell))) {
+					cells.add(cell);
+				}
+			}
+		}
+
+		var spaces = new ArrayList<BoardResponse.BoardSpaceResponse>(cells.size());
+		for (int cell : cells) {
+			var row = board.getCellRow(cell);
+			var column = board.getCellColumn(cell);
+			spaces.add(new BoardResponse.BoardSpaceResponse(row, column, board.getChip(row, column), board.getCard(row, column),
+							board.isPartOfSequence(row, column)));
+		}
+
+		return new GameChangesResponse(game.getUuid(), since, game.getVersion(), false,
+						game.getStatus(), game.getCurrentPlayerTurn(), game.getWinner(), moves, spaces,
+						game.getPlayerHands().get(publicPlayerUuid));
+	}
+}
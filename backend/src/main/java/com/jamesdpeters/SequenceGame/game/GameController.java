@@ -1,6 +1,5 @@
 package com.jamesdpeters.SequenceGame.game;
 
-import com.jamesdpeters.SequenceGame.board.ChipColour;
 import com.jamesdpeters.SequenceGame.game.exceptions.UserDoesNotHavePermissionException;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -8,6 +7,8 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -15,10 +16,17 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import tools.jackson.databind.json.JsonMapper;
 
-import java.util.List;
-import java.util.Map;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.UUID;
 
 @Slf4j
@@ -28,7 +36,11 @@ import java.util.UUID;
 @Tag(name = "Game", description = "Endpoints for creating, joining, and managing Sequence games")
 public class GameController {
 
+	private static final long STREAM_TIMEOUT_MILLIS = Duration.ofMinutes(30).toMillis();
+	private static final int MAX_STATS_PAGE_SIZE = 500;
+
 	private final GameService gameService;
+	private final JsonMapper jsonMapper;
 
 	@PostMapping
 	@Operation(summary = "Create a new game", description = "Creates a new game and automatically adds the creator as the host")
@@ -45,6 +57,7 @@ public class GameController {
 	@Operation(summary = "Join an existing game", description = "Adds a new player to an existing game that has not yet started")
 	@ApiResponse(responseCode = "200", description = "Successfully joined the game")
 	@ApiResponse(responseCode = "404", description = "Game not found")
+	@ApiResponse(responseCode = "403", description = "Game has already started")
 	@ApiResponse(responseCode = "409", description = "Game is already full")
 	public ResponseEntity<GameJoinedResponse> joinGame(@PathVariable UUID gameUuid, @RequestBody(required = false) PlayerNameRequest request) {
 		log.info("Player joining game: {}", gameUuid);
@@ -57,27 +70,99 @@ public class GameController {
 	@GetMapping("/{gameUuid}/{playerUuid}")
 	@Operation(summary = "Get game details", description = "Returns the current state of a game including players, status, and board")
 	@ApiResponse(responseCode = "200", description = "Game details retrieved")
+	@ApiResponse(responseCode = "401", description = "Invalid player UUID")
 	@ApiResponse(responseCode = "404", description = "Game not found")
-	public ResponseEntity<GameResponse> getGameDetails(@PathVariable UUID gameUuid, @PathVariable @NonNull UUID playerUuid) {
+	@ApiResponse(responseCode = "304", description = "Game has not changed since the version in If-None-Match")
+	public ResponseEntity<GameResponse> getGameDetails(@PathVariable UUID gameUuid, @PathVariable @NonNull UUID playerUuid, WebRequest request) {
 		log.debug("Getting game details for: {}", gameUuid);
-		var game = gameService.getGame(gameUuid);
-		var publicPlayerUuid = game.getPlayerContainer().getPublicUuid(playerUuid);
+		var etag = versionTag(gameService.getGameVersion(gameUuid));
+		var publicPlayerUuid = gameService.getPublicPlayerUuid(gameUuid, playerUuid);
 		if (publicPlayerUuid == null) {
 			log.warn("Unauthorized hand access for game: {} by user: {}", gameUuid, playerUuid);
 			throw new UserDoesNotHavePermissionException(playerUuid);
 		}
-		return ResponseEntity.ok(GameResponse.from(game, publicPlayerUuid));
+		if (request.checkNotModified(etag)) {
+			return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+		}
+		var game = gameService.getGame(gameUuid);
+		return ResponseEntity.ok().eTag(versionTag(game.getVersion())).body(GameResponse.from(game, publicPlayerUuid));
 	}
 
 	@GetMapping("/{gameUuid}")
 	@Operation(summary = "Get game details", description = "Returns the current state of a game including players, status, and board without current player hand")
 	@ApiResponse(responseCode = "200", description = "Game details retrieved")
 	@ApiResponse(responseCode = "404", description = "Game not found")
-	public ResponseEntity<GameResponse> getGameDetails(@PathVariable UUID gameUuid) {
+	@ApiResponse(responseCode = "304", description = "Game has not changed since the version in If-None-Match")
+	public ResponseEntity<GameResponse> getGameDetails(@PathVariable UUID gameUuid, WebRequest request) {
 		log.debug("Getting game details for: {}", gameUuid);
+		var etag = versionTag(gameService.getGameVersion(gameUuid));
+		if (request.checkNotModified(etag)) {
+			return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+		}
+		var game = gameService.getGame(gameUuid);
+		return ResponseEntity.ok().eTag(versionTag(game.getVersion())).body(GameResponse.from(game, null));
+	}
+
+	@GetMapping("/{gameUuid}/changes")
+	@Operation(summary = "Get game changes", description = "Returns the moves, changed board spaces and turn state since version `since`, without any player's hand. Returns 304 if the game is still at that version.")
+	@ApiResponse(responseCode = "200", description = "Changes retrieved; resyncRequired is set if the full game must be fetched instead")
+	@ApiResponse(responseCode = "304", description = "Game is still at version since")
+	@ApiResponse(responseCode = "404", description = "Game not found")
+	public ResponseEntity<GameChangesResponse> getGameChanges(@PathVariable UUID gameUuid, @RequestParam long since) {
+		log.debug("Getting game changes for: {} since {}", gameUuid, since);
+		if (gameService.getGameVersion(gameUuid) == since) {
+			return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(versionTag(since)).build();
+		}
+		var game = gameService.getGame(gameUuid);
+		return ResponseEntity.ok().eTag(versionTag(game.getVersion())).body(GameChangesResponse.from(game, since, null));
+	}
+
+	@GetMapping("/{gameUuid}/player/{playerUuid}/changes")
+	@Operation(summary = "Get game changes for a player", description = "Returns the moves, changed board spaces, turn state and the player's hand since version `since`. Returns 304 if the game is still at that version. Requires the player's private UUID.")
+	@ApiResponse(responseCode = "200", description = "Changes retrieved; resyncRequired is set if the full game must be fetched instead")
+	@ApiResponse(responseCode = "304", description = "Game is still at version since")
+	@ApiResponse(responseCode = "401", description = "Invalid player UUID")
+	@ApiResponse(responseCode = "404", description = "Game not found")
+	public ResponseEntity<GameChangesResponse> getGameChanges(@PathVariable UUID gameUuid, @PathVariable UUID playerUuid, @RequestParam long since) {
+		log.debug("Getting game changes for: {}, player: {} since {}", gameUuid, playerUuid, since);
+		var version = gameService.getGameVersion(gameUuid);
+		var publicPlayerUuid = gameService.getPublicPlayerUuid(gameUuid, playerUuid);
+		if (publicPlayerUuid == null) {
+			log.warn("Unauthorized game changes access for game: {} by user: {}", gameUuid, playerUuid);
+			throw new UserDoesNotHavePermissionException(playerUuid);
+		}
+		if (version == since) {
+			return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(versionTag(since)).build();
+		}
+		var game = gameService.getGame(gameUuid);
+		return ResponseEntity.ok().eTag(versionTag(game.getVersion())).body(GameChangesResponse.from(game, since, publicPlayerUuid));
+	}
+
+	@GetMapping(value = "/{gameUuid}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+	@Operation(summary = "Stream game updates", description = "Server-sent events stream sending a \"game\" event with the current state, then again every time the game changes. Does not include any player's hand.")
+	@ApiResponse(responseCode = "200", description = "Stream opened")
+	@ApiResponse(responseCode = "404", description = "Game not found")
+	public SseEmitter streamGame(@PathVariable UUID gameUuid) {
+		log.debug("Opening game stream for: {}", gameUuid);
+		return openGameStream(gameUuid, null);
+	}
+
+	@GetMapping(value = "/{gameUuid}/player/{playerUuid}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+	@Operation(summary = "Stream game updates for a player", description = "Server-sent events stream sending a \"game\" event with the current state, including the player's hand, then again every time the game changes. Requires the player's private UUID.")
+	@ApiResponse(responseCode = "200", description = "Stream opened")
+	@ApiResponse(responseCode = "401", description = "Invalid player UUID")
+	@ApiResponse(responseCode = "404", description = "Game not found")
+	public SseEmitter streamGame(@PathVariable UUID gameUuid, @PathVariable UUID playerUuid) {
+		log.debug("Opening game stream for: {}, player: {}", gameUuid, playerUuid);
 		var game = gameService.getGame(gameUuid);
-		return ResponseEntity.ok(GameResponse.from(game, null));
+		var publicPlayerUuid = game.getPlayerContainer().getPublicUuid(playerUuid);
+		if (publicPlayerUuid == null) {
+			log.warn("Unauthorized game stream for game: {} by user: {}", gameUuid, playerUuid);
+			throw new UserDoesNotHavePermissionException(playerUuid);
+		}
+		return openGameStream(gameUuid, publicPlayerUuid);
 	}
+
 	@PostMapping("/{gameUuid}/start/{hostUuid}")
 	@Operation(summary = "Start a game", description = "Starts the game, dealing cards and setting up teams. Only the host can start the game.")
 	@ApiResponse(responseCode = "200", description = "Game started successfully")
@@ -91,7 +176,7 @@ public class GameController {
 			throw new UserDoesNotHavePermissionException(hostUuid);
 		}
 
-		gameService.startGame(game);
+		game = gameService.startGame(game);
 		log.info("Game started: {}", gameUuid);
 		return ResponseEntity.ok(GameResponse.from(game, game.getHost().publicUuid()));
 	}
@@ -113,6 +198,22 @@ public class GameController {
 		return ResponseEntity.ok(new GamePlayerHandResponse(hand));
 	}
 
+	@GetMapping("/{gameUuid}/player/{playerUuid}/moves")
+	@Operation(summary = "Get a player's legal moves", description = "Returns every legal move for the player and an action mask indexed by hand slot * cellCount + cell. Empty when it is not the player's turn. Requires the player's private UUID.")
+	@ApiResponse(responseCode = "200", description = "Legal moves retrieved")
+	@ApiResponse(responseCode = "401", description = "Invalid player UUID")
+	@ApiResponse(responseCode = "404", description = "Game not found")
+	public ResponseEntity<LegalMovesResponse> getLegalMoves(@PathVariable UUID gameUuid, @PathVariable UUID playerUuid) {
+		log.debug("Getting legal moves for game: {}, player: {}", gameUuid, playerUuid);
+		var game = gameService.getGame(gameUuid);
+		var publicPlayerUuid = game.getPlayerContainer().getPublicUuid(playerUuid);
+		if (publicPlayerUuid == null) {
+			log.warn("Unauthorized legal move access for game: {} by user: {}", gameUuid, playerUuid);
+			throw new UserDoesNotHavePermissionException(playerUuid);
+		}
+		return ResponseEntity.ok(LegalMovesResponse.from(game, publicPlayerUuid));
+	}
+
 	@PostMapping("/{gameUuid}/move/{playerUuid}")
 	@Operation(summary = "Submit a player's move", description = "Applies a move action for the current player and returns the updated game state")
 	@ApiResponse(responseCode = "200", description = "Move applied successfully")
@@ -131,11 +232,61 @@ public class GameController {
 		return ResponseEntity.ok(GameResponse.from(game, publicPlayerUuid));
 	}
 
-	public record GameStatsResponse(UUID gameUuid, ChipColour winner, Map<ChipColour, Integer> sequences, Map<UUID, Integer> amountOfTurns, Map<ChipColour, Integer> chipsPlaced) { }
+	private static String versionTag(long version) {
+		return "\"" + version + "\"";
+	}
+
+	private SseEmitter openGameStream(UUID gameUuid, @Nullable UUID publicPlayerUuid) {
+		var emitter = new SseEmitter(STREAM_TIMEOUT_MILLIS);
+		var unsubscribe = gameService.subscribe(gameUuid, publicPlayerUuid, state -> sendGame(emitter, state));
+		emitter.onCompletion(unsubscribe);
+		emitter.onTimeout(unsubscribe);
+		emitter.onError(error -> unsubscribe.run());
+		return emitter;
+	}
+
+	private static void sendGame(SseEmitter emitter, String state) {
+		try {
+			// Already rendered as JSON, so it is written as is.
+			emitter.send(SseEmitter.event()
+					.name("game")
+					.data(state, MediaType.APPLICATION_JSON));
+		} catch (IOException e) {
+			emitter.completeWithError(e);
+			throw new UncheckedIOException(e);
+		}
+	}
 
 	@GetMapping("/stats")
-	public ResponseEntity<List<GameStatsResponse>> getGameStats() {
-		return ResponseEntity.ok(gameService.getGames().stream().map(game -> new GameStatsResponse(game.getUuid(), game.getWinner(), game.getBoard().getCompletedSequences(), game.getAmountOfTurns(), game.getBoard().getChipsPlaced())).toList());
+	@Operation(summary = "List game stats", description = "Returns one page of per-game summary counters, ordered by creation date. Pass nextCursor back as cursor for the next page")
+	@ApiResponse(responseCode = "200", description = "Page of game stats")
+	@ApiResponse(responseCode = "400", description = "Malformed cursor")
+	public ResponseEntity<GameStatsPageResponse> getGameStats(
+			@RequestParam(required = false) Game.@Nullable Status status,
+			@RequestParam(required = false) @Nullable Instant from,
+			@RequestParam(required = false) @Nullable Instant to,
+			@RequestParam(required = false) @Nullable String cursor,
+			@RequestParam(defaultValue = "50") int limit
+	) {
+		var pageSize = Math.clamp(limit, 1, MAX_STATS_PAGE_SIZE);
+		return ResponseEntity.ok(gameService.getGameStats(new GameStatsFilter(status, from, to), cursor, pageSize));
+	}
+
+	@GetMapping("/stats/export")
+	@Operation(summary = "Export game stats", description = "Streams the stats of every matching game as one JSON array, ordered by creation date")
+	@ApiResponse(responseCode = "200", description = "JSON array of game stats")
+	public ResponseEntity<StreamingResponseBody> exportGameStats(
+			@RequestParam(required = false) Game.@Nullable Status status,
+			@RequestParam(required = false) @Nullable Instant from,
+			@RequestParam(required = false) @Nullable Instant to
+	) {
+		var filter = new GameStatsFilter(status, from, to);
+		StreamingResponseBody body = out -> {
+			try (var array = jsonMapper.writer().writeValuesAsArray(out)) {
+				gameService.exportGameStats(filter, array::write);
+			}
+		};
+		return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
 	}
 
 }
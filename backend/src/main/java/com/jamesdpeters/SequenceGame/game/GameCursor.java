@@ -0,0 +1,64 @@
+package com.jamesdpeters.SequenceGame.game;
+
+import com.jamesdpeters.SequenceGame.game.exceptions.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.UUID;
+
+/**
+ * Position in a listing of games ordered by creation date and then game UUID. A page resumes from the
+ * cursor, so games created while a client pages through do not shift the pages already read.
+ */
+public record GameCursor(Instant createdDate, UUID gameUuid) implements Comparable<GameCursor> {
+
+	private static final Comparator<GameCursor> ORDER = Comparator.comparing(GameCursor::createdDate)
+			.thenComparing(GameCursor::gameUuid, GameCursor::compareUuids);
+
+	public static GameCursor of(GameStats stats) {
+		return new GameCursor(stats.createdDate(), stats.gameUuid());
+	}
+
+	public static GameCursor of(GameSummary summary) {
+		return new GameCursor(summary.createdDate(), summary.gameUuid());
+	}
+
+	@Override
+	public int compareTo(GameCursor other) {
+		return ORDER.compare(this, other);
+	}
+
+	/**
+	 * Orders UUIDs by their bytes, unsigned, as PostgreSQL orders its {@code uuid} type. {@link UUID#compareTo}
+	 * compares signed halves, which disagrees whenever the top bit of a half differs.
+	 */
+	static int compareUuids(UUID first, UUID second) {
+		var mostSignificant = Long.compareUnsigned(first.getMostSignificantBits(), second.getMostSignificantBits());
+		return mostSignificant != 0
+				? mostSignificant
+				: Long.compareUnsigned(first.getLeastSignificantBits(), second.getLeastSignificantBits());
+	}
+
+	/**
+	 * @return an opaque token for clients to send back
+	 */
+	public String encode() {
+		var plain = createdDate + "," + gameUuid;
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(plain.getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * @throws InvalidCursorException if {@code token} was not produced by {@link #encode()}
+	 */
+	public static GameCursor decode(String token) {
+		try {
+			var plain = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+			var separator = plain.indexOf(',');
+			return new GameCursor(Instant.parse(plain.substring(0, separator)), UUID.fromString(plain.substring(separator + 1)));
+		} catch (RuntimeException e) {
+			throw new InvalidCursorException(token);
+		}
+	}
+}
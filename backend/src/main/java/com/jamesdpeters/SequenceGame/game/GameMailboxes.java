@@ -0,0 +1,113 @@
+package com.jamesdpeters.SequenceGame.game;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+/**
+ * Runs commands one at a time per game. Every game gets a mailbox that is drained by a single virtual thread
+ * while it has work and is discarded once empty, so commands for the same game run in submission order while
+ * different games run fully in parallel, without any global lock.
+ * <p>
+ * A command that submits to its own game's mailbox runs inline rather than deadlocking.
+ */
+@Component
+class GameMailboxes {
+
+	private static final ThreadLocal<UUID> CURRENT_GAME = new ThreadLocal<>();
+
+	private final Map<UUID, Mailbox> mailboxes = new ConcurrentHashMap<>();
+	private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+	/**
+	 * Queues {@code command} on the mailbox for {@code gameUuid} and blocks until it has run.
+	 *
+	 * @return the command's result; exceptions thrown by the command are rethrown unchanged
+	 */
+	<T> T execute(UUID gameUuid, Supplier<T> command) {
+		if (gameUuid.equals(CURRENT_GAME.get())) {
+			return command.get();
+		}
+
+		var future = new CompletableFuture<T>();
+		Runnable task = () -> {
+			try {
+				future.complete(command.get());
+			} catch (Throwable t) {
+				future.completeExceptionally(t);
+			}
+		};
+
+		mailboxes.compute(gameUuid, (uuid, mailbox) -> {
+			var target = mailbox != null ? mailbox : new Mailbox(uuid);
+			target.tasks.add(task);
+			if (!target.scheduled) {
+				target.scheduled = true;
+				executor.execute(target::drain);
+			}
+			return target;
+		});
+
+		try {
+			return future.join();
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof RuntimeException runtimeException) {
+				throw runtimeException;
+			}
+			if (e.getCause() instanceof Error error) {
+				throw error;
+			}
+			throw e;
+		}
+	}
+
+	int activeMailboxes() {
+		return mailboxes.size();
+	}
+
+	private class Mailbox {
+		private final UUID gameUuid;
+		private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+		// Only read or written inside mailboxes.compute, which serialises it with enqueueing.
+		private boolean scheduled;
+
+		private Mailbox(UUID gameUuid) {
+			this.gameUuid = gameUuid;
+		}
+
+		private void drain() {
+			CURRENT_GAME.set(gameUuid);
+			try {
+				while (true) {
+					Runnable task;
+					while ((task = tasks.poll()) != null) {
+						task.run();
+					}
+					var retired = new boolean[1];
+					mailboxes.compute(gameUuid, (uuid, mailbox) -> {
+						if (!tasks.isEmpty()) {
+							return mailbox;
+						}
+						scheduled = false;
+						retired[0] = true;
+						return null;
+					});
+					if (retired[0]) {
+						return;
+					}
+				}
+			} finally {
+				CURRENT_GAME.remove();
+			}
+		}
+	}
+}
@@ -0,0 +1,122 @@
+package com.jamesdpeters.SequenceGame.game;
+
+import com.jamesdpeters.SequenceGame.game.exceptions.GameMoveException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import org.jspecify.annotations.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Game meters, exported through {@code /actuator/prometheus}:
+ * <ul>
+ *     <li>{@code game.service} timers, tagged with the {@link GameService} operation</li>
+ *     <li>{@code game.repository} timers, tagged with the operation and the phase, {@code mapping} or {@code jpa}</li>
+ *     <li>{@code game.games} gauges of stored games, tagged with their {@link Game.Status}</li>
+ *     <li>{@code game.move.rejected} counters, tagged with the {@link GameMoveException.GameMoveError}</li>
+ *     <li>{@code game.cache.lost} counting cached games dropped with saves that were never written</li>
+ * </ul>
+ * Timers publish percentile histograms, so latency percentiles can be aggregated across instances.
+ */
+@Component
+public class GameMetrics {
+
+	private final MeterRegistry registry;
+	private final Map<String, Timer> serviceTimers = new ConcurrentHashMap<>();
+	private final Map<GameMoveException.GameMoveError, Counter> rejectedMoves = new EnumMap<>(GameMoveException.GameMoveError.class);
+	private final Counter lostCachedGames;
+
+	public GameMetrics(MeterRegistry registry) {
+		this.registry = registry;
+		// Registered up front so every error is exported, at zero until it first happens.
+		for (var error : GameMoveException.GameMoveError.values()) {
+			rejectedMoves.put(error, Counter.builder("game.move.rejected")
+					.description("Moves rejected by the game rules")
+					.tag("error", error.name())
+					.register(registry));
+		}
+		lostCachedGames = Counter.builder("game.cache.lost")
+				.description("Cached games dropped because the stored game was changed elsewhere before they were written")
+				.register(registry);
+	}
+
+	/**
+	 * Meters that are never exported, for services built outside of Spring.
+	 */
+	public static GameMetrics noop() {
+		return new GameMetrics(new CompositeMeterRegistry());
+	}
+
+	public <T> T timeService(String operation, Supplier<T> call) {
+		return serviceTimers.computeIfAbsent(operation, this::serviceTimer).record(call);
+	}
+
+	public Timer repositoryTimer(String operation, String phase) {
+		return Timer.builder("game.repository")
+				.description("Time spent loading and saving games")
+				.tag("operation", operation)
+				.tag("phase", phase)
+				.publishPercentileHistogram()
+				.register(registry);
+	}
+
+	public void moveRejected(GameMoveException.GameMoveError error) {
+		rejectedMoves.get(error).increment();
+	}
+
+	public void cachedGameLost() {
+		lostCachedGames.increment();
+	}
+
+	/**
+	 * Registers a gauge per {@link Game.Status} counting the games stored in {@code repository}. The gauges share
+	 * counts read at most once a second, so a scrape of all of them counts the games once.
+	 */
+	public void registerGameGauges(GameRepository repository) {
+		var counts = new StatusCounts(repository);
+		for (var status : Game.Status.values()) {
+			Gauge.builder("game.games", counts, games -> games.get(status))
+					.description("Stored games")
+					.tag("status", status.name())
+					.strongReference(true)
+					.register(registry);
+		}
+	}
+
+	private Timer serviceTimer(String operation) {
+		return Timer.builder("game.service")
+				.description("Time spent in GameService operations, including waiting on the game's mailbox")
+				.tag("operation", operation)
+				.publishPercentileHistogram()
+				.register(registry);
+	}
+
+	private static final class StatusCounts {
+		private static final long MAX_AGE_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+		private final GameRepository repository;
+		private @Nullable Map<Game.Status, Long> counts;
+		private long readAt;
+
+		private StatusCounts(GameRepository repository) {
+			this.repository = repository;
+		}
+
+		private synchronized long get(Game.Status status) {
+			var now = System.nanoTime();
+			if (counts == null || now - readAt > MAX_AGE_NANOS) {
+				counts = repository.countByStatus();
+				readAt = now;
+			}
+			return counts.getOrDefault(status, 0L);
+		}
+	}
+}
@@ -1,68 +1,118 @@
 package com.jamesdpeters.SequenceGame.game;
 
 import com.jamesdpeters.SequenceGame.board.ChipColour;
+import com.jamesdpeters.SequenceGame.board.Zobrist;
 import com.jamesdpeters.SequenceGame.card.Card;
 import com.jamesdpeters.SequenceGame.game.exceptions.GameMoveException;
 import com.jamesdpeters.SequenceGame.player.Player;
-import lombok.AccessLevel;
 import lombok.Getter;
 
+import java.util.AbstractMap;
+import java.util.AbstractSet;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
 import java.util.UUID;
 
+/**
+ * Players of a game, stored by seat: the dense index {@code 0..n-1} in join order, which is also the turn
+ * order. Public and private UUIDs both resolve to a seat through a hash index, and hands, teams and names
+ * are lists keyed by seat, so every lookup on the move path is constant time.
+ * <p>
+ * The {@code Map} getters are live views keyed by public UUID, holding only the seats with a value set.
+ */
 public class GamePlayerContainer {
-	@Getter private final Map<UUID, List<Card>> playerHands = new HashMap<>();
-	@Getter private final Map<UUID, ChipColour> teams = new HashMap<>();
-	private final Map<UUID, String> playerNames = new HashMap<>();
-	private final Map<UUID, UUID> privateToPublicPlayerMap = new HashMap<>();
+	private final List<UUID> players = new ArrayList<>();
+	private final List<UUID> privateUuids = new ArrayList<>();
+	private final List<String> names = new ArrayList<>();
+	private final List<List<Card>> hands = new ArrayList<>();
+	private final List<ChipColour> seatTeams = new ArrayList<>();
+	private final Map<UUID, Integer> seatsByPublicUuid = new HashMap<>();
+	private final Map<UUID, Integer> seatsByPrivateUuid = new HashMap<>();
 
-	@Getter(AccessLevel.NONE) private final List<UUID> players = new ArrayList<>();
+	private final Map<UUID, List<Card>> playerHands = new SeatMap<>(hands, true);
+	private final Map<UUID, ChipColour> teams = new SeatMap<>(seatTeams, true);
+	private final Map<UUID, String> playerNames = new SeatMap<>(names, false);
 
 	@Getter private Player host;
 	@Getter private UUID currentPlayerTurn;
+	// Seat of currentPlayerTurn, or -1 if it is not a player of this game.
+	private int currentSeat = -1;
 
+	/**
+	 * @return an independent container with the same players, hands, teams and turn
+	 */
+	public GamePlayerContainer copy() {
+		var copy = new GamePlayerContainer();
+		copy.players.addAll(players);
+		copy.privateUuids.addAll(privateUuids);
+		copy.names.addAll(names);
+		for (var hand : hands) {
+			copy.hands.add(hand != null ? new ArrayList<>(hand) : null);
+		}
+		copy.seatTeams.addAll(seatTeams);
+		copy.seatsByPublicUuid.putAll(seatsByPublicUuid);
+		copy.seatsByPrivateUuid.putAll(seatsByPrivateUuid);
+		copy.host = host;
+		copy.currentPlayerTurn = currentPlayerTurn;
+		copy.currentSeat = currentSeat;
+		return copy;
+	}
 
 	public void addPlayer(Player player) {
-		if (players.isEmpty()) {
+		var seat = players.size();
+		players.add(player.publicUuid());
+		privateUuids.add(player.privateUuid());
+		names.add(player.name());
+		hands.add(null);
+		seatTeams.add(null);
+		seatsByPublicUuid.put(player.publicUuid(), seat);
+		seatsByPrivateUuid.put(player.privateUuid(), seat);
+		if (seat == 0) {
 			host = player;
-			currentPlayerTurn = player.publicUuid();
+			setCurrentPlayerTurn(player.publicUuid());
 		}
-		players.add(player.publicUuid());
-		privateToPublicPlayerMap.put(player.privateUuid(), player.publicUuid());
-		playerNames.put(player.publicUuid(), player.name());
+	}
+
+	/**
+	 * @return the seat of the player with {@code publicUuid}, or -1 if they are not in this game
+	 */
+	public int getSeat(UUID publicUuid) {
+		var seat = publicUuid != null ? seatsByPublicUuid.get(publicUuid) : null;
+		return seat != null ? seat : -1;
 	}
 
 	public void setCards(UUID publicUuid, List<Card> cards) {
-		playerHands.put(publicUuid, cards);
+		hands.set(requireSeat(publicUuid), cards);
 	}
 
 	public void addCard(UUID publicUuid, Card card) {
-		playerHands.get(publicUuid).add(card);
+		hands.get(requireSeat(publicUuid)).add(card);
 	}
 
 	public List<Card> getCards(UUID publicUuid) {
-		return playerHands.get(publicUuid);
+		var seat = getSeat(publicUuid);
+		return seat < 0 ? null : hands.get(seat);
 	}
 
 	public UUID getPublicUuid(UUID privateUuid) {
-		return privateToPublicPlayerMap.get(privateUuid);
+		var seat = privateUuid != null ? seatsByPrivateUuid.get(privateUuid) : null;
+		return seat != null ? players.get(seat) : null;
 	}
 
 	public UUID getPrivateUuid(UUID publicUuid) {
-		for (var entry : privateToPublicPlayerMap.entrySet()) {
-			if (entry.getValue().equals(publicUuid)) {
-				return entry.getKey();
-			}
-		}
-		return null;
+		var seat = getSeat(publicUuid);
+		return seat < 0 ? null : privateUuids.get(seat);
 	}
 
 	public Card playCard(UUID publicUuid, Card card) {
-		var playerHand = playerHands.get(publicUuid);
+		var playerHand = getCards(publicUuid);
 		if (playerHand == null) {
 			throw new GameMoveException(GameMoveException.GameMoveError.PLAYER_NOT_FOUND);
 		}
@@ -75,11 +125,12 @@ public class GamePlayerContainer {
 	}
 
 	public void setTeam(UUID publicUuid, ChipColour team) {
-		teams.put(publicUuid, team);
+		seatTeams.set(requireSeat(publicUuid), team);
 	}
 
 	public ChipColour getTeam(UUID publicUuid) {
-		return teams.get(publicUuid);
+		var seat = getSeat(publicUuid);
+		return seat < 0 ? null : seatTeams.get(seat);
 	}
 
 	public boolean isCurrentPlayerTurn(UUID playerUuid) {
@@ -87,22 +138,137 @@ public class GamePlayerContainer {
 	}
 
 	public UUID nextPlayerTurn() {
-		return players.get((players.indexOf(currentPlayerTurn) + 1) % players.size());
+		return players.get((currentSeat + 1) % players.size());
 	}
 
 	public void setCurrentPlayerTurn(Player player) {
-		currentPlayerTurn = player.publicUuid();
+		setCurrentPlayerTurn(player.publicUuid());
 	}
 
 	public void setCurrentPlayerTurn(UUID playerUuid) {
 		currentPlayerTurn = playerUuid;
+		currentSeat = getSeat(playerUuid);
 	}
 
 	public List<UUID> getPlayers() {
 		return Collections.unmodifiableList(players);
 	}
 
+	public Map<UUID, List<Card>> getPlayerHands() {
+		return playerHands;
+	}
+
+	public Map<UUID, ChipColour> getTeams() {
+		return teams;
+	}
+
 	public Map<UUID, String> getPlayerNames() {
-		return Collections.unmodifiableMap(playerNames);
+		return playerNames;
+	}
+
+	/**
+	 * @return the {@link Zobrist} hash of every hand, as a multiset of cards per seat, and of the current seat
+	 */
+	public long getHash() {
+		long hash = currentSeat >= 0 ? Zobrist.turn(currentSeat) : 0;
+		var copies = new byte[Card.COUNT];
+		for (int seat = 0; seat < hands.size(); seat++) {
+			var hand = hands.get(seat);
+			if (hand == null) {
+				continue;
+			}
+			Arrays.fill(copies, (byte) 0);
+			for (var card : hand) {
+				var id = card.id();
+				hash ^= Zobrist.handCard(seat, id, copies[id]++);
+			}
+		}
+		return hash;
+	}
+
+	private int requireSeat(UUID publicUuid) {
+		var seat = getSeat(publicUuid);
+		if (seat < 0) {
+			throw new GameMoveException(GameMoveException.GameMoveError.PLAYER_NOT_FOUND);
+		}
+		return seat;
+	}
+
+	/**
+	 * Map view of a seat-keyed list, keyed by public UUID in seat order. Seats holding null are absent.
+	 */
+	private class SeatMap<V> extends AbstractMap<UUID, V> {
+		private final List<V> values;
+		private final boolean writable;
+
+		private SeatMap(List<V> values, boolean writable) {
+			this.values = values;
+			this.writable = writable;
+		}
+
+		@Override
+		public V get(Object key) {
+			var seat = key instanceof UUID uuid ? getSeat(uuid) : -1;
+			return seat < 0 ? null : values.get(seat);
+		}
+
+		@Override
+		public boolean containsKey(Object key) {
+			return get(key) != null;
+		}
+
+		@Override
+		public V put(UUID key, V value) {
+			if (!writable) {
+				throw new UnsupportedOperationException();
+			}
+			return values.set(requireSeat(key), value);
+		}
+
+		@Override
+		public Set<Entry<UUID, V>> entrySet() {
+			return new AbstractSet<>() {
+				@Override
+				public Iterator<Entry<UUID, V>> iterator() {
+					return new Iterator<>() {
+						private int seat = nextSeat(0);
+
+						@Override
+						public boolean hasNext() {
+							return seat < values.size();
+						}
+
+						@Override
+						public Entry<UUID, V> next() {
+							if (!hasNext()) {
+								throw new NoSuchElementException();
+							}
+							var entry = new SimpleImmutableEntry<>(players.get(seat), values.get(seat));
+							seat = nextSeat(seat + 1);
+							return entry;
+						}
+					};
+				}
+
+				@Override
+				public int size() {
+					var size = 0;
+					for (var value : values) {
+						if (value != null) {
+							size++;
+						}
+					}
+					return size;
+				}
+			};
+		}
+
+		private int nextSeat(int from) {
+			var seat = from;
+			while (seat < values.size() && values.get(seat) == null) {
+				seat++;
+			}
+			return seat;
+		}
 	}
 }
@@ -1,9 +1,11 @@
 package com.jamesdpeters.SequenceGame.game;
 
 import com.jamesdpeters.SequenceGame.player.Player;
+import org.jspecify.annotations.Nullable;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 public interface GameRepository {
@@ -12,7 +14,71 @@ public interface GameRepository {
 
 	Game findByUuid(UUID uuid);
 
+	/**
+	 * Looks up only the version of a game, without loading it.
+	 *
+	 * @return the stored version, or null if the game does not exist
+	 */
+	default Long findVersion(UUID uuid) {
+		var game = findByUuid(uuid);
+		return game != null ? game.getVersion() : null;
+	}
+
+	/**
+	 * Looks up which player of a game holds a private UUID, without loading the game where possible.
+	 *
+	 * @return the player's public UUID, or null if the game does not exist or has no such player
+	 */
+	default @Nullable UUID findPublicPlayerUuid(UUID gameUuid, UUID privateUuid) {
+		var game = findByUuid(gameUuid);
+		return game != null ? game.getPlayerContainer().getPublicUuid(privateUuid) : null;
+	}
+
 	List<Game> findByPlayer(Player player);
 
+	/**
+	 * Reads one page of the games a player has joined, in {@link GameSummary#LISTING_ORDER}.
+	 *
+	 * @param before only games listed after this cursor, that is created before it, or null for the first page
+	 */
+	default List<GameSummary> findSummariesByPlayer(UUID publicUuid, @Nullable GameCursor before, int limit) {
+		return findByPlayer(new Player(publicUuid, null)).stream()
+				.map(GameSummary::from)
+				.filter(summary -> before == null || GameCursor.of(summary).compareTo(before) < 0)
+				.sorted(GameSummary.LISTING_ORDER)
+				.limit(limit)
+				.toList();
+	}
+
 	Collection<Game> findAll();
+
+	/**
+	 * @return how many stored games are in each status, statuses without games may be absent
+	 */
+	Map<Game.Status, Long> countByStatus();
+
+	/**
+	 * Reads one page of game stats in {@link GameStats#LISTING_ORDER}.
+	 *
+	 * @param after only games after this cursor, or null for the first page
+	 */
+	default List<GameStats> findStats(GameStatsFilter filter, @Nullable GameCursor after, int limit) {
+		return findAll().stream()
+				.map(GameStats::from)
+				.filter(filter::matches)
+				.filter(stats -> after == null || GameCursor.of(stats).compareTo(after) > 0)
+				.sorted(GameStats.LISTING_ORDER)
+				.limit(limit)
+				.toList();
+	}
+
+	/**
+	 * Writes the stats of up to {@code limit} stored games that have none yet, such as games saved before
+	 * stats were kept, in game id order. Repositories computing stats on the fly have nothing to backfill.
+	 *
+	 * @param after only games with an id after this one, the previous batch's last game id, or null to start
+	 */
+	default GameStatsBackfillBatch backfillStats(@Nullable UUID after, int limit) {
+		return GameStatsBackfillBatch.EMPTY;
+	}
 }
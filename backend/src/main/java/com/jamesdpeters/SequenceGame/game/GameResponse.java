@@ -12,6 +12,7 @@ import java.util.UUID;
 
 public record GameResponse(
 				UUID uuid,
+				long version,
 				UUID userPublicUuid,
 				int maxPlayerSize,
 				int playerCount,
@@ -28,6 +29,7 @@ public record GameResponse(
 ) {
 	static GameResponse from(@NonNull Game game, @Nullable UUID publicPlayerUuid) {
 		return new GameResponse(game.getUuid(),
+						game.getVersion(),
 						publicPlayerUuid,
 						game.getMaxPlayers(),
 						game.getPlayers().size(),
@@ -35,7 +37,7 @@ public record GameResponse(
 						game.getPlayers(),
 						game.getTeams(),
 						game.getPlayerNames(),
-						game.getHost().publicUuid(),
+						game.getHost() != null ? game.getHost().publicUuid() : null,
 						BoardResponse.from(game.getBoard()),
 						game.getCurrentPlayerTurn(),
 						game.getPlayerHands().get(publicPlayerUuid),
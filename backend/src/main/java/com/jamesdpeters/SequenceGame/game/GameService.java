@@ -2,21 +2,55 @@ package com.jamesdpeters.SequenceGame.game;
 
 import com.jamesdpeters.SequenceGame.game.exceptions.GameAlreadyFullException;
 import com.jamesdpeters.SequenceGame.game.exceptions.GameAlreadyStartedException;
+import com.jamesdpeters.SequenceGame.game.exceptions.GameMoveException;
 import com.jamesdpeters.SequenceGame.game.exceptions.GameNotFoundException;
 import com.jamesdpeters.SequenceGame.game.exceptions.GameNotFullException;
 import com.jamesdpeters.SequenceGame.player.Player;
-import lombok.RequiredArgsConstructor;
 import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import tools.jackson.databind.json.JsonMapper;
 
 import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
+import java.util.function.Consumer;
 
+/**
+ * Commands and reads on games. Every command and read of a game runs in that game's mailbox, and the games
+ * returned are copies taken there, so callers can read them freely while later commands change the stored game.
+ */
 @Service
-@RequiredArgsConstructor
 public class GameService {
 
+	static final int EXPORT_PAGE_SIZE = 500;
+
 	private final GameRepository gameRepository;
+	private final GameMailboxes mailboxes;
+	private final GameMetrics metrics;
+	private final GameSubscriptions subscriptions;
+
+	public GameService(GameRepository gameRepository) {
+		this(gameRepository, new GameMailboxes(), GameMetrics.noop());
+	}
+
+	GameService(GameRepository gameRepository, GameMailboxes mailboxes, GameMetrics metrics) {
+		this(gameRepository, mailboxes, metrics, JsonMapper.shared());
+	}
+
+	/**
+	 * @param mailboxes  shared with {@link CachingGameRepository}, so cache flushes are serialised with commands
+	 * @param jsonMapper renders the state sent to subscribers
+	 */
+	@Autowired
+	GameService(GameRepository gameRepository, GameMailboxes mailboxes, GameMetrics metrics, JsonMapper jsonMapper) {
+		this.gameRepository = gameRepository;
+		this.mailboxes = mailboxes;
+		this.metrics = metrics;
+		this.subscriptions = new GameSubscriptions(jsonMapper);
+		metrics.registerGameGauges(gameRepository);
+	}
 
 	/**
 	 * Creates a new game instance, initialises its default properties,
@@ -25,8 +59,7 @@ public class GameService {
 	 * @return the newly created and saved game instance
 	 */
 	public Game createGame(int maxPlayers) {
-		var game = new Game(maxPlayers);
-		return gameRepository.save(game);
+		return metrics.timeService("createGame", () -> gameRepository.save(new Game(maxPlayers)).copy());
 	}
 
 
@@ -43,18 +76,23 @@ public class GameService {
 	/**
 	 * Starts the given game by updating its status to "IN_PROGRESS"
 	 * and setting its start time to the current timestamp.
+	 * The latest stored state of the game is started, not the passed instance.
 	 *
 	 * @param game the game to be started; must not be null
+	 * @return the started game
 	 */
-	public void startGame(@NonNull Game game) {
-		if (game.getStatus() != Game.Status.NOT_STARTED) {
-			throw new GameAlreadyStartedException(game.getUuid());
-		}
-		if (game.getPlayers().isEmpty() || game.getPlayers().size() < 2) {
-			throw new GameNotFullException(game.getUuid());
-		}
-		game.initialise();
-		gameRepository.save(game);
+	public Game startGame(@NonNull Game game) {
+		return metrics.timeService("startGame", () -> mailboxes.execute(game.getUuid(), () -> {
+			var current = loadGame(game.getUuid());
+			if (current.getStatus() != Game.Status.NOT_STARTED) {
+				throw new GameAlreadyStartedException(current.getUuid());
+			}
+			if (current.getPlayers().isEmpty() || current.getPlayers().size() < 2) {
+				throw new GameNotFullException(current.getUuid());
+			}
+			current.initialise();
+			return publish(gameRepository.save(current)).copy();
+		}));
 	}
 
 	/**
@@ -64,11 +102,31 @@ public class GameService {
 	 * @return the game associated with the specified UUID, or null if no such game exists
 	 */
 	public Game getGame(@NonNull UUID uuid) {
-		var game = gameRepository.findByUuid(uuid);
-		if (game == null) {
+		return metrics.timeService("getGame", () -> mailboxes.execute(uuid, () -> loadGame(uuid).copy()));
+	}
+
+	/**
+	 * Looks up the current version of a game without loading it, for conditional requests.
+	 *
+	 * @throws GameNotFoundException if no game exists with the given UUID
+	 */
+	public long getGameVersion(@NonNull UUID uuid) {
+		var version = metrics.timeService("getGameVersion", () -> gameRepository.findVersion(uuid));
+		if (version == null) {
 			throw new GameNotFoundException(uuid);
 		}
-		return game;
+		return version;
+	}
+
+	/**
+	 * Looks up which player of a game holds a private UUID, without copying the game, to check access before
+	 * answering a conditional request.
+	 *
+	 * @return the player's public UUID, or null if the game does not exist or has no such player
+	 */
+	public @Nullable UUID getPublicPlayerUuid(@NonNull UUID gameUuid, @NonNull UUID playerUuid) {
+		return metrics.timeService("getPublicPlayerUuid",
+				() -> mailboxes.execute(gameUuid, () -> gameRepository.findPublicPlayerUuid(gameUuid, playerUuid)));
 	}
 
 	/**
@@ -97,30 +155,68 @@ public class GameService {
 	 * @return the newly created {@link Player} instance for the game
 	 * @throws GameNotFoundException if no game exists with the given UUID
 	 * @throws GameAlreadyFullException if the game has already reached its maximum number of players
+	 * @throws GameAlreadyStartedException if the game has already started
 	 */
 	public Player joinGame(UUID gameUuid, String playerName) {
-		var game = gameRepository.findByUuid(gameUuid);
-		if (game == null) {
-			throw new GameNotFoundException(gameUuid);
-		}
-		if (game.getPlayers().size() >= game.getMaxPlayers()) {
-			throw new GameAlreadyFullException(gameUuid, game.getMaxPlayers());
-		}
+		return metrics.timeService("joinGame", () -> mailboxes.execute(gameUuid, () -> {
+			var game = loadGame(gameUuid);
+			// Once started every save is one move, which GameChangesResponse relies on.
+			if (game.getStatus() != Game.Status.NOT_STARTED) {
+				throw new GameAlreadyStartedException(gameUuid);
+			}
+			if (game.getPlayers().size() >= game.getMaxPlayers()) {
+				throw new GameAlreadyFullException(gameUuid, game.getMaxPlayers());
+			}
 
-		var resolvedName = resolvePlayerName(game, playerName);
-		var player = new Player(UUID.randomUUID(), UUID.randomUUID(), resolvedName);
-		game.addPlayer(player);
-		gameRepository.save(game);
-		return player;
+			var resolvedName = resolvePlayerName(game, playerName);
+			var player = new Player(UUID.randomUUID(), UUID.randomUUID(), resolvedName);
+			game.addPlayer(player);
+			publish(gameRepository.save(game));
+			return player;
+		}));
 	}
 
+	/**
+	 * Applies a move to a game. Moves, joins, starts and reads of the same game are
+	 * queued and run one at a time, so concurrent requests cannot interleave.
+	 */
 	public Game doPlayerMove(UUID gameUuid, UUID publicPlayerUuid, MoveAction moveAction) {
+		return metrics.timeService("doPlayerMove", () -> mailboxes.execute(gameUuid, () -> {
+			var game = loadGame(gameUuid);
+			try {
+				game.doPlayerMoveAction(publicPlayerUuid, moveAction);
+			} catch (GameMoveException e) {
+				metrics.moveRejected(e.getError());
+				throw e;
+			}
+			return publish(gameRepository.save(game)).copy();
+		}));
+	}
+
+	/**
+	 * Registers {@code listener} to receive the game's state as {@link GameResponse} JSON, first the current
+	 * state and then the new state every time it changes. The listener runs on its own thread, never in the
+	 * game's mailbox, and receives states in order but skips any that changed again before it was ready.
+	 *
+	 * @param publicPlayerUuid the player whose hand is included, or null to include no hand
+	 * @return a callback that removes the listener again
+	 */
+	public Runnable subscribe(UUID gameUuid, @Nullable UUID publicPlayerUuid, Consumer<String> listener) {
+		return metrics.timeService("subscribe", () -> mailboxes.execute(gameUuid,
+				() -> subscriptions.subscribe(loadGame(gameUuid), publicPlayerUuid, listener)));
+	}
+
+	private Game publish(Game game) {
+		subscriptions.publish(game);
+		return game;
+	}
+
+	private Game loadGame(UUID gameUuid) {
 		var game = gameRepository.findByUuid(gameUuid);
 		if (game == null) {
-			throw new GameNotFoundException(publicPlayerUuid);
+			throw new GameNotFoundException(gameUuid);
 		}
-		game.doPlayerMoveAction(publicPlayerUuid, moveAction);
-		return gameRepository.save(game);
+		return game;
 	}
 
 	private static String resolvePlayerName(Game game, String playerName) {
@@ -131,6 +227,42 @@ public class GameService {
 	}
 
 	public Collection<Game> getGames() {
-		return gameRepository.findAll();
+		return metrics.timeService("getGames", gameRepository::findAll);
+	}
+
+	/**
+	 * Reads one page of game stats, ordered by creation date.
+	 *
+	 * @param cursor the {@code nextCursor} of the previous page, or null for the first page
+	 * @throws com.jamesdpeters.SequenceGame.game.exceptions.InvalidCursorException if the cursor is malformed
+	 */
+	public GameStatsPageResponse getGameStats(GameStatsFilter filter, @Nullable String cursor, int limit) {
+		var after = cursor != null ? GameCursor.decode(cursor) : null;
+		return metrics.timeService("getGameStats", () -> {
+			// One extra row tells whether there is a next page, without a count query.
+			var stats = gameRepository.findStats(filter, after, limit + 1);
+			if (stats.size() <= limit) {
+				return new GameStatsPageResponse(stats, null);
+			}
+			var page = stats.subList(0, limit);
+			return new GameStatsPageResponse(page, GameCursor.of(page.getLast()).encode());
+		});
+	}
+
+	/**
+	 * Passes the stats of every game matching {@code filter} to {@code sink}, one page at a time, so only a page
+	 * is ever held in memory.
+	 */
+	public void exportGameStats(GameStatsFilter filter, Consumer<GameStats> sink) {
+		GameCursor after = null;
+		List<GameStats> page;
+		do {
+			var pageAfter = after;
+			page = metrics.timeService("exportGameStats", () -> gameRepository.findStats(filter, pageAfter, EXPORT_PAGE_SIZE));
+			page.forEach(sink);
+			if (!page.isEmpty()) {
+				after = GameCursor.of(page.getLast());
+			}
+		} while (page.size() == EXPORT_PAGE_SIZE);
 	}
 }
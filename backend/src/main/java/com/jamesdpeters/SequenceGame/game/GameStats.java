@@ -0,0 +1,45 @@
+package com.jamesdpeters.SequenceGame.game;
+
+import com.jamesdpeters.SequenceGame.board.ChipColour;
+import org.jspecify.annotations.Nullable;
+
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Summary counters of one game. The database repositories keep these in the narrow {@code game_stats} table,
+ * updated on every save, so listing stats never loads a game.
+ *
+ * @param moves moves played, including dead card discards
+ */
+public record GameStats(
+		UUID gameUuid,
+		Game.Status status,
+		Instant createdDate,
+		@Nullable Instant startedDate,
+		@Nullable ChipColour winner,
+		int moves,
+		Map<ChipColour, Integer> sequences,
+		Map<ChipColour, Integer> chipsPlaced
+) {
+
+	/**
+	 * Oldest game first.
+	 */
+	public static final Comparator<GameStats> LISTING_ORDER = Comparator.comparing(GameCursor::of);
+
+	public static GameStats from(Game game) {
+		return new GameStats(
+				game.getUuid(),
+				game.getStatus(),
+				game.getCreatedDate(),
+				game.getStartedDate(),
+				game.getWinner(),
+				game.getMoveHistory().size(),
+				game.getBoard().getCompletedSequences(),
+				game.getBoard().getChipsPlaced()
+		);
+	}
+}
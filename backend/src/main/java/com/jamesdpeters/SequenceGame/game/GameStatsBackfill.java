@@ -0,0 +1,50 @@
+package com.jamesdpeters.SequenceGame.game;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * Writes stats for games stored before the {@code game_stats} table existed, in small batches once the
+ * application is up. Games saved since then keep their stats current on every save. Batches walk the games
+ * in id order, so a game that cannot be loaded is logged and skipped once, and the backfill ends with the
+ * first batch shorter than the batch size.
+ */
+@Slf4j
+@Component
+public class GameStatsBackfill {
+
+	private static final int BATCH_SIZE = 100;
+
+	private final GameRepository gameRepository;
+	private final int batchSize;
+
+	@Autowired
+	public GameStatsBackfill(GameRepository gameRepository) {
+		this(gameRepository, BATCH_SIZE);
+	}
+
+	GameStatsBackfill(GameRepository gameRepository, int batchSize) {
+		this.gameRepository = gameRepository;
+		this.batchSize = batchSize;
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void backfill() {
+		var total = 0;
+		GameStatsBackfillBatch batch;
+		UUID after = null;
+		do {
+			batch = gameRepository.backfillStats(after, batchSize);
+			total += batch.backfilled();
+			after = batch.lastGameId();
+		} while (batch.examined() == batchSize);
+		if (total > 0) {
+			log.info("Backfilled stats for {} games", total);
+		}
+	}
+}
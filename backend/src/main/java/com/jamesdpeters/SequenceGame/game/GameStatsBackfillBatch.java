@@ -0,0 +1,17 @@
+package com.jamesdpeters.SequenceGame.game;
+
+import org.jspecify.annotations.Nullable;
+
+import java.util.UUID;
+
+/**
+ * One batch of {@link GameRepository#backfillStats}.
+ *
+ * @param examined   how many games without stats the batch read, fewer than the limit on the last batch
+ * @param backfilled how many of them now have stats, games that could not be loaded are skipped
+ * @param lastGameId the highest game id read, where the next batch continues, or null if none was read
+ */
+public record GameStatsBackfillBatch(int examined, int backfilled, @Nullable UUID lastGameId) {
+
+	public static final GameStatsBackfillBatch EMPTY = new GameStatsBackfillBatch(0, 0, null);
+}
@@ -0,0 +1,19 @@
+package com.jamesdpeters.SequenceGame.game;
+
+import org.jspecify.annotations.Nullable;
+
+import java.time.Instant;
+
+/**
+ * Restricts game stats to one status and to games created in {@code [from, to)}. Null fields match everything.
+ */
+public record GameStatsFilter(Game.@Nullable Status status, @Nullable Instant from, @Nullable Instant to) {
+
+	public static final GameStatsFilter ALL = new GameStatsFilter(null, null, null);
+
+	public boolean matches(GameStats stats) {
+		return (status == null || stats.status() == status)
+				&& (from == null || !stats.createdDate().isBefore(from))
+				&& (to == null || stats.createdDate().isBefore(to));
+	}
+}
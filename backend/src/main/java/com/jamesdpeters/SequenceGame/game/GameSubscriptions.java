@@ -0,0 +1,112 @@
+package com.jamesdpeters.SequenceGame.game;
+
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.Nullable;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * Listeners notified with the new state of a game each time it changes, as {@link GameResponse} JSON.
+ * <p>
+ * {@link #publish} runs inside the game's mailbox, so it only renders the state, once per distinct viewer, and
+ * hands it to every listener on the listener's own virtual thread. A slow listener never holds up the game:
+ * while it is still busy only the latest state is kept for it, so it skips straight to the newest state.
+ * A listener that throws is dropped.
+ */
+@Slf4j
+class GameSubscriptions {
+
+	private final JsonMapper jsonMapper;
+	private final Map<UUID, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+	private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+	GameSubscriptions(JsonMapper jsonMapper) {
+		this.jsonMapper = jsonMapper;
+	}
+
+	/**
+	 * @param publicPlayerUuid the player whose hand is included, or null for the spectator view
+	 * @return a callback that removes the listener again
+	 */
+	Runnable subscribe(Game game, @Nullable UUID publicPlayerUuid, Consumer<String> listener) {
+		var gameUuid = game.getUuid();
+		var subscriber = new Subscriber(gameUuid, publicPlayerUuid, listener);
+		subscribers.computeIfAbsent(gameUuid, uuid -> ConcurrentHashMap.newKeySet()).add(subscriber);
+		subscriber.offer(render(game, publicPlayerUuid));
+		return () -> unsubscribe(subscriber);
+	}
+
+	void publish(Game game) {
+		var gameSubscribers = subscribers.get(game.getUuid());
+		if (gameSubscribers == null) {
+			return;
+		}
+		// HashMap allows the null key of the spectator view.
+		var rendered = new HashMap<UUID, String>();
+		for (var subscriber : gameSubscribers) {
+			subscriber.offer(rendered.computeIfAbsent(subscriber.publicPlayerUuid, viewer -> render(game, viewer)));
+		}
+	}
+
+	int subscriberCount(UUID gameUuid) {
+		var gameSubscribers = subscribers.get(gameUuid);
+		return gameSubscribers != null ? gameSubscribers.size() : 0;
+	}
+
+	private String render(Game game, @Nullable UUID publicPlayerUuid) {
+		return jsonMapper.writeValueAsString(GameResponse.from(game, publicPlayerUuid));
+	}
+
+	private void unsubscribe(Subscriber subscriber) {
+		subscribers.computeIfPresent(subscriber.gameUuid, (uuid, gameSubscribers) -> {
+			gameSubscribers.remove(subscriber);
+			return gameSubscribers.isEmpty() ? null : gameSubscribers;
+		});
+	}
+
+	private class Subscriber {
+		private final UUID gameUuid;
+		private final @Nullable UUID publicPlayerUuid;
+		private final Consumer<String> listener;
+		// The newest state not yet delivered. Set means a delivery is scheduled or running.
+		private final AtomicReference<String> pending = new AtomicReference<>();
+
+		private Subscriber(UUID gameUuid, @Nullable UUID publicPlayerUuid, Consumer<String> listener) {
+			this.gameUuid = gameUuid;
+			this.publicPlayerUuid = publicPlayerUuid;
+			this.listener = listener;
+		}
+
+		private void offer(String state) {
+			if (pending.getAndSet(state) == null) {
+				executor.execute(this::deliver);
+			}
+		}
+
+		private void deliver() {
+			String state;
+			while ((state = pending.get()) != null) {
+				try {
+					listener.accept(state);
+				} catch (RuntimeException e) {
+					log.debug("Dropping listener for game {}: {}", gameUuid, e.getMessage());
+					unsubscribe(this);
+					return;
+				}
+				// Fails if a newer state arrived while this one was sent, which is then sent in turn.
+				if (pending.compareAndSet(state, null)) {
+					return;
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,45 @@
+package com.jamesdpeters.SequenceGame.game;
+
+import org.jspecify.annotations.Nullable;
+
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * What a player's game list shows of a game: enough to pick one up again, without its board, deck or hands.
+ *
+ * @param players     public player UUIDs in turn order
+ * @param playerNames keyed by public player UUID
+ */
+public record GameSummary(
+		UUID gameUuid,
+		Game.Status status,
+		Instant createdDate,
+		int maxPlayers,
+		List<UUID> players,
+		Map<UUID, String> playerNames,
+		@Nullable UUID currentPlayerTurn
+) {
+
+	/**
+	 * Newest game first.
+	 */
+	public static final Comparator<GameSummary> LISTING_ORDER = Comparator.comparing((GameSummary summary) -> GameCursor.of(summary))
+			.reversed();
+
+	public static GameSummary from(Game game) {
+		return new GameSummary(
+				game.getUuid(),
+				game.getStatus(),
+				game.getCreatedDate(),
+				game.getMaxPlayers(),
+				List.copyOf(game.getPlayers()),
+				new LinkedHashMap<>(game.getPlayerNames()),
+				game.getCurrentPlayerTurn()
+		);
+	}
+}
@@ -0,0 +1,10 @@
+package com.jamesdpeters.SequenceGame.game;
+
+import org.jspecify.annotations.Nullable;
+
+import java.util.List;
+
+/**
+ * @param nextCursor pass as {@code cursor} to fetch the next page, null on the last page
+ */
+public record GameSummaryPageResponse(List<GameSummary> games, @Nullable String nextCursor) { }
@@ -1,43 +1,352 @@
 package com.jamesdpeters.SequenceGame.game;
 
+import com.jamesdpeters.SequenceGame.game.exceptions.GameVersionConflictException;
 import com.jamesdpeters.SequenceGame.player.Player;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashMap;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
 
+/**
+ * Keeps games in memory only, for the {@code inmemory} profile.
+ * <p>
+ * Games are split across lock-striped shards by UUID, each an access ordered map, so writers to different
+ * shards never contend and every shard knows its least recently used game. A player index maps public player
+ * UUIDs to their games, so {@link #findByPlayer} does not scan.
+ * <p>
+ * Lobbies idle for longer than {@code app.persistence.inmemory.lobby-ttl} and completed games idle for longer
+ * than {@code app.persistence.inmemory.completed-ttl} are dropped every {@code sweep-interval}. A shard over its
+ * share of {@code app.persistence.inmemory.max-size} drops its least recently used lobby or completed game, or
+ * its least recently used game if every game is in progress. Iteration works on snapshots taken shard by shard.
+ */
+@Slf4j
 @Component
 @Profile("inmemory")
 public class InMemoryGameRepository implements GameRepository {
-	private final Map<UUID, Game> games = new HashMap<>();
+
+	private static final int DEFAULT_SHARDS = 64;
+
+	private final Shard[] shards;
+	private final int shardCapacity;
+	private final long lobbyTtlNanos;
+	private final long completedTtlNanos;
+	private final Map<UUID, Set<UUID>> gamesByPlayer = new ConcurrentHashMap<>();
+	private final ScheduledExecutorService sweeper;
+
+	/**
+	 * An unbounded repository that never expires games, for tests and services built outside of Spring.
+	 */
+	public InMemoryGameRepository() {
+		this(DEFAULT_SHARDS, Integer.MAX_VALUE, Duration.ZERO, Duration.ZERO, Duration.ZERO);
+	}
+
+	@Autowired
+	public InMemoryGameRepository(
+			@Value("${app.persistence.inmemory.max-size:100000}") int maxSize,
+			@Value("${app.persistence.inmemory.lobby-ttl:30m}") Duration lobbyTtl,
+			@Value("${app.persistence.inmemory.completed-ttl:10m}") Duration completedTtl,
+			@Value("${app.persistence.inmemory.sweep-interval:1m}") Duration sweepInterval
+	) {
+		this(DEFAULT_SHARDS, maxSize, lobbyTtl, completedTtl, sweepInterval);
+	}
+
+	/**
+	 * @param maxSize      shared evenly between the shards
+	 * @param lobbyTtl     idle time before a {@link Game.Status#NOT_STARTED} game is dropped, never if not positive
+	 * @param completedTtl idle time before a {@link Game.Status#COMPLETED} game is dropped, never if not positive
+	 * @param sweepInterval time between expiry sweeps, none are scheduled if not positive
+	 */
+	InMemoryGameRepository(int shards, int maxSize, Duration lobbyTtl, Duration completedTtl, Duration sweepInterval) {
+		this.shards = new Shard[shards];
+		for (int i = 0; i < shards; i++) {
+			this.shards[i] = new Shard();
+		}
+		this.shardCapacity = Math.max(1, (int) Math.ceilDiv((long) Math.max(0, maxSize), shards));
+		this.lobbyTtlNanos = lobbyTtl.toNanos();
+		this.completedTtlNanos = completedTtl.toNanos();
+		if (sweepInterval.isPositive() && (lobbyTtl.isPositive() || completedTtl.isPositive())) {
+			sweeper = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("game-expiry").daemon().factory());
+			var intervalMillis = Math.max(1, sweepInterval.toMillis());
+			sweeper.scheduleWithFixedDelay(this::sweep, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+		} else {
+			sweeper = null;
+		}
+	}
 
 	@Override
 	public Game save(Game game) {
-		games.put(game.getUuid(), game);
-		return findByUuid(game.getUuid());
+		var uuid = game.getUuid();
+		var evicted = shard(uuid).put(game);
+		for (var player : game.getPlayers()) {
+			gamesByPlayer.compute(player, (key, games) -> {
+				var indexed = games != null ? games : ConcurrentHashMap.<UUID>newKeySet();
+				indexed.add(uuid);
+				return indexed;
+			});
+		}
+		if (evicted != null) {
+			unindex(evicted);
+		}
+		return game;
 	}
 
 	@Override
 	public Game findByUuid(UUID uuid) {
-		return games.get(uuid);
+		return shard(uuid).get(uuid);
 	}
 
 	@Override
 	public List<Game> findByPlayer(Player player) {
-		return games.values().stream()
-						.filter(game -> game.getPlayers()
-										.stream()
-										.anyMatch(p -> p.equals(player.publicUuid())))
-						.toList();
-
+		var gameUuids = gamesByPlayer.get(player.publicUuid());
+		if (gameUuids == null) {
+			return List.of();
+		}
+		var games = new ArrayList<Game>(gameUuids.size());
+		for (var uuid : gameUuids) {
+			var game = findByUuid(uuid);
+			if (game != null) {
+				games.add(game);
+			}
+		}
+		return games;
 	}
 
+	/**
+	 * @return a snapshot of every stored game, unaffected by later saves and evictions
+	 */
 	@Override
 	public Collection<Game> findAll() {
-		return games.values();
+		var games = new ArrayList<Game>();
+		for (var shard : shards) {
+			shard.copyTo(games);
+		}
+		return games;
+	}
+
+	@Override
+	public Map<Game.Status, Long> countByStatus() {
+		var counts = new EnumMap<Game.Status, Long>(Game.Status.class);
+		for (var shard : shards) {
+			shard.countTo(counts);
+		}
+		return counts;
+	}
+
+	/**
+	 * Drops every lobby and completed game idle for longer than its TTL.
+	 */
+	void sweep() {
+		try {
+			var now = System.nanoTime();
+			var expired = 0;
+			for (var shard : shards) {
+				for (var game : shard.expire(now)) {
+					unindex(game);
+					expired++;
+				}
+			}
+			if (expired > 0) {
+				log.debug("Expired {} idle games", expired);
+			}
+		} catch (RuntimeException e) {
+			log.error("Game expiry sweep failed", e);
+		}
+	}
+
+	int size() {
+		var size = 0;
+		for (var shard : shards) {
+			size += shard.size();
+		}
+		return size;
+	}
+
+	@PreDestroy
+	void close() {
+		if (sweeper != null) {
+			sweeper.shutdownNow();
+		}
+	}
+
+	private Shard shard(UUID uuid) {
+		// UUID.hashCode folds both halves, the spread mixes its high bits into the low bits used for the index.
+		var hash = uuid.hashCode();
+		return shards[Math.floorMod(hash ^ (hash >>> 16), shards.length)];
+	}
+
+	private void unindex(Game game) {
+		var uuid = game.getUuid();
+		for (var player : game.getPlayers()) {
+			gamesByPlayer.computeIfPresent(player, (key, games) -> {
+				games.remove(uuid);
+				return games.isEmpty() ? null : games;
+			});
+		}
+	}
+
+	private long ttlNanos(Game.Status status) {
+		return switch (status) {
+			case NOT_STARTED -> lobbyTtlNanos;
+			case COMPLETED -> completedTtlNanos;
+			case IN_PROGRESS -> 0;
+		};
+	}
+
+	private static boolean expires(Game.Status status) {
+		return status != Game.Status.IN_PROGRESS;
+	}
+
+	private class Shard {
+		private final ReentrantLock lock = new ReentrantLock();
+		// Access ordered, so iteration runs from the least to the most recently used game.
+		private final LinkedHashMap<UUID, Entry> games = new LinkedHashMap<>(16, 0.75f, true);
+
+		/**
+		 * @return the game evicted to stay within capacity, or null
+		 */
+		private Game put(Game game) {
+			lock.lock();
+			try {
+				var uuid = game.getUuid();
+				var stored = games.get(uuid);
+				if (stored == null) {
+					games.put(uuid, new Entry(game));
+					return games.size() > shardCapacity ? evictLeastRecentlyUsed(uuid) : null;
+				}
+				if (stored.game != game && stored.game.getVersion() != game.getVersion()) {
+					throw new GameVersionConflictException(uuid, game.getVersion());
+				}
+				game.setVersion(game.getVersion() + 1);
+				stored.game = game;
+				stored.lastAccess = System.nanoTime();
+				return null;
+			} finally {
+				lock.unlock();
+			}
+		}
+
+		private Game get(UUID uuid) {
+			lock.lock();
+			try {
+				var entry = games.get(uuid);
+				if (entry == null) {
+					return null;
+				}
+				entry.lastAccess = System.nanoTime();
+				return entry.game;
+			} finally {
+				lock.unlock();
+			}
+		}
+
+		/**
+		 * @param kept the game just added, which is the most recently used and never the victim, even if it is
+		 *             the only lobby in a shard of games in progress
+		 */
+		private Game evictLeastRecentlyUsed(UUID kept) {
+			Map.Entry<UUID, Entry> victim = null;
+			for (var entry : games.entrySet()) {
+				if (entry.getKey().equals(kept)) {
+					continue;
+				}
+				if (victim == null) {
+					victim = entry;
+				}
+				if (expires(entry.getValue().game.getStatus())) {
+					victim = entry;
+					break;
+				}
+			}
+			if (victim == null) {
+				return null;
+			}
+			games.remove(victim.getKey());
+			return victim.getValue().game;
+		}
+
+		private List<Game> expire(long now) {
+			var expired = new ArrayList<Game>();
+			lock.lock();
+			try {
+				var iterator = games.values().iterator();
+				while (iterator.hasNext()) {
+					var entry = iterator.next();
+					var idle = now - entry.lastAccess;
+					if (idle <= Math.min(positiveOrMax(lobbyTtlNanos), positiveOrMax(completedTtlNanos))) {
+						// Every later game was used more recently, so none of them has expired either.
+						break;
+					}
+					var ttl = ttlNanos(entry.game.getStatus());
+					if (ttl > 0 && idle > ttl) {
+						iterator.remove();
+						expired.add(entry.game);
+					}
+				}
+			} finally {
+				lock.unlock();
+			}
+			return expired;
+		}
+
+		private void copyTo(List<Game> target) {
+			lock.lock();
+			try {
+				for (var entry : games.values()) {
+					target.add(entry.game);
+				}
+			} finally {
+				lock.unlock();
+			}
+		}
+
+		private void countTo(Map<Game.Status, Long> counts) {
+			lock.lock();
+			try {
+				for (var entry : games.values()) {
+					counts.merge(entry.game.getStatus(), 1L, Long::sum);
+				}
+			} finally {
+				lock.unlock();
+			}
+		}
+
+		private int size() {
+			lock.lock();
+			try {
+				return games.size();
+			} finally {
+				lock.unlock();
+			}
+		}
+	}
+
+	private static long positiveOrMax(long nanos) {
+		return nanos > 0 ? nanos : Long.MAX_VALUE;
+	}
+
+	private static class Entry {
+		private Game game;
+		private long lastAccess = System.nanoTime();
+
+		private Entry(Game game) {
+			this.game = game;
+		}
 	}
 }
@@ -0,0 +1,113 @@
+package com.jamesdpeters.SequenceGame.game;
+
+import com.jamesdpeters.SequenceGame.board.CellMask;
+import com.jamesdpeters.SequenceGame.card.Card;
+import lombok.RequiredArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Lists the moves available to a player of a {@link Game}.
+ * <p>
+ * The open cells, removable opponent chips and open cells per card are bitboards that
+ * {@link com.jamesdpeters.SequenceGame.board.Board#setChip} keeps up to date, so every query costs a few mask
+ * operations per card in hand rather than a scan of the board.
+ * <p>
+ * Action masks use the layout {@code handIndex * cellCount + cellIndex}, where the cell index is the row-major
+ * {@link com.jamesdpeters.SequenceGame.board.Board#getCellIndex(int, int)}.
+ */
+@RequiredArgsConstructor
+public class LegalMoveGenerator {
+
+	private final Game game;
+
+	/**
+	 * @return the cells {@code card} may be played on by the given player, including dead-card discards
+	 */
+	public CellMask getTargets(UUID publicPlayerUuid, Card card) {
+		return getTargets(publicPlayerUuid, card, !game.isDeadCardDiscardedThisTurn());
+	}
+
+	/**
+	 * @return whether the player holds any card that places or removes a chip, ignoring dead-card discards
+	 */
+	public boolean hasPlayableMove(UUID publicPlayerUuid) {
+		var hand = game.getPlayerContainer().getCards(publicPlayerUuid);
+		if (hand == null || hand.isEmpty() || game.getPlayerContainer().getTeam(publicPlayerUuid) == null) {
+			return false;
+		}
+		for (var card : hand) {
+			if (!getTargets(publicPlayerUuid, card, false).isEmpty()) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * @return every legal move for the player, or an empty list when it is not their turn
+	 */
+	public List<MoveAction> getLegalMoves(UUID publicPlayerUuid) {
+		var moves = new ArrayList<MoveAction>();
+		var hand = getActiveHand(publicPlayerUuid);
+		var board = game.getBoard();
+		for (int slot = 0; slot < hand.size(); slot++) {
+			var card = hand.get(slot);
+			if (hand.indexOf(card) < slot) {
+				continue;
+			}
+			var targets = getTargets(publicPlayerUuid, card);
+			for (int cell = targets.nextCell(0); cell >= 0; cell = targets.nextCell(cell + 1)) {
+				moves.add(new MoveAction(board.getCellRow(cell), board.getCellColumn(cell), card));
+			}
+		}
+		return moves;
+	}
+
+	/**
+	 * @return a mask of {@code hand.size() * cellCount} entries, true where playing that hand slot on that cell
+	 * is legal. All false when it is not the player's turn.
+	 */
+	public boolean[] getActionMask(UUID publicPlayerUuid) {
+		var hand = game.getPlayerContainer().getCards(publicPlayerUuid);
+		var cellCount = game.getBoard().getCellCount();
+		var mask = new boolean[hand == null ? 0 : hand.size() * cellCount];
+		var activeHand = getActiveHand(publicPlayerUuid);
+		for (int slot = 0; slot < activeHand.size(); slot++) {
+			var targets = getTargets(publicPlayerUuid, activeHand.get(slot));
+			for (int cell = targets.nextCell(0); cell >= 0; cell = targets.nextCell(cell + 1)) {
+				mask[slot * cellCount + cell] = true;
+			}
+		}
+		return mask;
+	}
+
+	private List<Card> getActiveHand(UUID publicPlayerUuid) {
+		var hand = game.getPlayerContainer().getCards(publicPlayerUuid);
+		if (hand == null
+				|| game.getStatus() != Game.Status.IN_PROGRESS
+				|| !game.getPlayerContainer().isCurrentPlayerTurn(publicPlayerUuid)) {
+			return List.of();
+		}
+		return hand;
+	}
+
+	private CellMask getTargets(UUID publicPlayerUuid, Card card, boolean allowDeadCardDiscard) {
+		var board = game.getBoard();
+		var team = game.getPlayerContainer().getTeam(publicPlayerUuid);
+		if (card.isOneEyedJack()) {
+			return team == null ? CellMask.EMPTY : board.getRemovableCells(team);
+		}
+		if (card.isTwoEyedJack()) {
+			return board.getOpenCells();
+		}
+		var open = board.getOpenCells(card);
+		if (open.isEmpty() && allowDeadCardDiscard) {
+			// Dead card: it may be discarded by playing it against any open space.
+			return board.getOpenCells();
+		}
+		return open;
+	}
+}
@@ -0,0 +1,24 @@
+package com.jamesdpeters.SequenceGame.game;
+
+import com.jamesdpeters.SequenceGame.card.Card;
+
+import java.util.List;
+import java.util.UUID;
+
+public record LegalMovesResponse(
+				UUID currentPlayerTurn,
+				List<Card> hand,
+				int cellCount,
+				List<MoveAction> moves,
+				boolean[] actionMask
+) {
+	static LegalMovesResponse from(Game game, UUID publicPlayerUuid) {
+		var generator = game.getLegalMoveGenerator();
+		return new LegalMovesResponse(
+						game.getCurrentPlayerTurn(),
+						game.getPlayerHands().get(publicPlayerUuid),
+						game.getBoard().getCellCount(),
+						generator.getLegalMoves(publicPlayerUuid),
+						generator.getActionMask(publicPlayerUuid));
+	}
+}
@@ -0,0 +1,9 @@
+package com.jamesdpeters.SequenceGame.game;
+
+import com.jamesdpeters.SequenceGame.card.Card;
+
+/**
+ * The card a move drew from the deck, and whether the discard pile had to be shuffled back in to draw it.
+ */
+public record MoveDraw(Card card, boolean reshuffled) {
+}
@@ -0,0 +1,33 @@
+package com.jamesdpeters.SequenceGame.game;
+
+import com.jamesdpeters.SequenceGame.board.CellMask;
+import com.jamesdpeters.SequenceGame.board.ChipColour;
+import com.jamesdpeters.SequenceGame.card.Card;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * What {@link Game#makeMove} changed, so {@link Game#unmakeMove} can put it back exactly.
+ *
+ * @param player                    the player who moved, whose turn it was
+ * @param previousChip              the chip on the target cell before the move
+ * @param sequenceCells             the board's sequence cells before the move
+ * @param completedSequences        the mover's completed sequences before the move
+ * @param handIndex                 where the played card sat in the mover's hand
+ * @param draw                      the card drawn, or null if the move won the game
+ * @param discardPile               the discard pile before a reshuffle, or null if the move did not reshuffle
+ * @param deadCardDiscardedThisTurn the game's flag before the move
+ */
+public record MoveUndo(
+		UUID player,
+		MoveAction action,
+		ChipColour previousChip,
+		CellMask sequenceCells,
+		int completedSequences,
+		int handIndex,
+		MoveDraw draw,
+		List<Card> discardPile,
+		boolean deadCardDiscardedThisTurn
+) {
+}
@@ -0,0 +1,18 @@
+package com.jamesdpeters.SequenceGame.game.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.web.ErrorResponseException;
+
+import java.util.UUID;
+
+public class GameVersionConflictException extends ErrorResponseException {
+	public GameVersionConflictException(UUID uuid, long expectedVersion) {
+		ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(HttpStatus.CONFLICT,
+				"Game " + uuid + " was changed by another request since version " + expectedVersion);
+		problemDetail.setTitle("Game version conflict");
+		problemDetail.setProperty("gameUuid", uuid);
+		problemDetail.setProperty("expectedVersion", expectedVersion);
+		super(HttpStatus.CONFLICT, problemDetail, null);
+	}
+}
@@ -0,0 +1,17 @@
+package com.jamesdpeters.SequenceGame.game.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.web.ErrorResponseException;
+
+import java.util.Map;
+
+public class InvalidCursorException extends ErrorResponseException {
+	public InvalidCursorException(String cursor) {
+		var problemDetail = ProblemDetail.forStatusAndDetail(HttpStatus.BAD_REQUEST, "Invalid cursor: " + cursor);
+		problemDetail.setTitle("Invalid cursor");
+		problemDetail.setProperties(Map.of("cursor", cursor));
+
+		super(HttpStatus.BAD_REQUEST, problemDetail, null);
+	}
+}
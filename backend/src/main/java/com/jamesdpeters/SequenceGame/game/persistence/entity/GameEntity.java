@@ -10,6 +10,7 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.Id;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.Getter;
 import lombok.Setter;
 import org.hibernate.annotations.JdbcType;
@@ -68,6 +69,14 @@ public class GameEntity {
 	@JdbcTypeCode(SqlTypes.UUID)
 	private UUID hostPlayerPublicUuid;
 
+	@Version
+	@Column(name = "version", nullable = false)
+	private long version;
+
+	@Column(name = "updated_date", nullable = false)
+	@JdbcTypeCode(SqlTypes.TIMESTAMP_WITH_TIMEZONE)
+	private Instant updatedDate;
+
 	@OneToMany(mappedBy = "game", cascade = CascadeType.ALL, orphanRemoval = true)
 	private List<GamePlayerEntity> players = new ArrayList<>();
 
@@ -63,4 +63,15 @@ public class GameMoveEntity {
 
 	@Column(name = "card_value", nullable = false)
 	private int cardValue;
+
+	@JdbcType(PostgreSQLEnumJdbcType.class)
+	@Enumerated(EnumType.STRING)
+	@Column(name = "drawn_card_suit", length = 16, columnDefinition = "card_suit")
+	private Card.Suit drawnCardSuit;
+
+	@Column(name = "drawn_card_value")
+	private Integer drawnCardValue;
+
+	@Column(name = "reshuffled", nullable = false)
+	private boolean reshuffled;
 }
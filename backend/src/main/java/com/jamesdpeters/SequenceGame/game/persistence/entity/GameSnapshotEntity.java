@@ -0,0 +1,53 @@
+package com.jamesdpeters.SequenceGame.game.persistence.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.Getter;
+import lombok.Setter;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.Instant;
+
+/**
+ * Encoded game state after the first {@code moveCount} moves, written by the event-sourced repository.
+ */
+@Entity
+@Table(
+		name = "game_snapshot",
+		uniqueConstraints = {
+				@UniqueConstraint(name = "uk_game_snapshot_move_count", columnNames = {"game_id", "move_count"})
+		}
+)
+@Getter
+@Setter
+public class GameSnapshotEntity {
+
+	@Id
+	@SequenceGenerator(name = "game_snapshot_seq_gen", sequenceName = "game_snapshot_seq", allocationSize = 50)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "game_snapshot_seq_gen")
+	private Long id;
+
+	@ManyToOne(fetch = FetchType.LAZY, optional = false)
+	@JoinColumn(name = "game_id", nullable = false)
+	private GameEntity game;
+
+	@Column(name = "move_count", nullable = false)
+	private int moveCount;
+
+	@Column(name = "created_date", nullable = false)
+	@JdbcTypeCode(SqlTypes.TIMESTAMP_WITH_TIMEZONE)
+	private Instant createdDate;
+
+	@Column(name = "state", nullable = false)
+	private byte[] state;
+}
@@ -0,0 +1,73 @@
+package com.jamesdpeters.SequenceGame.game.persistence.entity;
+
+import com.jamesdpeters.SequenceGame.board.ChipColour;
+import com.jamesdpeters.SequenceGame.game.Game;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.Setter;
+import org.hibernate.annotations.JdbcType;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.dialect.type.PostgreSQLEnumJdbcType;
+import org.hibernate.type.SqlTypes;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * One row of summary counters per game, written with an upsert on every save. Read only through JPA.
+ */
+@Entity
+@Table(name = "game_stats")
+@Getter
+@Setter
+public class GameStatsEntity {
+
+	@Id
+	@Column(name = "game_id", nullable = false, updatable = false)
+	@JdbcTypeCode(SqlTypes.UUID)
+	private UUID gameId;
+
+	@JdbcType(PostgreSQLEnumJdbcType.class)
+	@Enumerated(EnumType.STRING)
+	@Column(name = "status", nullable = false, length = 32, columnDefinition = "game_status")
+	private Game.Status status;
+
+	@Column(name = "created_date", nullable = false)
+	@JdbcTypeCode(SqlTypes.TIMESTAMP_WITH_TIMEZONE)
+	private Instant createdDate;
+
+	@Column(name = "started_date")
+	@JdbcTypeCode(SqlTypes.TIMESTAMP_WITH_TIMEZONE)
+	private Instant startedDate;
+
+	@JdbcType(PostgreSQLEnumJdbcType.class)
+	@Enumerated(EnumType.STRING)
+	@Column(name = "winner", length = 16, columnDefinition = "chip_colour")
+	private ChipColour winner;
+
+	@Column(name = "moves", nullable = false)
+	private int moves;
+
+	@Column(name = "red_sequences", nullable = false)
+	private int redSequences;
+
+	@Column(name = "blue_sequences", nullable = false)
+	private int blueSequences;
+
+	@Column(name = "green_sequences", nullable = false)
+	private int greenSequences;
+
+	@Column(name = "red_chips", nullable = false)
+	private int redChips;
+
+	@Column(name = "blue_chips", nullable = false)
+	private int blueChips;
+
+	@Column(name = "green_chips", nullable = false)
+	private int greenChips;
+}
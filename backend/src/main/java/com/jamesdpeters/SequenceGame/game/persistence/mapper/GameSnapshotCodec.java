@@ -0,0 +1,164 @@
+package com.jamesdpeters.SequenceGame.game.persistence.mapper;
+
+import com.jamesdpeters.SequenceGame.board.Board;
+import com.jamesdpeters.SequenceGame.board.ChipColour;
+import com.jamesdpeters.SequenceGame.card.Card;
+import com.jamesdpeters.SequenceGame.card.Deck;
+import com.jamesdpeters.SequenceGame.game.Game;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Compact binary encoding of the mutable state of a {@link Game}: board chips, deck, hands, turn counts and
+ * turn state. Players, teams and game settings are not included, they stay on the game and player rows.
+ * <p>
+ * Cards are stored as a single byte, their {@link Card#id()}, and each board cell as one byte
+ * holding the chip colour and sequence flag. A two player game snapshot is roughly 250 bytes.
+ */
+public final class GameSnapshotCodec {
+
+	private static final int VERSION = 1;
+	private static final int SEQUENCE_FLAG = 0x10;
+	private static final ChipColour[] COLOURS = ChipColour.values();
+	private static final Game.Status[] STATUSES = Game.Status.values();
+
+	private GameSnapshotCodec() {
+	}
+
+	public record Snapshot(
+			Game.Status status,
+			ChipColour winner,
+			boolean deadCardDiscardedThisTurn,
+			UUID currentPlayerTurn,
+			Board board,
+			Deck deck,
+			Map<UUID, List<Card>> playerHands,
+			Map<UUID, Integer> amountOfTurns
+	) { }
+
+	public static byte[] encode(Game game) {
+		var bytes = new ByteArrayOutputStream(256);
+		try (var out = new DataOutputStream(bytes)) {
+			out.writeByte(VERSION);
+			out.writeByte(game.getStatus().ordinal());
+			out.writeByte(game.getWinner() != null ? game.getWinner().ordinal() : -1);
+			out.writeBoolean(game.isDeadCardDiscardedThisTurn());
+			writeUuid(out, game.getCurrentPlayerTurn());
+
+			var board = game.getBoard();
+			out.writeShort(board.getCellCount());
+			for (int cell = 0; cell < board.getCellCount(); cell++) {
+				var row = board.getCellRow(cell);
+				var column = board.getCellColumn(cell);
+				var chip = board.getChip(row, column);
+				var value = chip != null ? chip.ordinal() + 1 : 0;
+				out.writeByte(board.isPartOfSequence(row, column) ? value | SEQUENCE_FLAG : value);
+			}
+
+			writeCards(out, game.getDeck());
+			writeCards(out, game.getDeck().getDiscardPile());
+
+			var hands = game.getPlayerHands();
+			out.writeByte(hands.size());
+			for (var hand : hands.entrySet()) {
+				writeUuid(out, hand.getKey());
+				writeCards(out, hand.getValue() != null ? hand.getValue() : List.of());
+			}
+
+			var turns = game.getAmountOfTurns();
+			out.writeByte(turns.size());
+			for (var turn : turns.entrySet()) {
+				writeUuid(out, turn.getKey());
+				out.writeInt(turn.getValue());
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return bytes.toByteArray();
+	}
+
+	public static Snapshot decode(byte[] state) {
+		try (var in = new DataInputStream(new ByteArrayInputStream(state))) {
+			var version = in.readUnsignedByte();
+			if (version != VERSION) {
+				throw new IllegalStateException("Unsupported game snapshot version " + version);
+			}
+			var status = STATUSES[in.readUnsignedByte()];
+			var winnerOrdinal = in.readByte();
+			var winner = winnerOrdinal >= 0 ? COLOURS[winnerOrdinal] : null;
+			var deadCardDiscardedThisTurn = in.readBoolean();
+			var currentPlayerTurn = readUuid(in);
+
+			var board = new Board();
+			var cells = in.readUnsignedShort();
+			if (cells != board.getCellCount()) {
+				throw new IllegalStateException("Snapshot has " + cells + " board spaces, expected " + board.getCellCount());
+			}
+			for (int cell = 0; cell < cells; cell++) {
+				var value = in.readUnsignedByte();
+				var chip = value & ~SEQUENCE_FLAG;
+				board.setChip(board.getCellRow(cell), board.getCellColumn(cell), chip > 0 ? COLOURS[chip - 1] : null);
+				board.setPartOfSequence(board.getCellRow(cell), board.getCellColumn(cell), (value & SEQUENCE_FLAG) != 0);
+			}
+
+			var drawPile = readCards(in);
+			var discardPile = readCards(in);
+			var deck = new Deck(drawPile, discardPile);
+
+			var playerHands = new HashMap<UUID, List<Card>>();
+			var handCount = in.readUnsignedByte();
+			for (int i = 0; i < handCount; i++) {
+				playerHands.put(readUuid(in), readCards(in));
+			}
+
+			var amountOfTurns = new HashMap<UUID, Integer>();
+			var turnCount = in.readUnsignedByte();
+			for (int i = 0; i < turnCount; i++) {
+				amountOfTurns.put(readUuid(in), in.readInt());
+			}
+
+			return new Snapshot(status, winner, deadCardDiscardedThisTurn, currentPlayerTurn, board, deck, playerHands, amountOfTurns);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private static void writeCards(DataOutputStream out, Collection<Card> cards) throws IOException {
+		out.writeShort(cards.size());
+		for (var card : cards) {
+			out.writeByte(card.id());
+		}
+	}
+
+	private static List<Card> readCards(DataInputStream in) throws IOException {
+		var size = in.readUnsignedShort();
+		var cards = new ArrayList<Card>(size);
+		for (int i = 0; i < size; i++) {
+			cards.add(Card.of(in.readUnsignedByte()));
+		}
+		return cards;
+	}
+
+	private static void writeUuid(DataOutputStream out, UUID uuid) throws IOException {
+		out.writeBoolean(uuid != null);
+		if (uuid != null) {
+			out.writeLong(uuid.getMostSignificantBits());
+			out.writeLong(uuid.getLeastSignificantBits());
+		}
+	}
+
+	private static UUID readUuid(DataInputStream in) throws IOException {
+		return in.readBoolean() ? new UUID(in.readLong(), in.readLong()) : null;
+	}
+}
@@ -6,12 +6,14 @@ import com.jamesdpeters.SequenceGame.card.Deck;
 import com.jamesdpeters.SequenceGame.game.Game;
 import com.jamesdpeters.SequenceGame.game.GamePlayerContainer;
 import com.jamesdpeters.SequenceGame.game.MoveAction;
+import com.jamesdpeters.SequenceGame.game.MoveDraw;
 import com.jamesdpeters.SequenceGame.game.persistence.entity.DeckPile;
 import com.jamesdpeters.SequenceGame.game.persistence.entity.GameDeckCardEntity;
 import com.jamesdpeters.SequenceGame.game.persistence.entity.GameEntity;
 import com.jamesdpeters.SequenceGame.game.persistence.entity.GameMoveEntity;
 import com.jamesdpeters.SequenceGame.game.persistence.entity.GamePlayerEntity;
 import com.jamesdpeters.SequenceGame.game.persistence.entity.GamePlayerHandCardEntity;
+import com.jamesdpeters.SequenceGame.game.persistence.entity.GameSnapshotEntity;
 import com.jamesdpeters.SequenceGame.player.Player;
 import org.apache.commons.lang3.tuple.Pair;
 import org.springframework.stereotype.Service;
@@ -47,10 +49,74 @@ public class GameToDomainMapper {
 				entity.getWinner(),
 				entity.getWinningSequenceLength(),
 				entity.isDeadCardDiscardedThisTurn(),
-				entity.getStatus()
+				entity.getStatus(),
+				entity.getVersion()
 		);
 	}
 
+	/**
+	 * Rebuilds a game persisted as an event log: state is restored from {@code snapshot}, or a fresh board
+	 * and deck if there is none yet, then every move in {@code moves} from the snapshot onwards is replayed.
+	 *
+	 * @param snapshot the latest snapshot at or before the last of {@code moves}, may be null
+	 * @param moves    the game's moves in order, up to the point in time to rebuild
+	 */
+	public Game toDomain(GameEntity entity, GameSnapshotEntity snapshot, List<GameMoveEntity> moves) {
+		var playerContainer = mapPlayerContainer(entity);
+		validateHost(entity, playerContainer);
+
+		var snapshotMoves = snapshot != null ? snapshot.getMoveCount() : 0;
+		var moveHistory = new ArrayList<Pair<UUID, MoveAction>>();
+		moves.subList(0, snapshotMoves).forEach(moveEntity -> moveHistory.add(mapMove(moveEntity)));
+
+		Game game;
+		if (snapshot == null) {
+			game = Game.rehydrate(
+					entity.getId(),
+					entity.getCreatedDate(),
+					new Deck(),
+					new Board(),
+					playerContainer,
+					new HashMap<>(),
+					moveHistory,
+					entity.getMaxPlayers(),
+					entity.getStartedDate(),
+					entity.getWinner(),
+					entity.getWinningSequenceLength(),
+					entity.isDeadCardDiscardedThisTurn(),
+					entity.getStatus(),
+					entity.getVersion()
+			);
+		} else {
+			var state = GameSnapshotCodec.decode(snapshot.getState());
+			state.playerHands().forEach(playerContainer::setCards);
+			playerContainer.setCurrentPlayerTurn(state.currentPlayerTurn());
+			game = Game.rehydrate(
+					entity.getId(),
+					entity.getCreatedDate(),
+					state.deck(),
+					state.board(),
+					playerContainer,
+					state.amountOfTurns(),
+					moveHistory,
+					entity.getMaxPlayers(),
+					entity.getStartedDate(),
+					state.winner(),
+					entity.getWinningSequenceLength(),
+					state.deadCardDiscardedThisTurn(),
+					state.status(),
+					entity.getVersion()
+			);
+		}
+
+		for (var moveEntity : moves.subList(snapshotMoves, moves.size())) {
+			var move = mapMove(moveEntity);
+			var draw = game.replayMove(move.getLeft(), move.getRight());
+			validateDraw(moveEntity, draw);
+		}
+		return game;
+	}
+
 	private static GamePlayerContainer mapPlayerContainer(GameEntity entity) {
 		var playerContainer = new GamePlayerContainer();
 		var players = entity.getPlayers()
@@ -77,7 +143,7 @@ public class GameToDomainMapper {
 		return playerEntity.getHandCards()
 				.stream()
 				.sorted(Comparator.comparingInt(GamePlayerHandCardEntity::getCardOrder))
-				.map(handCard -> new Card(handCard.getCardSuit(), handCard.getCardValue()))
+				.map(handCard -> Card.of(handCard.getCardSuit(), handCard.getCardValue()))
 				.collect(java.util.stream.Collectors.toCollection(ArrayList::new));
 	}
 
@@ -85,8 +151,7 @@ public class GameToDomainMapper {
 		var board = new Board();
 		entity.getBoardSpaces().forEach(boardSpace -> {
 			board.setChip(boardSpace.getRowIndex(), boardSpace.getColumnIndex(), boardSpace.getChipColour());
-			board.getSpace(boardSpace.getRowIndex(), boardSpace.getColumnIndex())
-					.setPartOfSequence(boardSpace.isPartOfSequence());
+			board.setPartOfSequence(boardSpace.getRowIndex(), boardSpace.getColumnIndex(), boardSpace.isPartOfSequence());
 		});
 		return board;
 	}
@@ -95,14 +160,15 @@ public class GameToDomainMapper {
 		var drawPile = entity.getDeckCards()
 				.stream()
 				.filter(deckCard -> deckCard.getPile() == DeckPile.DRAW)
-				.sorted(Comparator.comparingInt(GameDeckCardEntity::getCardOrder))
-				.map(deckCard -> new Card(deckCard.getCardSuit(), deckCard.getCardValue()))
+				// The draw pile is stored bottom-up, so the highest order is the next card drawn.
+				.sorted(Comparator.comparingInt(GameDeckCardEntity::getCardOrder).reversed())
+				.map(deckCard -> Card.of(deckCard.getCardSuit(), deckCard.getCardValue()))
 				.toList();
 		var discardPile = entity.getDeckCards()
 				.stream()
 				.filter(deckCard -> deckCard.getPile() == DeckPile.DISCARD)
 				.sorted(Comparator.comparingInt(GameDeckCardEntity::getCardOrder))
-				.map(deckCard -> new Card(deckCard.getCardSuit(), deckCard.getCardValue()))
+				.map(deckCard -> Card.of(deckCard.getCardSuit(), deckCard.getCardValue()))
 				.toList();
 		return new Deck(drawPile, discardPile);
 	}
@@ -112,17 +178,36 @@ public class GameToDomainMapper {
 		entity.getMoveHistory()
 				.stream()
 				.sorted(Comparator.comparingInt(GameMoveEntity::getMoveOrder))
-				.forEach(moveEntity -> moveHistory.add(Pair.of(
-						moveEntity.getPlayerPublicUuid(),
-						new MoveAction(
-								moveEntity.getRowIndex(),
-								moveEntity.getColumnIndex(),
-								new Card(moveEntity.getCardSuit(), moveEntity.getCardValue())
-						)
-				)));
+				.forEach(moveEntity -> moveHistory.add(mapMove(moveEntity)));
 		return moveHistory;
 	}
 
+	private static Pair<UUID, MoveAction> mapMove(GameMoveEntity moveEntity) {
+		return Pair.of(
+				moveEntity.getPlayerPublicUuid(),
+				new MoveAction(
+						moveEntity.getRowIndex(),
+						moveEntity.getColumnIndex(),
+						Card.of(moveEntity.getCardSuit(), moveEntity.getCardValue())
+				)
+		);
+	}
+
+	private static void validateDraw(GameMoveEntity moveEntity, MoveDraw draw) {
+		// Reshuffles are random, so every reshuffling move is followed by a snapshot and is never replayed.
+		if (draw != null && draw.reshuffled()) {
+			throw new IllegalStateException("Replayed move " + moveEntity.getMoveOrder() + " reshuffled the deck");
+		}
+		if (moveEntity.getDrawnCardSuit() == null) {
+			return;
+		}
+		var recorded = Card.of(moveEntity.getDrawnCardSuit(), moveEntity.getDrawnCardValue());
+		if (draw == null || !recorded.equals(draw.card())) {
+			throw new IllegalStateException("Replayed move " + moveEntity.getMoveOrder() + " drew "
+					+ (draw != null ? draw.card() : null) + " but " + recorded + " was recorded");
+		}
+	}
+
 	private static HashMap<UUID, Integer> mapTurnCounts(GameEntity entity) {
 		var amountOfTurns = new HashMap<UUID, Integer>();
 		entity.getTurnCounts().forEach(turnCount -> amountOfTurns.put(turnCount.getPlayerPublicUuid(), turnCount.getTurnCount()));
@@ -1,9 +1,7 @@
 package com.jamesdpeters.SequenceGame.game.persistence.mapper;
 
-import com.jamesdpeters.SequenceGame.board.BoardSpace;
 import com.jamesdpeters.SequenceGame.card.Card;
 import com.jamesdpeters.SequenceGame.game.Game;
-import com.jamesdpeters.SequenceGame.game.MoveAction;
 import com.jamesdpeters.SequenceGame.game.persistence.entity.DeckPile;
 import com.jamesdpeters.SequenceGame.game.persistence.entity.GameBoardSpaceEntity;
 import com.jamesdpeters.SequenceGame.game.persistence.entity.GameDeckCardEntity;
@@ -14,10 +12,26 @@ import com.jamesdpeters.SequenceGame.game.persistence.entity.GamePlayerHandCardE
 import com.jamesdpeters.SequenceGame.game.persistence.entity.GameTurnCountEntity;
 import org.springframework.stereotype.Service;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.function.IntFunction;
+import java.util.function.ObjIntConsumer;
+import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
 
+/**
+ * Maps a {@link Game} onto its entity graph. Existing rows are updated in place and only rows whose
+ * values differ are touched, so Hibernate's dirty checking writes just what a move changed: one board
+ * space, the drawn and discarded deck cards, the changed hand slots, the appended move and turn count.
+ * <p>
+ * Ordered child rows are keyed by their order column and never renumbered. The draw pile is numbered from
+ * the bottom of the deck up, so drawing from the top only ever deletes the highest ordered row.
+ */
 @Service
 public class GameToEntityMapper {
 
@@ -25,16 +39,12 @@ public class GameToEntityMapper {
 		return toEntity(game, new GameEntity());
 	}
 
+	/**
+	 * Brings {@code entity} and its child rows in line with {@code game}, keeping every row that is still valid.
+	 */
 	public GameEntity toEntity(Game game, GameEntity entity) {
-		return toEntity(game, entity, true);
-	}
-
-	public GameEntity toEntity(Game game, GameEntity entity, boolean clearCollections) {
-		if (clearCollections) {
-			clearChildCollections(entity);
-		}
 		mapGameFields(game, entity);
-		mapPlayers(game, entity);
+		mapPlayers(game, entity, true);
 		mapBoard(game, entity);
 		mapDeck(game, entity);
 		mapMoveHistory(game, entity);
@@ -42,12 +52,25 @@ public class GameToEntityMapper {
 		return entity;
 	}
 
-	public void clearChildCollections(GameEntity entity) {
-		entity.getPlayers().clear();
-		entity.getBoardSpaces().clear();
-		entity.getDeckCards().clear();
-		entity.getMoveHistory().clear();
-		entity.getTurnCounts().clear();
+	/**
+	 * Maps only the game row and its players, without hands, board, deck, moves or turn counts. Used by the
+	 * event-sourced repository, where that state lives in snapshots and the move log.
+	 */
+	public GameEntity toEntityHeader(Game game, GameEntity entity) {
+		mapGameFields(game, entity);
+		mapPlayers(game, entity, false);
+		return entity;
+	}
+
+	/**
+	 * @return a new row for move {@code moveOrder} of {@code game}, to be appended to the move log
+	 */
+	public GameMoveEntity toMoveEntity(Game game, int moveOrder, GameEntity entity) {
+		var moveEntity = new GameMoveEntity();
+		moveEntity.setGame(entity);
+		moveEntity.setMoveOrder(moveOrder);
+		mapMove(game, moveOrder, moveEntity);
+		return moveEntity;
 	}
 
 	private static void mapGameFields(Game game, GameEntity entity) {
@@ -61,67 +84,87 @@ public class GameToEntityMapper {
 		entity.setDeadCardDiscardedThisTurn(game.isDeadCardDiscardedThisTurn());
 		entity.setCurrentPlayerPublicUuid(game.getCurrentPlayerTurn());
 		entity.setHostPlayerPublicUuid(game.getHost() != null ? game.getHost().publicUuid() : null);
+		entity.setUpdatedDate(Instant.now());
 	}
 
-	private static void mapPlayers(Game game, GameEntity entity) {
+	private static void mapPlayers(Game game, GameEntity entity, boolean includeHands) {
 		var playerContainer = game.getPlayerContainer();
 		var players = game.getPlayers();
+		var existing = new HashMap<UUID, GamePlayerEntity>();
+		entity.getPlayers().forEach(playerEntity -> existing.put(playerEntity.getPublicUuid(), playerEntity));
+		entity.getPlayers().removeIf(playerEntity -> !players.contains(playerEntity.getPublicUuid()));
+
 		for (int playerOrder = 0; playerOrder < players.size(); playerOrder++) {
 			var publicUuid = players.get(playerOrder);
-			var playerEntity = mapPlayer(game, playerContainer.getPrivateUuid(publicUuid), publicUuid, playerOrder, entity);
-			entity.getPlayers().add(playerEntity);
+			var playerEntity = existing.get(publicUuid);
+			if (playerEntity == null) {
+				playerEntity = newPlayer(playerContainer.getPrivateUuid(publicUuid), publicUuid, entity);
+				entity.getPlayers().add(playerEntity);
+			}
+			playerEntity.setName(game.getPlayerNames().get(publicUuid));
+			playerEntity.setTurnOrder(playerOrder);
+			playerEntity.setTeam(playerContainer.getTeam(publicUuid));
+			if (includeHands) {
+				mapPlayerHand(playerContainer.getCards(publicUuid), playerEntity);
+			}
 		}
 	}
 
-	private static GamePlayerEntity mapPlayer(
-			Game game,
-			UUID privateUuid,
-			UUID publicUuid,
-			int playerOrder,
-			GameEntity entity
-	) {
+	private static GamePlayerEntity newPlayer(UUID privateUuid, UUID publicUuid, GameEntity entity) {
 		if (privateUuid == null) {
 			throw new IllegalStateException("Missing private UUID for player " + publicUuid);
 		}
 
-		var playerContainer = game.getPlayerContainer();
 		var playerEntity = new GamePlayerEntity();
 		playerEntity.setGame(entity);
 		playerEntity.setPublicUuid(publicUuid);
 		playerEntity.setPrivateUuid(privateUuid);
-		playerEntity.setName(game.getPlayerNames().get(publicUuid));
-		playerEntity.setTurnOrder(playerOrder);
-		playerEntity.setTeam(playerContainer.getTeam(publicUuid));
-		mapPlayerHand(playerContainer.getCards(publicUuid), playerEntity);
 		return playerEntity;
 	}
 
 	private static void mapPlayerHand(List<Card> hand, GamePlayerEntity playerEntity) {
-		if (hand == null) {
-			return;
-		}
-		for (int cardOrder = 0; cardOrder < hand.size(); cardOrder++) {
-			var card = hand.get(cardOrder);
-			var handCardEntity = new GamePlayerHandCardEntity();
-			handCardEntity.setPlayer(playerEntity);
-			handCardEntity.setCardOrder(cardOrder);
-			handCardEntity.setCardSuit(card.suit());
-			handCardEntity.setCardValue(card.value());
-			playerEntity.getHandCards().add(handCardEntity);
-		}
+		var cards = hand != null ? hand : List.<Card>of();
+		mapOrdered(
+				playerEntity.getHandCards(),
+				handCard -> true,
+				GamePlayerHandCardEntity::getCardOrder,
+				cards.size(),
+				cardOrder -> {
+					var handCardEntity = new GamePlayerHandCardEntity();
+					handCardEntity.setPlayer(playerEntity);
+					handCardEntity.setCardOrder(cardOrder);
+					return handCardEntity;
+				},
+				(handCardEntity, cardOrder) -> {
+					var card = cards.get(cardOrder);
+					handCardEntity.setCardSuit(card.suit());
+					handCardEntity.setCardValue(card.value());
+				}
+		);
 	}
 
 	private static void mapBoard(Game game, GameEntity entity) {
 		var board = game.getBoard();
-		for (int row = 0; row < board.getRows(); row++) {
-			for (int column = 0; column < board.getColumn(row).length; column++) {
-				entity.getBoardSpaces().add(mapBoardSpace(board.getSpace(row, column), row, column, entity));
+		var existing = new GameBoardSpaceEntity[board.getCellCount()];
+		entity.getBoardSpaces().forEach(boardSpace ->
+				existing[board.getCellIndex(boardSpace.getRowIndex(), boardSpace.getColumnIndex())] = boardSpace);
+
+		for (int cell = 0; cell < board.getCellCount(); cell++) {
+			var boardSpaceEntity = existing[cell];
+			if (boardSpaceEntity == null) {
+				boardSpaceEntity = newBoardSpace(board.getCard(board.getCellRow(cell), board.getCellColumn(cell)),
+						board.getCellRow(cell), board.getCellColumn(cell), entity);
+				entity.getBoardSpaces().add(boardSpaceEntity);
 			}
+			var row = boardSpaceEntity.getRowIndex();
+			var column = boardSpaceEntity.getColumnIndex();
+			boardSpaceEntity.setChipColour(board.getChip(row, column));
+			boardSpaceEntity.setPartOfSequence(board.isPartOfSequence(row, column));
 		}
 	}
 
-	private static GameBoardSpaceEntity mapBoardSpace(
-			BoardSpace space,
+	private static GameBoardSpaceEntity newBoardSpace(
+			Card card,
 			int row,
 			int column,
 			GameEntity entity
@@ -130,83 +173,123 @@ public class GameToEntityMapper {
 		boardSpaceEntity.setGame(entity);
 		boardSpaceEntity.setRowIndex(row);
 		boardSpaceEntity.setColumnIndex(column);
-		if (space.getCard() != null) {
-			boardSpaceEntity.setCardSuit(space.getCard().suit());
-			boardSpaceEntity.setCardValue(space.getCard().value());
+		if (card != null) {
+			boardSpaceEntity.setCardSuit(card.suit());
+			boardSpaceEntity.setCardValue(card.value());
 		}
-		boardSpaceEntity.setChipColour(space.getChip());
-		boardSpaceEntity.setPartOfSequence(space.isPartOfSequence());
 		return boardSpaceEntity;
 	}
 
 	private static void mapDeck(Game game, GameEntity entity) {
-		int drawOrder = 0;
-		for (var card : game.getDeck()) {
-			entity.getDeckCards().add(mapDeckCard(entity, DeckPile.DRAW, drawOrder++, card.suit(), card.value()));
-		}
-
-		var discardPile = game.getDeck().getDiscardPile();
-		for (int discardOrder = 0; discardOrder < discardPile.size(); discardOrder++) {
-			var card = discardPile.get(discardOrder);
-			entity.getDeckCards().add(mapDeckCard(entity, DeckPile.DISCARD, discardOrder, card.suit(), card.value()));
-		}
+		// Bottom of the draw pile is order 0, so drawing removes the highest order instead of renumbering every card.
+		var drawPile = new ArrayList<>(game.getDeck());
+		Collections.reverse(drawPile);
+		mapPile(entity, DeckPile.DRAW, drawPile);
+		mapPile(entity, DeckPile.DISCARD, game.getDeck().getDiscardPile());
 	}
 
-	private static GameDeckCardEntity mapDeckCard(
-			GameEntity entity,
-			DeckPile pile,
-			int cardOrder,
-			Card.Suit suit,
-			int value
-	) {
-		var deckCardEntity = new GameDeckCardEntity();
-		deckCardEntity.setGame(entity);
-		deckCardEntity.setPile(pile);
-		deckCardEntity.setCardOrder(cardOrder);
-		deckCardEntity.setCardSuit(suit);
-		deckCardEntity.setCardValue(value);
-		return deckCardEntity;
+	private static void mapPile(GameEntity entity, DeckPile pile, List<Card> cards) {
+		mapOrdered(
+				entity.getDeckCards(),
+				deckCard -> deckCard.getPile() == pile,
+				GameDeckCardEntity::getCardOrder,
+				cards.size(),
+				cardOrder -> {
+					var deckCardEntity = new GameDeckCardEntity();
+					deckCardEntity.setGame(entity);
+					deckCardEntity.setPile(pile);
+					deckCardEntity.setCardOrder(cardOrder);
+					return deckCardEntity;
+				},
+				(deckCardEntity, cardOrder) -> {
+					var card = cards.get(cardOrder);
+					deckCardEntity.setCardSuit(card.suit());
+					deckCardEntity.setCardValue(card.value());
+				}
+		);
 	}
 
 	private static void mapMoveHistory(Game game, GameEntity entity) {
 		var moveHistory = game.getMoveHistory();
-		for (int moveOrder = 0; moveOrder < moveHistory.size(); moveOrder++) {
-			var movePair = moveHistory.get(moveOrder);
-			entity.getMoveHistory().add(mapMove(movePair.getLeft(), movePair.getRight(), moveOrder, entity));
-		}
+		mapOrdered(
+				entity.getMoveHistory(),
+				move -> true,
+				GameMoveEntity::getMoveOrder,
+				moveHistory.size(),
+				moveOrder -> {
+					var moveEntity = new GameMoveEntity();
+					moveEntity.setGame(entity);
+					moveEntity.setMoveOrder(moveOrder);
+					return moveEntity;
+				},
+				(moveEntity, moveOrder) -> mapMove(game, moveOrder, moveEntity)
+		);
 	}
 
-	private static GameMoveEntity mapMove(
-			UUID publicUuid,
-			MoveAction action,
-			int moveOrder,
-			GameEntity entity
-	) {
-		var moveEntity = new GameMoveEntity();
-		moveEntity.setGame(entity);
-		moveEntity.setMoveOrder(moveOrder);
-		moveEntity.setPlayerPublicUuid(publicUuid);
-		moveEntity.setRowIndex(action.row());
-		moveEntity.setColumnIndex(action.column());
-		moveEntity.setCardSuit(action.card().suit());
-		moveEntity.setCardValue(action.card().value());
-		return moveEntity;
+	private static void mapMove(Game game, int moveOrder, GameMoveEntity moveEntity) {
+		var move = game.getMoveHistory().get(moveOrder);
+		moveEntity.setPlayerPublicUuid(move.getLeft());
+		moveEntity.setRowIndex(move.getRight().row());
+		moveEntity.setColumnIndex(move.getRight().column());
+		moveEntity.setCardSuit(move.getRight().card().suit());
+		moveEntity.setCardValue(move.getRight().card().value());
+		// Draws are only known for moves played since the game was loaded, keep what was recorded before.
+		var draw = game.getMoveDraw(moveOrder);
+		if (draw != null) {
+			moveEntity.setDrawnCardSuit(draw.card().suit());
+			moveEntity.setDrawnCardValue(draw.card().value());
+			moveEntity.setReshuffled(draw.reshuffled());
+		}
 	}
 
 	private static void mapTurnCounts(Game game, GameEntity entity) {
-		game.getAmountOfTurns()
-				.entrySet()
+		var amountOfTurns = game.getAmountOfTurns();
+		entity.getTurnCounts().removeIf(turnCount -> !amountOfTurns.containsKey(turnCount.getPlayerPublicUuid()));
+		var existing = new HashMap<UUID, GameTurnCountEntity>();
+		entity.getTurnCounts().forEach(turnCount -> existing.put(turnCount.getPlayerPublicUuid(), turnCount));
+
+		amountOfTurns.entrySet()
 				.stream()
 				.sorted(Map.Entry.comparingByKey())
-				.forEach(entry -> entity.getTurnCounts()
-						.add(mapTurnCount(entity, entry.getKey(), entry.getValue())));
+				.forEach(entry -> {
+					var turnCountEntity = existing.get(entry.getKey());
+					if (turnCountEntity == null) {
+						turnCountEntity = new GameTurnCountEntity();
+						turnCountEntity.setGame(entity);
+						turnCountEntity.setPlayerPublicUuid(entry.getKey());
+						entity.getTurnCounts().add(turnCountEntity);
+					}
+					turnCountEntity.setTurnCount(entry.getValue());
+				});
 	}
 
-	private static GameTurnCountEntity mapTurnCount(GameEntity entity, UUID playerUuid, int turnCount) {
-		var turnCountEntity = new GameTurnCountEntity();
-		turnCountEntity.setGame(entity);
-		turnCountEntity.setPlayerPublicUuid(playerUuid);
-		turnCountEntity.setTurnCount(turnCount);
-		return turnCountEntity;
+	/**
+	 * Reconciles the rows of {@code rows} matching {@code scope}, keyed by a 0-based order column, with a list of
+	 * {@code size} values: rows past the end are removed, missing orders are created, and every row is handed to
+	 * {@code update} to copy its value across.
+	 */
+	private static <E> void mapOrdered(
+			List<E> rows,
+			Predicate<E> scope,
+			ToIntFunction<E> order,
+			int size,
+			IntFunction<E> create,
+			ObjIntConsumer<E> update
+	) {
+		rows.removeIf(row -> scope.test(row) && order.applyAsInt(row) >= size);
+		var byOrder = new ArrayList<E>(Collections.nCopies(size, null));
+		for (var row : rows) {
+			if (scope.test(row)) {
+				byOrder.set(order.applyAsInt(row), row);
+			}
+		}
+		for (int index = 0; index < size; index++) {
+			var row = byOrder.get(index);
+			if (row == null) {
+				row = create.apply(index);
+				rows.add(row);
+			}
+			update.accept(row, index);
+		}
 	}
 }
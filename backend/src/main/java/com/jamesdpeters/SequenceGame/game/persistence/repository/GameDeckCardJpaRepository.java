@@ -0,0 +1,36 @@
+package com.jamesdpeters.SequenceGame.game.persistence.repository;
+
+import com.jamesdpeters.SequenceGame.game.persistence.entity.DeckPile;
+import com.jamesdpeters.SequenceGame.game.persistence.entity.GameDeckCardEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.UUID;
+
+public interface GameDeckCardJpaRepository extends JpaRepository<GameDeckCardEntity, Long> {
+
+	/**
+	 * Deletes the rows past the end of both piles in one statement, the rows orphan removal would otherwise
+	 * delete one at a time. Must run before the game's deck cards are loaded, since it bypasses the session.
+	 */
+	@Modifying
+	@Query("""
+			delete from GameDeckCardEntity d
+			where d.game.id = :gameId
+			and ((d.pile = :drawPile and d.cardOrder >= :drawSize)
+				or (d.pile = :discardPile and d.cardOrder >= :discardSize))
+			""")
+	int deleteBeyond(
+			@Param("gameId") UUID gameId,
+			@Param("drawPile") DeckPile drawPile,
+			@Param("drawSize") int drawSize,
+			@Param("discardPile") DeckPile discardPile,
+			@Param("discardSize") int discardSize
+	);
+
+	default int deleteBeyond(UUID gameId, int drawSize, int discardSize) {
+		return deleteBeyond(gameId, DeckPile.DRAW, drawSize, DeckPile.DISCARD, discardSize);
+	}
+}
@@ -1,16 +1,34 @@
 package com.jamesdpeters.SequenceGame.game.persistence.repository;
 
+import com.jamesdpeters.SequenceGame.game.Game;
+import com.jamesdpeters.SequenceGame.game.GameCursor;
+import com.jamesdpeters.SequenceGame.game.GameSummary;
 import com.jamesdpeters.SequenceGame.game.persistence.entity.GameEntity;
+import com.jamesdpeters.SequenceGame.game.persistence.entity.GamePlayerEntity;
 import com.jamesdpeters.SequenceGame.player.Player;
+import org.jspecify.annotations.Nullable;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
 
 public interface GameJpaRepository extends JpaRepository<GameEntity, UUID> {
 
+	// Keeps the id lists of fetchChildren well below PostgreSQL's bind parameter limit.
+	int FETCH_CHUNK_SIZE = 1000;
+
 	@Query("""
 			select distinct g
 			from GameEntity g
@@ -19,7 +37,132 @@ public interface GameJpaRepository extends JpaRepository<GameEntity, UUID> {
 			""")
 	List<GameEntity> findByPlayerPublicUuid(@Param("publicUuid") UUID publicUuid);
 
+	@EntityGraph(attributePaths = "players")
+	@Query("select g from GameEntity g where g.id = :id")
+	Optional<GameEntity> findWithPlayersById(@Param("id") UUID id);
+
+	@EntityGraph(attributePaths = "players")
+	@Query("select g from GameEntity g")
+	List<GameEntity> findAllWithPlayers();
+
+	@EntityGraph(attributePaths = "players")
+	@Query("select g from GameEntity g where g.id in :ids")
+	List<GameEntity> findAllWithPlayersById(@Param("ids") Collection<UUID> ids);
+
+	// Each fetch initialises one collection of every game in ids that is already in the session. A list per
+	// query, since fetching several bags in one query is a cartesian product and Hibernate refuses it.
+
+	@Query("select g from GameEntity g left join fetch g.boardSpaces where g.id in :ids")
+	List<GameEntity> fetchBoardSpaces(@Param("ids") Collection<UUID> ids);
+
+	@Query("select g from GameEntity g left join fetch g.deckCards where g.id in :ids")
+	List<GameEntity> fetchDeckCards(@Param("ids") Collection<UUID> ids);
+
+	@Query("select g from GameEntity g left join fetch g.moveHistory where g.id in :ids")
+	List<GameEntity> fetchMoveHistory(@Param("ids") Collection<UUID> ids);
+
+	@Query("select g from GameEntity g left join fetch g.turnCounts where g.id in :ids")
+	List<GameEntity> fetchTurnCounts(@Param("ids") Collection<UUID> ids);
+
+	@Query("select p from GamePlayerEntity p left join fetch p.handCards where p.game.id in :ids")
+	List<GamePlayerEntity> fetchHandCards(@Param("ids") Collection<UUID> ids);
+
+	@Query("select g.version from GameEntity g where g.id = :id")
+	Optional<Long> findVersionById(@Param("id") UUID id);
+
+	@Query("select p.publicUuid from GamePlayerEntity p where p.game.id = :gameId and p.privateUuid = :privateUuid")
+	Optional<UUID> findPublicPlayerUuid(@Param("gameId") UUID gameId, @Param("privateUuid") UUID privateUuid);
+
+	@Query("select g.status as status, count(g) as count from GameEntity g group by g.status")
+	List<GameStatusCount> countGroupedByStatus();
+
+	@Modifying
+	@Query("update GameEntity g set g.version = :version where g.id = :id")
+	int updateVersion(@Param("id") UUID id, @Param("version") long version);
+
+	@Query("""
+			select g.id as id, g.status as status, g.createdDate as createdDate, g.maxPlayers as maxPlayers,
+				g.currentPlayerPublicUuid as currentPlayerPublicUuid
+			from GamePlayerEntity p
+			join p.game g
+			where p.publicUuid = :publicUuid
+			order by g.createdDate desc, g.id desc
+			""")
+	List<GameSummaryRow> findSummaryRowsByPlayer(@Param("publicUuid") UUID publicUuid, Limit limit);
+
+	@Query("""
+			select g.id as id, g.status as status, g.createdDate as createdDate, g.maxPlayers as maxPlayers,
+				g.currentPlayerPublicUuid as currentPlayerPublicUuid
+			from GamePlayerEntity p
+			join p.game g
+			where p.publicUuid = :publicUuid
+			and (g.createdDate < :createdDate or (g.createdDate = :createdDate and g.id < :id))
+			order by g.createdDate desc, g.id desc
+			""")
+	List<GameSummaryRow> findSummaryRowsByPlayerBefore(
+			@Param("publicUuid") UUID publicUuid,
+			@Param("createdDate") Instant createdDate,
+			@Param("id") UUID id,
+			Limit limit
+	);
+
+	@Query("""
+			select p.game.id as gameId, p.publicUuid as publicUuid, p.name as name
+			from GamePlayerEntity p
+			where p.game.id in :ids
+			order by p.turnOrder
+			""")
+	List<GamePlayerNameRow> findPlayerNames(@Param("ids") Collection<UUID> ids);
+
+	/**
+	 * Reads one page of a player's games, newest first, in two queries that touch only the game and player
+	 * rows: one for the games and one for their players.
+	 */
+	default List<GameSummary> findSummariesByPlayer(UUID publicUuid, @Nullable GameCursor before, int limit) {
+		var rows = before == null
+				? findSummaryRowsByPlayer(publicUuid, Limit.of(limit))
+				: findSummaryRowsByPlayerBefore(publicUuid, before.createdDate(), before.gameUuid(), Limit.of(limit));
+		if (rows.isEmpty()) {
+			return List.of();
+		}
+		var players = new HashMap<UUID, Map<UUID, String>>();
+		for (var name : findPlayerNames(rows.stream().map(GameSummaryRow::getId).toList())) {
+			players.computeIfAbsent(name.getGameId(), id -> new LinkedHashMap<>()).put(name.getPublicUuid(), name.getName());
+		}
+		return rows.stream().map(row -> {
+			var names = players.getOrDefault(row.getId(), Map.of());
+			return new GameSummary(row.getId(), row.getStatus(), row.getCreatedDate(), row.getMaxPlayers(),
+					List.copyOf(names.keySet()), names, row.getCurrentPlayerPublicUuid());
+		}).toList();
+	}
+
 	default List<GameEntity> findByPlayer(Player player) {
 		return findByPlayerPublicUuid(player.publicUuid());
 	}
+
+	default Map<Game.Status, Long> countByStatus() {
+		var counts = new EnumMap<Game.Status, Long>(Game.Status.class);
+		for (var count : countGroupedByStatus()) {
+			counts.put(count.getStatus(), count.getCount());
+		}
+		return counts;
+	}
+
+	/**
+	 * Initialises every child collection of {@code games}, which must already be in the session with their
+	 * players loaded, in five queries per {@value #FETCH_CHUNK_SIZE} games.
+	 */
+	default void fetchChildren(List<GameEntity> games) {
+		for (int from = 0; from < games.size(); from += FETCH_CHUNK_SIZE) {
+			var ids = games.subList(from, Math.min(games.size(), from + FETCH_CHUNK_SIZE))
+					.stream()
+					.map(GameEntity::getId)
+					.toList();
+			fetchBoardSpaces(ids);
+			fetchDeckCards(ids);
+			fetchMoveHistory(ids);
+			fetchTurnCounts(ids);
+			fetchHandCards(ids);
+		}
+	}
 }
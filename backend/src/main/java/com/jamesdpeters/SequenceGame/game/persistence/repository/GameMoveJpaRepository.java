@@ -0,0 +1,14 @@
+package com.jamesdpeters.SequenceGame.game.persistence.repository;
+
+import com.jamesdpeters.SequenceGame.game.persistence.entity.GameMoveEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface GameMoveJpaRepository extends JpaRepository<GameMoveEntity, Long> {
+
+	List<GameMoveEntity> findByGameIdOrderByMoveOrder(UUID gameId);
+
+	long countByGameId(UUID gameId);
+}
@@ -0,0 +1,12 @@
+package com.jamesdpeters.SequenceGame.game.persistence.repository;
+
+import java.util.UUID;
+
+public interface GamePlayerNameRow {
+
+	UUID getGameId();
+
+	UUID getPublicUuid();
+
+	String getName();
+}
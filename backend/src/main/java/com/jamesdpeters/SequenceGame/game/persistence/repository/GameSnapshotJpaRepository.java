@@ -0,0 +1,12 @@
+package com.jamesdpeters.SequenceGame.game.persistence.repository;
+
+import com.jamesdpeters.SequenceGame.game.persistence.entity.GameSnapshotEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Optional;
+import java.util.UUID;
+
+public interface GameSnapshotJpaRepository extends JpaRepository<GameSnapshotEntity, Long> {
+
+	Optional<GameSnapshotEntity> findFirstByGameIdAndMoveCountLessThanEqualOrderByMoveCountDesc(UUID gameId, int moveCount);
+}
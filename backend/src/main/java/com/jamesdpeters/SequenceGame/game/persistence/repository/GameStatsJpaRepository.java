@@ -0,0 +1,159 @@
+package com.jamesdpeters.SequenceGame.game.persistence.repository;
+
+import com.jamesdpeters.SequenceGame.board.ChipColour;
+import com.jamesdpeters.SequenceGame.game.GameStats;
+import com.jamesdpeters.SequenceGame.game.GameCursor;
+import com.jamesdpeters.SequenceGame.game.GameStatsFilter;
+import com.jamesdpeters.SequenceGame.game.persistence.entity.GameStatsEntity;
+import org.jspecify.annotations.Nullable;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+public interface GameStatsJpaRepository extends JpaRepository<GameStatsEntity, UUID>, JpaSpecificationExecutor<GameStatsEntity> {
+
+	Sort LISTING_ORDER = Sort.by("createdDate", "gameId");
+
+	@Modifying
+	@Query(value = """
+			insert into game_stats (game_id, status, created_date, started_date, winner, moves,
+				red_sequences, blue_sequences, green_sequences, red_chips, blue_chips, green_chips)
+			values (:gameId, cast(:status as game_status), :createdDate, :startedDate, cast(:winner as chip_colour), :moves,
+				:redSequences, :blueSequences, :greenSequences, :redChips, :blueChips, :greenChips)
+			on conflict (game_id) do update set
+				status = excluded.status,
+				started_date = excluded.started_date,
+				winner = excluded.winner,
+				moves = excluded.moves,
+				red_sequences = excluded.red_sequences,
+				blue_sequences = excluded.blue_sequences,
+				green_sequences = excluded.green_sequences,
+				red_chips = excluded.red_chips,
+				blue_chips = excluded.blue_chips,
+				green_chips = excluded.green_chips
+			""", nativeQuery = true)
+	void upsert(
+			@Param("gameId") UUID gameId,
+			@Param("status") String status,
+			@Param("createdDate") Instant createdDate,
+			@Param("startedDate") @Nullable Instant startedDate,
+			@Param("winner") @Nullable String winner,
+			@Param("moves") int moves,
+			@Param("redSequences") int redSequences,
+			@Param("blueSequences") int blueSequences,
+			@Param("greenSequences") int greenSequences,
+			@Param("redChips") int redChips,
+			@Param("blueChips") int blueChips,
+			@Param("greenChips") int greenChips
+	);
+
+	/**
+	 * Inserts or overwrites the stats row of a game in one statement, without reading it first.
+	 */
+	default void upsert(GameStats stats) {
+		upsert(
+				stats.gameUuid(),
+				stats.status().name(),
+				stats.createdDate(),
+				stats.startedDate(),
+				stats.winner() != null ? stats.winner().name() : null,
+				stats.moves(),
+				stats.sequences().getOrDefault(ChipColour.RED, 0),
+				stats.sequences().getOrDefault(ChipColour.BLUE, 0),
+				stats.sequences().getOrDefault(ChipColour.GREEN, 0),
+				stats.chipsPlaced().getOrDefault(ChipColour.RED, 0),
+				stats.chipsPlaced().getOrDefault(ChipColour.BLUE, 0),
+				stats.chipsPlaced().getOrDefault(ChipColour.GREEN, 0)
+		);
+	}
+
+	/**
+	 * Reads one page of the ids of games without stats in id order, seeking past {@code after} so games that
+	 * keep failing to backfill are not read again.
+	 */
+	default List<UUID> findGameIdsWithoutStats(@Nullable UUID after, int limit) {
+		return after != null
+				? findGameIdsWithoutStatsAfter(after, Limit.of(limit))
+				: findGameIdsWithoutStats(Limit.of(limit));
+	}
+
+	@Query("""
+			select g.id
+			from GameEntity g
+			where not exists (select 1 from GameStatsEntity s where s.gameId = g.id)
+			order by g.id
+			""")
+	List<UUID> findGameIdsWithoutStats(Limit limit);
+
+	@Query("""
+			select g.id
+			from GameEntity g
+			where g.id > :after
+			and not exists (select 1 from GameStatsEntity s where s.gameId = g.id)
+			order by g.id
+			""")
+	List<UUID> findGameIdsWithoutStatsAfter(@Param("after") UUID after, Limit limit);
+
+	/**
+	 * Reads one page of stats in listing order, seeking past {@code after} on the
+	 * {@code (created_date, game_id)} index rather than skipping an offset.
+	 */
+	default List<GameStats> findPage(GameStatsFilter filter, @Nullable GameCursor after, int limit) {
+		Specification<GameStatsEntity> spec = (root, query, cb) -> cb.conjunction();
+		if (filter.status() != null) {
+			spec = spec.and((root, query, cb) -> cb.equal(root.get("status"), filter.status()));
+		}
+		if (filter.from() != null) {
+			spec = spec.and((root, query, cb) -> cb.greaterThanOrEqualTo(root.get("createdDate"), filter.from()));
+		}
+		if (filter.to() != null) {
+			spec = spec.and((root, query, cb) -> cb.lessThan(root.get("createdDate"), filter.to()));
+		}
+		if (after != null) {
+			spec = spec.and((root, query, cb) -> cb.or(
+					cb.greaterThan(root.get("createdDate"), after.createdDate()),
+					cb.and(
+							cb.equal(root.get("createdDate"), after.createdDate()),
+							cb.greaterThan(root.get("gameId"), after.gameUuid())
+					)
+			));
+		}
+		return findBy(spec, query -> query.sortBy(LISTING_ORDER).limit(limit).all())
+				.stream()
+				.map(GameStatsJpaRepository::toStats)
+				.toList();
+	}
+
+	private static GameStats toStats(GameStatsEntity entity) {
+		return new GameStats(
+				entity.getGameId(),
+				entity.getStatus(),
+				entity.getCreatedDate(),
+				entity.getStartedDate(),
+				entity.getWinner(),
+				entity.getMoves(),
+				byColour(entity.getRedSequences(), entity.getBlueSequences(), entity.getGreenSequences()),
+				byColour(entity.getRedChips(), entity.getBlueChips(), entity.getGreenChips())
+		);
+	}
+
+	// Zero counts are left out, as Board leaves them out of its maps.
+	private static Map<ChipColour, Integer> byColour(int red, int blue, int green) {
+		var counts = new EnumMap<ChipColour, Integer>(ChipColour.class);
+		if (red > 0) counts.put(ChipColour.RED, red);
+		if (blue > 0) counts.put(ChipColour.BLUE, blue);
+		if (green > 0) counts.put(ChipColour.GREEN, green);
+		return counts;
+	}
+}
@@ -0,0 +1,10 @@
+package com.jamesdpeters.SequenceGame.game.persistence.repository;
+
+import com.jamesdpeters.SequenceGame.game.Game;
+
+public interface GameStatusCount {
+
+	Game.Status getStatus();
+
+	long getCount();
+}
@@ -0,0 +1,19 @@
+package com.jamesdpeters.SequenceGame.game.persistence.repository;
+
+import com.jamesdpeters.SequenceGame.game.Game;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public interface GameSummaryRow {
+
+	UUID getId();
+
+	Game.Status getStatus();
+
+	Instant getCreatedDate();
+
+	int getMaxPlayers();
+
+	UUID getCurrentPlayerPublicUuid();
+}
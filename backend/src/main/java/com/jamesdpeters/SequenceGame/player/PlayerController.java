@@ -0,0 +1,40 @@
+package com.jamesdpeters.SequenceGame.player;
+
+import com.jamesdpeters.SequenceGame.game.GameSummaryPageResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.jspecify.annotations.Nullable;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.UUID;
+
+@RequiredArgsConstructor
+@RestController
+@RequestMapping(value = "/player", produces = MediaType.APPLICATION_JSON_VALUE)
+@Tag(name = "Player", description = "Endpoints for a player's games")
+public class PlayerController {
+
+	private static final int MAX_PAGE_SIZE = 100;
+
+	private final PlayerService playerService;
+
+	@GetMapping("/{publicUuid}/games")
+	@Operation(summary = "List a player's games", description = "Returns one page of summaries of the games a player has joined, newest first. Pass nextCursor back as cursor for the next page")
+	@ApiResponse(responseCode = "200", description = "Page of game summaries")
+	@ApiResponse(responseCode = "400", description = "Malformed cursor")
+	public ResponseEntity<GameSummaryPageResponse> getGames(
+			@PathVariable UUID publicUuid,
+			@RequestParam(required = false) @Nullable String cursor,
+			@RequestParam(defaultValue = "20") int limit
+	) {
+		return ResponseEntity.ok(playerService.getGameSummaries(publicUuid, cursor, Math.clamp(limit, 1, MAX_PAGE_SIZE)));
+	}
+}
@@ -1,11 +1,15 @@
 package com.jamesdpeters.SequenceGame.player;
 
 import com.jamesdpeters.SequenceGame.game.Game;
+import com.jamesdpeters.SequenceGame.game.GameCursor;
 import com.jamesdpeters.SequenceGame.game.GameRepository;
+import com.jamesdpeters.SequenceGame.game.GameSummaryPageResponse;
 import lombok.RequiredArgsConstructor;
+import org.jspecify.annotations.Nullable;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
@@ -16,4 +20,21 @@ public class PlayerService {
 	public List<Game> getGames(Player player) {
 		return gameRepository.findByPlayer(player);
 	}
+
+	/**
+	 * Reads one page of summaries of the games a player has joined, newest first.
+	 *
+	 * @param cursor the {@code nextCursor} of the previous page, or null for the first page
+	 * @throws com.jamesdpeters.SequenceGame.game.exceptions.InvalidCursorException if the cursor is malformed
+	 */
+	public GameSummaryPageResponse getGameSummaries(UUID publicUuid, @Nullable String cursor, int limit) {
+		var before = cursor != null ? GameCursor.decode(cursor) : null;
+		// One extra row tells whether there is a next page, without a count query.
+		var summaries = gameRepository.findSummariesByPlayer(publicUuid, before, limit + 1);
+		if (summaries.size() <= limit) {
+			return new GameSummaryPageResponse(summaries, null);
+		}
+		var page = summaries.subList(0, limit);
+		return new GameSummaryPageResponse(page, GameCursor.of(page.getLast()).encode());
+	}
 }
@@ -0,0 +1,87 @@
+package com.jamesdpeters.SequenceGame.simulation;
+
+import com.jamesdpeters.SequenceGame.board.Board;
+import com.jamesdpeters.SequenceGame.board.ChipColour;
+import com.jamesdpeters.SequenceGame.game.MoveAction;
+
+import java.util.Map;
+
+/**
+ * The built-in policies, by name.
+ */
+public final class Policies {
+
+	/**
+	 * Picks uniformly among the legal moves.
+	 */
+	public static final Policy RANDOM = (game, player, legalMoves, random) -> legalMoves.get(random.nextInt(legalMoves.size()));
+
+	/**
+	 * Places the chip that joins the longest run of its team's chips, or removes the opponent chip that breaks
+	 * the longest opponent run. Ties are broken at random.
+	 */
+	public static final Policy GREEDY = (game, player, legalMoves, random) -> {
+		var board = game.getBoard();
+		var team = game.getPlayerContainer().getTeam(player);
+		MoveAction best = null;
+		var bestScore = -1;
+		var ties = 0;
+		for (var move : legalMoves) {
+			var chip = board.getChip(move.row(), move.column());
+			// A removal is scored by the run it breaks, a placement by the run it joins.
+			var score = chip != null ? runThrough(board, move.row(), move.column(), chip) : runThrough(board, move.row(), move.column(), team);
+			if (score > bestScore) {
+				best = move;
+				bestScore = score;
+				ties = 1;
+			} else if (score == bestScore && random.nextInt(++ties) == 0) {
+				best = move;
+			}
+		}
+		return best;
+	};
+
+	private static final Map<String, Policy> BY_NAME = Map.of("random", RANDOM, "greedy", GREEDY);
+	private static final int[][] DIRECTIONS = {{0, 1}, {1, 0}, {1, 1}, {1, -1}};
+
+	private Policies() {
+	}
+
+	/**
+	 * @throws IllegalArgumentException if there is no policy with that name
+	 */
+	public static Policy byName(String name) {
+		var policy = BY_NAME.get(name.toLowerCase());
+		if (policy == null) {
+			throw new IllegalArgumentException("Unknown policy " + name + ", expected one of " + BY_NAME.keySet());
+		}
+		return policy;
+	}
+
+	/**
+	 * @return the longest line of {@code team} chips and free corners through (row, column) in any direction,
+	 * counting the cell itself
+	 */
+	private static int runThrough(Board board, int row, int column, ChipColour team) {
+		var longest = 0;
+		for (var direction : DIRECTIONS) {
+			var length = 1 + runLength(board, row, column, direction[0], direction[1], team)
+					+ runLength(board, row, column, -direction[0], -direction[1], team);
+			longest = Math.max(longest, length);
+		}
+		return longest;
+	}
+
+	private static int runLength(Board board, int row, int column, int rowStep, int columnStep, ChipColour team) {
+		var length = 0;
+		row += rowStep;
+		column += columnStep;
+		while (row >= 0 && row < board.getRows() && column >= 0 && column < board.getRowLength(row)
+				&& (board.getCard(row, column) == null || board.getChip(row, column) == team)) {
+			length++;
+			row += rowStep;
+			column += columnStep;
+		}
+		return length;
+	}
+}
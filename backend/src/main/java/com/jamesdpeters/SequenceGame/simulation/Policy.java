@@ -0,0 +1,22 @@
+package com.jamesdpeters.SequenceGame.simulation;
+
+import com.jamesdpeters.SequenceGame.game.Game;
+import com.jamesdpeters.SequenceGame.game.MoveAction;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.random.RandomGenerator;
+
+/**
+ * Chooses a move for a simulated player. Policies are shared by every game running in parallel, so any state
+ * must be thread safe. All randomness should come from {@code random} to keep simulations reproducible.
+ */
+@FunctionalInterface
+public interface Policy {
+
+	/**
+	 * @param legalMoves every legal move for {@code player}, never empty
+	 * @return one of {@code legalMoves}
+	 */
+	MoveAction chooseMove(Game game, UUID player, List<MoveAction> legalMoves, RandomGenerator random);
+}
@@ -0,0 +1,48 @@
+package com.jamesdpeters.SequenceGame.simulation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+
+/**
+ * Command line entry point for {@link Simulator}, run with {@code ./gradlew simulate --args="..."}.
+ * <p>
+ * Options: {@code --games=10000}, {@code --seed=1}, {@code --threads=<cores>} and {@code --policies=random,greedy},
+ * one policy name per seat.
+ */
+public final class SimulationRunner {
+
+	private SimulationRunner() {
+	}
+
+	public static void main(String[] args) {
+		var options = new HashMap<String, String>();
+		for (var arg : args) {
+			var separator = arg.indexOf('=');
+			if (!arg.startsWith("--") || separator < 0) {
+				throw new IllegalArgumentException("Expected --name=value, got " + arg);
+			}
+			options.put(arg.substring(2, separator), arg.substring(separator + 1));
+		}
+
+		var games = Integer.parseInt(options.getOrDefault("games", "10000"));
+		var seed = Long.parseLong(options.getOrDefault("seed", "1"));
+		var threads = Integer.parseInt(options.getOrDefault("threads", String.valueOf(Runtime.getRuntime().availableProcessors())));
+		var seats = new ArrayList<Simulator.NamedPolicy>();
+		for (var name : options.getOrDefault("policies", "random,greedy").split(",")) {
+			seats.add(new Simulator.NamedPolicy(name.trim(), Policies.byName(name.trim())));
+		}
+
+		var simulator = new Simulator(seats, threads);
+		// A short warm up so the reported rate is not dominated by JIT compilation.
+		simulator.run(Math.min(games, 1_000), seed - 1);
+		var result = simulator.run(games, seed);
+
+		System.out.printf("Games:          %d (seed %d, %d threads, seats %s)%n", result.games(), seed, threads,
+				Arrays.toString(seats.stream().map(Simulator.NamedPolicy::name).toArray()));
+		System.out.printf("Games/sec:      %.0f%n", result.gamesPerSecond());
+		System.out.printf("Average moves:  %.1f%n", result.averageMoves());
+		System.out.printf("Unfinished:     %d%n", result.unfinished());
+		result.winRates().forEach((name, rate) -> System.out.printf("Win rate %-6s %.1f%%%n", name + ":", rate * 100));
+	}
+}
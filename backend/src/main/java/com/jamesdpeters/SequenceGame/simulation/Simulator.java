@@ -0,0 +1,132 @@
+package com.jamesdpeters.SequenceGame.simulation;
+
+import com.jamesdpeters.SequenceGame.card.Deck;
+import com.jamesdpeters.SequenceGame.game.Game;
+import com.jamesdpeters.SequenceGame.player.Player;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Plays complete games in process, without Spring or persistence, for bots and self-play.
+ * <p>
+ * Game {@code i} of a run is dealt and played from its own generator seeded by the run's seed and {@code i},
+ * so a run gives the same results whatever the parallelism. Seats rotate between games so no policy always
+ * moves first.
+ */
+public class Simulator {
+
+	// Games still running after this many moves are counted as unfinished.
+	static final int MAX_MOVES = 1_000;
+
+	private final List<NamedPolicy> seats;
+	private final int parallelism;
+
+	public record NamedPolicy(String name, Policy policy) { }
+
+	/**
+	 * @param seats       the policy for each seat, 2, 3, 4, 6, 8, 9, 10 or 12 of them
+	 * @param parallelism the number of games played at once
+	 */
+	public Simulator(List<NamedPolicy> seats, int parallelism) {
+		if (!Game.isValidPlayerSize(seats.size())) {
+			throw new IllegalArgumentException("A game cannot be played with " + seats.size() + " seats");
+		}
+		this.seats = List.copyOf(seats);
+		this.parallelism = Math.max(1, parallelism);
+	}
+
+	/**
+	 * @param winners the policies on the winning team, empty if the game did not finish
+	 */
+	public record GameOutcome(int moves, Set<String> winners) { }
+
+	public record Result(
+			int games,
+			long elapsedNanos,
+			double averageMoves,
+			int unfinished,
+			Map<String, Double> winRates
+	) {
+		public double gamesPerSecond() {
+			return elapsedNanos == 0 ? 0 : games * 1e9 / elapsedNanos;
+		}
+	}
+
+	public Result run(int games, long seed) {
+		var start = System.nanoTime();
+		var outcomes = new GameOutcome[games];
+		try (var pool = new ForkJoinPool(parallelism)) {
+			pool.submit(() -> IntStream.range(0, games).parallel().forEach(i -> outcomes[i] = playGame(seed, i))).get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Simulation interrupted", e);
+		} catch (ExecutionException e) {
+			throw new IllegalStateException("Simulated game failed", e.getCause());
+		}
+		var elapsed = System.nanoTime() - start;
+
+		long moves = 0;
+		var unfinished = 0;
+		var wins = new LinkedHashMap<String, Integer>();
+		seats.forEach(seat -> wins.put(seat.name(), 0));
+		for (var outcome : outcomes) {
+			moves += outcome.moves();
+			if (outcome.winners().isEmpty()) {
+				unfinished++;
+			}
+			outcome.winners().forEach(name -> wins.merge(name, 1, Integer::sum));
+		}
+		var winRates = new LinkedHashMap<String, Double>();
+		wins.forEach((name, count) -> winRates.put(name, games == 0 ? 0 : (double) count / games));
+		return new Result(games, elapsed, games == 0 ? 0 : (double) moves / games, unfinished, winRates);
+	}
+
+	/**
+	 * Plays game {@code index} of a run with the given seed.
+	 */
+	public GameOutcome playGame(long seed, int index) {
+		var random = new SplittableRandom(seed ^ (index * 0x9E3779B97F4A7C15L));
+		var game = new Game(seats.size(), new Deck(random));
+		var policies = new LinkedHashMap<UUID, NamedPolicy>();
+		var seatOrder = new ArrayList<>(seats);
+		Collections.rotate(seatOrder, index % seats.size());
+		for (int i = 0; i < seatOrder.size(); i++) {
+			var player = new Player(new UUID(index, i), new UUID(~index, i), seatOrder.get(i).name());
+			game.addPlayer(player);
+			policies.put(player.publicUuid(), seatOrder.get(i));
+		}
+		game.initialise();
+
+		var moves = 0;
+		while (game.getStatus() == Game.Status.IN_PROGRESS && moves < MAX_MOVES) {
+			var player = game.getCurrentPlayerTurn();
+			var legalMoves = game.getLegalMoveGenerator().getLegalMoves(player);
+			if (legalMoves.isEmpty()) {
+				break;
+			}
+			game.replayMove(player, policies.get(player).policy().chooseMove(game, player, legalMoves, random));
+			moves++;
+		}
+
+		var winners = new LinkedHashSet<String>();
+		if (game.getStatus() == Game.Status.COMPLETED) {
+			policies.forEach((player, seat) -> {
+				if (game.getPlayerContainer().getTeam(player) == game.getWinner()) {
+					winners.add(seat.name());
+				}
+			});
+		}
+		return new GameOutcome(moves, winners);
+	}
+}
@@ -0,0 +1,15 @@
+-- The draw pile is now numbered from the bottom of the deck, so drawing removes the highest card_order
+-- instead of renumbering the remaining cards. Flip existing rows via negative orders to avoid clashing
+-- with uk_deck_card_position part way through the update.
+UPDATE game_deck_card
+SET card_order = -1 - card_order
+WHERE pile = 'DRAW';
+
+UPDATE game_deck_card deck_card
+SET card_order = draw_pile.size + deck_card.card_order
+FROM (SELECT game_id, COUNT(*) AS size
+      FROM game_deck_card
+      WHERE pile = 'DRAW'
+      GROUP BY game_id) draw_pile
+WHERE deck_card.game_id = draw_pile.game_id
+  AND deck_card.pile = 'DRAW';
@@ -0,0 +1,26 @@
+ALTER TABLE game_move
+    ADD COLUMN drawn_card_suit card_suit;
+
+ALTER TABLE game_move
+    ADD COLUMN drawn_card_value INTEGER;
+
+ALTER TABLE game_move
+    ADD COLUMN reshuffled BOOLEAN NOT NULL DEFAULT FALSE;
+
+CREATE SEQUENCE IF NOT EXISTS game_snapshot_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE game_snapshot
+(
+    id           BIGINT                   NOT NULL,
+    game_id      UUID                     NOT NULL,
+    move_count   INTEGER                  NOT NULL,
+    created_date TIMESTAMP WITH TIME ZONE NOT NULL,
+    state        BYTEA                    NOT NULL,
+    CONSTRAINT pk_game_snapshot PRIMARY KEY (id)
+);
+
+ALTER TABLE game_snapshot
+    ADD CONSTRAINT uk_game_snapshot_move_count UNIQUE (game_id, move_count);
+
+ALTER TABLE game_snapshot
+    ADD CONSTRAINT FK_GAME_SNAPSHOT_ON_GAME FOREIGN KEY (game_id) REFERENCES game (id);
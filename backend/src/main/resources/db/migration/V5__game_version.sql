@@ -0,0 +1,11 @@
+ALTER TABLE game
+    ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+
+ALTER TABLE game
+    ADD COLUMN updated_date TIMESTAMP WITH TIME ZONE;
+
+UPDATE game
+SET updated_date = COALESCE(started_date, created_date);
+
+ALTER TABLE game
+    ALTER COLUMN updated_date SET NOT NULL;
@@ -0,0 +1,24 @@
+CREATE TABLE game_stats
+(
+    game_id         UUID                     NOT NULL,
+    status          game_status              NOT NULL,
+    created_date    TIMESTAMP WITH TIME ZONE NOT NULL,
+    started_date    TIMESTAMP WITH TIME ZONE,
+    winner          chip_colour,
+    moves           INTEGER                  NOT NULL,
+    red_sequences   INTEGER                  NOT NULL,
+    blue_sequences  INTEGER                  NOT NULL,
+    green_sequences INTEGER                  NOT NULL,
+    red_chips       INTEGER                  NOT NULL,
+    blue_chips      INTEGER                  NOT NULL,
+    green_chips     INTEGER                  NOT NULL,
+    CONSTRAINT pk_game_stats PRIMARY KEY (game_id)
+);
+
+ALTER TABLE game_stats
+    ADD CONSTRAINT FK_GAME_STATS_ON_GAME FOREIGN KEY (game_id) REFERENCES game (id) ON DELETE CASCADE;
+
+-- Keyset pagination walks (created_date, game_id), optionally within one status.
+CREATE INDEX idx_game_stats_created ON game_stats (created_date, game_id);
+
+CREATE INDEX idx_game_stats_status_created ON game_stats (status, created_date, game_id);
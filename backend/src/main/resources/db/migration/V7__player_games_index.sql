@@ -0,0 +1,5 @@
+-- Lists a player's games from the index alone: the public UUID leads to the game ids without reading the
+-- game_player heap, replacing the single column index.
+DROP INDEX idx_game_player_public_uuid;
+
+CREATE INDEX idx_game_player_public_uuid_game ON game_player (public_uuid) INCLUDE (game_id);
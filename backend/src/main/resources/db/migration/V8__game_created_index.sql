@@ -0,0 +1,2 @@
+-- A player's games are listed newest first by seeking on (created_date, id), scanned backwards.
+CREATE INDEX idx_game_created ON game (created_date, id);
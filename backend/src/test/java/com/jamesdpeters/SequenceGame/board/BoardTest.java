@@ -51,6 +51,32 @@ class BoardTest {
 		assertFalse(board.isDeadCard(card));
 	}
 
+	@Test
+	void testOpenSpacesTrackChipsPlacedAndRemoved() {
+		Board board = new Board();
+		Card card = new Card(Card.Suit.DIAMONDS, 7);
+		var spaces = board.getBoardSpacesFromCard(card);
+		assertEquals(2, spaces.size());
+		assertEquals(2, board.getOpenSpaces(card));
+
+		board.setChip(spaces.get(0).getLeft(), spaces.get(0).getRight(), ChipColour.RED);
+		board.setChip(spaces.get(0).getLeft(), spaces.get(0).getRight(), ChipColour.BLUE);
+		assertEquals(1, board.getOpenSpaces(card));
+		board.setChip(spaces.get(1).getLeft(), spaces.get(1).getRight(), ChipColour.RED);
+		assertTrue(board.isDeadCard(card));
+
+		board.setChip(spaces.get(0).getLeft(), spaces.get(0).getRight(), null);
+		assertEquals(1, board.getOpenSpaces(card));
+		assertFalse(board.isDeadCard(card));
+	}
+
+	@Test
+	void testCardPositionsAreSharedBetweenBoards() {
+		Card card = new Card(Card.Suit.CLUBS, 3);
+		assertSame(new Board().getBoardSpacesFromCard(card), new Board().getBoardSpacesFromCard(card));
+		assertTrue(new Board().getBoardSpacesFromCard(new Card(Card.Suit.CLUBS, 11)).isEmpty());
+	}
+
 	@Test
 	void testDoesFiveInARowResultInAllChipsBeingPartOfSequence() {
 		Board board = new Board();
@@ -142,6 +168,99 @@ class BoardTest {
 		assertEquals(1, board.getCompletedSequences(ChipColour.RED));
 	}
 
+	@Test
+	void testChipsPlacedTracksReplacedAndRemovedChips() {
+		Board board = new Board();
+		board.setChip(1, 1, ChipColour.RED);
+		board.setChip(1, 2, ChipColour.RED);
+		board.setChip(1, 2, ChipColour.BLUE);
+		board.setChip(1, 1, null);
+		assertEquals(0, board.getChipsPlaced(ChipColour.RED));
+		assertEquals(1, board.getChipsPlaced(ChipColour.BLUE));
+		assertEquals(ChipColour.BLUE, board.getChip(1, 2));
+		assertNull(board.getChip(1, 1));
+	}
+
+	@Test
+	void testBoardSpaceIsAViewOfTheBoard() {
+		Board board = new Board();
+		var space = board.getSpace(3, 4);
+		board.setChip(3, 4, ChipColour.GREEN);
+		assertEquals(ChipColour.GREEN, space.getChip());
+		space.setPartOfSequence(true);
+		assertTrue(board.isPartOfSequence(3, 4));
+	}
+
+	@Test
+	void testOutOfBoundsPositionIsRejected() {
+		Board board = new Board();
+		assertThrows(IndexOutOfBoundsException.class, () -> board.setChip(0, 10, ChipColour.RED));
+		assertThrows(IndexOutOfBoundsException.class, () -> board.getChip(-1, 0));
+	}
+
+	@Test
+	void testHashTracksChipsAndSequences() {
+		Board board = new Board();
+		assertEquals(0, board.getHash());
+
+		for (int col = 1; col <= 5; col++) {
+			board.setChip(1, col, ChipColour.BLUE);
+			assertEquals(board.computeHash(), board.getHash());
+		}
+		assertTrue(board.isPartOfSequence(1, 3));
+		var withSequence = board.getHash();
+
+		board.setChip(5, 5, ChipColour.RED);
+		board.setChip(5, 5, ChipColour.GREEN);
+		board.setChip(5, 5, null);
+		assertEquals(withSequence, board.getHash());
+
+		board.setPartOfSequence(1, 3, false);
+		assertNotEquals(withSequence, board.getHash());
+		assertEquals(board.computeHash(), board.getHash());
+	}
+
+	@Test
+	void testHashDoesNotDependOnMoveOrder() {
+		Board first = new Board();
+		first.setChip(2, 2, ChipColour.RED);
+		first.setChip(7, 4, ChipColour.BLUE);
+		Board second = new Board();
+		second.setChip(7, 4, ChipColour.GREEN);
+		second.setChip(7, 4, ChipColour.BLUE);
+		second.setChip(2, 2, ChipColour.RED);
+
+		assertEquals(first.getHash(), second.getHash());
+		second.setChip(2, 2, ChipColour.BLUE);
+		assertNotEquals(first.getHash(), second.getHash());
+	}
+
+	@Test
+	void testUndoChipRestoresSequencesAndHash() {
+		Board board = new Board();
+		for (int col = 1; col <= 4; col++) {
+			board.setChip(1, col, ChipColour.BLUE);
+		}
+		var hash = board.getHash();
+		var sequenceCells = board.getSequenceCells();
+		var openSpaces = board.getOpenSpaces(board.getCard(1, 5));
+
+		board.setChip(1, 5, ChipColour.BLUE);
+		assertEquals(1, board.getCompletedSequences(ChipColour.BLUE));
+		board.undoChip(1, 5, null, sequenceCells, 0);
+
+		assertEquals(hash, board.getHash());
+		assertEquals(board.computeHash(), board.getHash());
+		assertEquals(sequenceCells, board.getSequenceCells());
+		assertEquals(0, board.getCompletedSequences(ChipColour.BLUE));
+		assertNull(board.getChip(1, 5));
+		assertEquals(openSpaces, board.getOpenSpaces(board.getCard(1, 5)));
+
+		board.setChip(1, 2, null);
+		board.undoChip(1, 2, ChipColour.BLUE, sequenceCells, 0);
+		assertEquals(hash, board.getHash());
+	}
+
 	private void setOneCardChip(Board board, Card card) {
 		for (int row = 0; row < board.getRows(); row++) {
 			for (int col = 0; col < board.getColumn(row).length; col++) {
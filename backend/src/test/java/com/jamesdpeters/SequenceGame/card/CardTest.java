@@ -51,4 +51,20 @@ class CardTest {
 		assertNull(Card.fromString("BH"));
 	}
 
-}
\ No newline at end of file
+	@Test
+	void cardsAreInterned() {
+		assertSame(Card.of(Card.Suit.HEARTS, 7), Card.of(Card.Suit.HEARTS, 7));
+		assertSame(Card.of(Card.Suit.HEARTS, 7), Card.fromString("7H"));
+		assertEquals(new Card(Card.Suit.HEARTS, 7), Card.of(Card.Suit.HEARTS, 7));
+		assertEquals(new Card(Card.Suit.HEARTS, 7).hashCode(), Card.of(Card.Suit.HEARTS, 7).hashCode());
+	}
+
+	@Test
+	void idsCoverEveryCardOnce() {
+		for (int id = 0; id < Card.COUNT; id++) {
+			assertEquals(id, Card.of(id).id());
+			assertSame(Card.of(id), Card.of(Card.of(id).suit(), Card.of(id).value()));
+		}
+		assertThrows(IllegalArgumentException.class, () -> Card.of(Card.Suit.CLUBS, 14));
+	}
+}
@@ -2,6 +2,10 @@ package com.jamesdpeters.SequenceGame.card;
 
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class DeckTest {
@@ -32,4 +36,84 @@ class DeckTest {
 		assertEquals(discardedCard, newCard);
 	}
 
-}
\ No newline at end of file
+	@Test
+	void seededDecksShuffleAndReshuffleTheSame() {
+		var first = new Deck(new SplittableRandom(5));
+		var second = new Deck(new SplittableRandom(5));
+		var firstDraws = new ArrayList<Card>();
+		var secondDraws = new ArrayList<Card>();
+		for (int i = 0; i < 300; i++) {
+			var card = first.draw();
+			first.discard(card);
+			firstDraws.add(card);
+			card = second.draw();
+			second.discard(card);
+			secondDraws.add(card);
+		}
+		assertEquals(firstDraws, secondDraws);
+	}
+
+	@Test
+	void iterationMatchesDrawOrder() {
+		var deck = new Deck(new SplittableRandom(3));
+		deck.draw(10);
+		var remaining = new ArrayList<>(deck);
+		assertEquals(94, remaining.size());
+		for (var card : remaining) {
+			assertEquals(card, deck.draw());
+		}
+		assertTrue(deck.isEmpty());
+	}
+
+	@Test
+	void copiesAreIndependent() {
+		var deck = new Deck(new SplittableRandom(11));
+		deck.draw(5);
+		deck.discard(new Card(Card.Suit.HEARTS, 4));
+		var copy = deck.copy();
+
+		assertEquals(new ArrayList<>(deck), new ArrayList<>(copy));
+		assertEquals(deck.getDiscardPile(), copy.getDiscardPile());
+
+		copy.draw();
+		copy.discard(new Card(Card.Suit.CLUBS, 9));
+		assertEquals(99, deck.size());
+		assertEquals(1, deck.getDiscardPile().size());
+	}
+
+	@Test
+	void copiesOfASeededDeckReshuffleTheSame() {
+		var first = new Deck(new SplittableRandom(7)).copy();
+		var second = new Deck(new SplittableRandom(7)).copy();
+		for (int i = 0; i < 300; i++) {
+			var card = first.draw();
+			assertEquals(card, second.draw());
+			first.discard(card);
+			second.discard(card);
+		}
+	}
+
+	@Test
+	void drawsDiscardsAndReshufflesCanBeUndone() {
+		var deck = new Deck(new SplittableRandom(13));
+		var drawPile = new ArrayList<>(deck);
+		var card = deck.draw();
+		deck.discard(card);
+		deck.undoDiscard(card);
+		deck.undoDraw(card);
+		assertEquals(drawPile, new ArrayList<>(deck));
+		assertTrue(deck.getDiscardPile().isEmpty());
+		assertThrows(IllegalStateException.class, () -> deck.undoDiscard(card));
+
+		for (var drawn : deck.draw(deck.size())) {
+			deck.discard(drawn);
+		}
+		var discardPile = List.copyOf(deck.getDiscardPile());
+		var reshuffled = deck.draw();
+		deck.undoDraw(reshuffled);
+		deck.undoReshuffle(discardPile);
+		assertTrue(deck.isEmpty());
+		assertEquals(discardPile, deck.getDiscardPile());
+	}
+
+}
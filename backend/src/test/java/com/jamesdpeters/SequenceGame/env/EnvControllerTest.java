@@ -0,0 +1,67 @@
+package com.jamesdpeters.SequenceGame.env;
+
+import com.jamesdpeters.SequenceGame.game.exceptions.UserDoesNotHavePermissionException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.resttestclient.autoconfigure.AutoConfigureRestTestClient;
+import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.client.RestTestClient;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@WebMvcTest(EnvController.class)
+@AutoConfigureRestTestClient
+class EnvControllerTest {
+
+	@Autowired
+	RestTestClient restTestClient;
+
+	@MockitoBean
+	EnvService envService;
+
+	@Test
+	void observationIsRawBytes() {
+		when(envService.observation(any(), any())).thenReturn(new byte[]{1, 2, 3});
+
+		var body = restTestClient.get().uri("/env/observation/{gameUuid}/{playerUuid}", UUID.randomUUID(), UUID.randomUUID())
+						.accept(MediaType.APPLICATION_OCTET_STREAM)
+						.exchange()
+						.expectStatus().isOk()
+						.expectHeader().contentType(MediaType.APPLICATION_OCTET_STREAM)
+						.returnResult(byte[].class)
+						.getResponseBody();
+
+		assertArrayEquals(new byte[]{1, 2, 3}, body);
+	}
+
+	@Test
+	void observationAsNpy() {
+		when(envService.observation(any(), any())).thenReturn(new byte[]{1, 2, 3});
+
+		var body = restTestClient.get().uri("/env/observation/{gameUuid}/{playerUuid}", UUID.randomUUID(), UUID.randomUUID())
+						.accept(MediaType.parseMediaType(EnvController.NPY_VALUE))
+						.exchange()
+						.expectStatus().isOk()
+						.expectHeader().contentType(EnvController.NPY_VALUE)
+						.returnResult(byte[].class)
+						.getResponseBody();
+
+		assertArrayEquals(ObservationEncoder.toNpy(new byte[]{1, 2, 3}), body);
+	}
+
+	@Test
+	void observationWithoutPermission() {
+		var uuid = UUID.randomUUID();
+		when(envService.observation(any(), any())).thenThrow(new UserDoesNotHavePermissionException(uuid));
+
+		restTestClient.get().uri("/env/observation/{gameUuid}/{playerUuid}", UUID.randomUUID(), uuid)
+						.exchange()
+						.expectStatus().isUnauthorized();
+	}
+}
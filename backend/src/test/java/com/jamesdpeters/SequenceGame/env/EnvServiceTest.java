@@ -0,0 +1,168 @@
+package com.jamesdpeters.SequenceGame.env;
+
+import com.jamesdpeters.SequenceGame.env.exceptions.EnvBatchTooLargeException;
+import com.jamesdpeters.SequenceGame.env.exceptions.EnvInvalidResetException;
+import com.jamesdpeters.SequenceGame.game.GameService;
+import com.jamesdpeters.SequenceGame.game.InMemoryGameRepository;
+import com.jamesdpeters.SequenceGame.game.exceptions.UserDoesNotHavePermissionException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EnvServiceTest {
+
+	private GameService gameService;
+	private EnvService envService;
+
+	@BeforeEach
+	void setUp() {
+		gameService = new GameService(new InMemoryGameRepository());
+		envService = new EnvService(gameService, 8);
+	}
+
+	@Test
+	void resetStartsEveryGame() {
+		var response = envService.reset(new EnvResetRequest(4, null));
+
+		assertEquals(4, response.envs().size());
+		assertEquals(100, response.cellCount());
+		assertEquals(0, response.boardCards()[0]);
+		for (var env : response.envs()) {
+			var game = gameService.getGame(env.gameUuid());
+			assertEquals(2, game.getPlayers().size());
+			assertEquals(game.getCurrentPlayerTurn(), game.getPlayerContainer().getPublicUuid(env.playerUuid()));
+			assertEquals(ObservationEncoder.MAX_HAND_SIZE, env.hand().length);
+			assertEquals((ObservationEncoder.MAX_HAND_SIZE * 100 + 7) / 8, env.actionMask().length);
+			assertFalse(env.done());
+		}
+	}
+
+	@Test
+	void legalActionsAreApplied() {
+		var env = envService.reset(new EnvResetRequest(1, null)).envs().getFirst();
+		var game = gameService.getGame(env.gameUuid());
+		var versionBefore = game.getVersion();
+
+		var next = envService.step(new EnvStepRequest(List.of(
+				new EnvStepRequest.EnvAction(env.gameUuid(), env.playerUuid(), firstLegalAction(env.actionMask()))))).envs().getFirst();
+
+		assertFalse(next.invalid());
+		assertEquals(versionBefore + 1, gameService.getGame(env.gameUuid()).getVersion());
+	}
+
+	@Test
+	void illegalActionsLeaveGameUnchanged() {
+		var env = envService.reset(new EnvResetRequest(1, null)).envs().getFirst();
+		var versionBefore = gameService.getGame(env.gameUuid()).getVersion();
+
+		// Cell 0 is a free corner, which no card may be played on.
+		var next = envService.step(new EnvStepRequest(List.of(
+				new EnvStepRequest.EnvAction(env.gameUuid(), env.playerUuid(), 0)))).envs().getFirst();
+
+		assertTrue(next.invalid());
+		assertEquals(-1, next.reward());
+		assertEquals(env.playerUuid(), next.playerUuid());
+		assertEquals(versionBefore, gameService.getGame(env.gameUuid()).getVersion());
+	}
+
+	@Test
+	void gamesCanBePlayedToTheEnd() {
+		var random = new Random(3);
+		var envs = envService.reset(new EnvResetRequest(4, null)).envs();
+		for (int step = 0; step < 1_000 && envs.stream().anyMatch(env -> !env.done()); step++) {
+			var actions = envs.stream()
+					.filter(env -> !env.done())
+					// A player left without any legal move ends that game undecided.
+					.filter(env -> legalActions(env.actionMask()).length > 0)
+					.map(env -> new EnvStepRequest.EnvAction(env.gameUuid(), env.playerUuid(), randomLegalAction(env.actionMask(), random)))
+					.toList();
+			var stepped = envService.step(new EnvStepRequest(actions)).envs();
+			assertTrue(stepped.stream().noneMatch(EnvState::invalid));
+			if (stepped.isEmpty()) {
+				break;
+			}
+			envs = new ArrayList<>(envs.stream().filter(EnvState::done).toList());
+			envs.addAll(stepped);
+		}
+
+		assertTrue(envs.stream().anyMatch(EnvState::done));
+		assertTrue(envs.stream().filter(EnvState::done).allMatch(env -> env.winner() != null));
+	}
+
+	@Test
+	void unknownPlayerIsRejected() {
+		var env = envService.reset(new EnvResetRequest(1, null)).envs().getFirst();
+
+		assertThrows(UserDoesNotHavePermissionException.class, () -> envService.step(new EnvStepRequest(List.of(
+				new EnvStepRequest.EnvAction(env.gameUuid(), UUID.randomUUID(), 0)))));
+	}
+
+	@Test
+	void observationPacksPlanesHandAndTurnInfo() {
+		var env = envService.reset(new EnvResetRequest(1, null)).envs().getFirst();
+		var game = gameService.getGame(env.gameUuid());
+		var player = game.getCurrentPlayerTurn();
+
+		var observation = envService.observation(env.gameUuid(), env.playerUuid());
+
+		assertEquals(ObservationEncoder.observationLength(game.getBoard()), observation.length);
+		assertArrayEquals(env.chips(), Arrays.copyOfRange(observation, 0, 100));
+		assertArrayEquals(ObservationEncoder.boardCards(game.getBoard()), Arrays.copyOfRange(observation, 100, 200));
+		assertArrayEquals(env.hand(), Arrays.copyOfRange(observation, 300, 307));
+		assertEquals(ObservationEncoder.cardId(game.getPlayerHands().get(player).getFirst()), observation[300]);
+		assertEquals(1, observation[307]);
+	}
+
+	@Test
+	void npyHeaderIsAligned() {
+		var npy = ObservationEncoder.toNpy(new byte[]{1, 2, 3});
+
+		assertEquals((byte) 0x93, npy[0]);
+		assertEquals("NUMPY", new String(npy, 1, 5, StandardCharsets.US_ASCII));
+		var headerLength = (npy[8] & 0xff) | (npy[9] & 0xff) << 8;
+		assertEquals(0, (10 + headerLength) % 64);
+		assertTrue(new String(npy, 10, headerLength, StandardCharsets.US_ASCII).contains("'shape': (3,)"));
+		assertArrayEquals(new byte[]{1, 2, 3}, Arrays.copyOfRange(npy, 10 + headerLength, npy.length));
+	}
+
+	@Test
+	void resetRejectsInvalidCountAndPlayers() {
+		assertThrows(EnvInvalidResetException.class, () -> envService.reset(new EnvResetRequest(0, null)));
+		assertThrows(EnvInvalidResetException.class, () -> envService.reset(new EnvResetRequest(-1, null)));
+		assertThrows(EnvInvalidResetException.class, () -> envService.reset(new EnvResetRequest(1, 5)));
+		assertThrows(EnvInvalidResetException.class, () -> envService.reset(new EnvResetRequest(1, 1)));
+	}
+
+	@Test
+	void batchesAreLimited() {
+		assertThrows(EnvBatchTooLargeException.class, () -> envService.reset(new EnvResetRequest(9, null)));
+	}
+
+	private static int firstLegalAction(byte[] mask) {
+		return randomLegalAction(mask, null);
+	}
+
+	private static int randomLegalAction(byte[] mask, Random random) {
+		var legal = legalActions(mask);
+		assertTrue(legal.length > 0);
+		return random == null ? legal[0] : legal[random.nextInt(legal.length)];
+	}
+
+	private static int[] legalActions(byte[] mask) {
+		var legal = new ArrayList<Integer>();
+		for (int action = 0; action < mask.length * 8; action++) {
+			if ((mask[action >> 3] & (1 << (action & 7))) != 0) {
+				legal.add(action);
+			}
+		}
+		return legal.stream().mapToInt(Integer::intValue).toArray();
+	}
+}
@@ -0,0 +1,223 @@
+package com.jamesdpeters.SequenceGame.game;
+
+import com.jamesdpeters.SequenceGame.game.exceptions.GameVersionConflictException;
+import com.jamesdpeters.SequenceGame.player.Player;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CachingGameRepositoryTest {
+
+	private final DurableGameRepository delegate = mock(DurableGameRepository.class);
+	private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+	private CachingGameRepository cache;
+
+	@BeforeEach
+	void setUp() {
+		when(delegate.findVersion(any())).thenReturn(null);
+	}
+
+	@AfterEach
+	void tearDown() {
+		cache.close();
+	}
+
+	@Test
+	void readsAreServedFromMemory() {
+		cache = newCache(10, Duration.ofMinutes(30));
+		var game = new Game();
+		when(delegate.findByUuid(game.getUuid())).thenReturn(game);
+
+		assertSame(game, cache.findByUuid(game.getUuid()));
+		assertSame(game, cache.findByUuid(game.getUuid()));
+
+		verify(delegate, times(1)).findByUuid(game.getUuid());
+	}
+
+	@Test
+	void savesAreCoalescedIntoOneWrite() {
+		cache = newCache(10, Duration.ofMinutes(30));
+		var game = new Game();
+		game.setVersion(3);
+		when(delegate.findByUuid(game.getUuid())).thenReturn(game);
+
+		var cached = cache.findByUuid(game.getUuid());
+		cache.save(cached);
+		cache.save(cached);
+		cache.save(cached);
+
+		assertEquals(6, cache.findVersion(game.getUuid()));
+		verify(delegate, never()).saveCoalesced(any(), any());
+
+		cache.flush();
+		cache.flush();
+
+		verify(delegate, times(1)).saveCoalesced(game, 3L);
+	}
+
+	@Test
+	void newGamesAreWrittenOnFlush() {
+		cache = newCache(10, Duration.ofMinutes(30));
+		var game = new Game();
+
+		cache.save(game);
+		game.addPlayer(new Player(UUID.randomUUID(), UUID.randomUUID(), "Host"));
+		cache.save(game);
+		cache.flush();
+
+		assertEquals(1, game.getVersion());
+		verify(delegate).saveCoalesced(eq(game), eq(null));
+		var listed = cache.findAll().iterator().next();
+		// Listings hand out copies, only commands in the mailbox see the cached instance.
+		assertNotSame(game, listed);
+		assertEquals(game.getPlayers(), listed.getPlayers());
+	}
+
+	@Test
+	void savesTheDelegateRequiresAreWrittenImmediately() {
+		cache = newCache(10, Duration.ofMinutes(30));
+		var game = new Game();
+		cache.save(game);
+		when(delegate.requiresImmediateWrite(game)).thenReturn(true);
+
+		cache.save(game);
+
+		verify(delegate).saveCoalesced(game, null);
+		cache.flush();
+		verify(delegate, times(1)).saveCoalesced(any(), any());
+	}
+
+	@Test
+	void staleSaveIsRejected() {
+		cache = newCache(10, Duration.ofMinutes(30));
+		var game = new Game();
+		cache.save(game);
+		cache.save(game);
+
+		var stale = Game.rehydrate(game.getUuid(), game.getCreatedDate(), game.getDeck(), game.getBoard(),
+				game.getPlayerContainer(), game.getAmountOfTurns(), game.getMoveHistory(), game.getMaxPlayers(),
+				null, null, game.getWinningSequenceLength(), false, game.getStatus(), 0);
+
+		assertThrows(GameVersionConflictException.class, () -> cache.save(stale));
+	}
+
+	@Test
+	void conflictWithAnEarlierStateOfTheGameIsWrittenOver() {
+		cache = newCache(10, Duration.ofMinutes(30));
+		var game = new Game();
+		cache.save(game);
+		cache.save(game);
+		cache.save(game);
+		var stored = storedCopy(game, 1);
+		when(delegate.saveCoalesced(game, null)).thenThrow(new GameVersionConflictException(game.getUuid(), 0));
+		when(delegate.findByUuid(game.getUuid())).thenReturn(stored);
+
+		cache.flush();
+		cache.flush();
+
+		verify(delegate, times(1)).saveCoalesced(game, 1L);
+		assertEquals(0, registry.counter("game.cache.lost").count());
+	}
+
+	@Test
+	void conflictWithGameChangedElsewhereIsReported() {
+		cache = newCache(10, Duration.ofMinutes(30));
+		var game = new Game();
+		cache.save(game);
+		cache.save(game);
+		var stored = storedCopy(game, 1);
+		stored.addPlayer(new Player(UUID.randomUUID(), UUID.randomUUID(), "Elsewhere"));
+		when(delegate.saveCoalesced(game, null)).thenThrow(new GameVersionConflictException(game.getUuid(), 0));
+		when(delegate.findByUuid(game.getUuid())).thenReturn(stored);
+
+		cache.flush();
+
+		assertEquals(0, cache.size());
+		assertEquals(1, registry.counter("game.cache.lost").count());
+		verify(delegate, never()).saveCoalesced(game, 1L);
+	}
+
+	@Test
+	void idleGamesAreEvictedOnceFlushed() {
+		cache = newCache(10, Duration.ZERO);
+		var game = new Game();
+		when(delegate.findByUuid(game.getUuid())).thenReturn(game);
+		cache.save(game);
+
+		cache.flushAndEvict();
+
+		assertEquals(0, cache.size());
+		verify(delegate).saveCoalesced(eq(game), eq(null));
+		cache.findByUuid(game.getUuid());
+		verify(delegate, times(1)).findByUuid(game.getUuid());
+	}
+
+	@Test
+	void leastRecentlyUsedGamesAreEvictedOverCapacity() {
+		cache = newCache(2, Duration.ofMinutes(30));
+		var first = new Game();
+		var second = new Game();
+		var third = new Game();
+		cache.save(first);
+		cache.save(second);
+		cache.save(third);
+		cache.findByUuid(first.getUuid());
+
+		cache.flushAndEvict();
+
+		assertEquals(2, cache.size());
+		cache.findByUuid(first.getUuid());
+		cache.findByUuid(second.getUuid());
+		cache.findByUuid(third.getUuid());
+		verify(delegate, never()).findByUuid(first.getUuid());
+		verify(delegate).findByUuid(second.getUuid());
+		verify(delegate, never()).findByUuid(third.getUuid());
+	}
+
+	@Test
+	void playerSummariesIncludeUnflushedGames() {
+		cache = newCache(10, Duration.ofMinutes(30));
+		var player = new Player(UUID.randomUUID(), UUID.randomUUID(), "Host");
+		var stored = new Game();
+		stored.addPlayer(player);
+		var unflushed = new Game();
+		unflushed.addPlayer(player);
+		when(delegate.findSummariesByPlayer(player.publicUuid(), null, 10)).thenReturn(List.of(GameSummary.from(stored)));
+		when(delegate.findByUuid(stored.getUuid())).thenReturn(stored);
+
+		var cached = cache.findByUuid(stored.getUuid());
+		cached.setStatus(Game.Status.IN_PROGRESS);
+		cache.save(cached);
+		cache.save(unflushed);
+		var summaries = cache.findSummariesByPlayer(player.publicUuid(), null, 10);
+
+		assertEquals(2, summaries.size());
+		var cachedSummary = summaries.stream().filter(summary -> summary.gameUuid().equals(stored.getUuid())).findFirst().orElseThrow();
+		assertEquals(Game.Status.IN_PROGRESS, cachedSummary.status());
+		assertTrue(summaries.stream().anyMatch(summary -> summary.gameUuid().equals(unflushed.getUuid())));
+	}
+
+	private CachingGameRepository newCache(int maxSize, Duration ttl) {
+		return new CachingGameRepository(delegate, new GameMailboxes(), new GameMetrics(registry), maxSize, ttl, Duration.ofHours(1));
+	}
+
+	private static Game storedCopy(Game game, long version) {
+		var copy = game.copy();
+		copy.setVersion(version);
+		return copy;
+	}
+}
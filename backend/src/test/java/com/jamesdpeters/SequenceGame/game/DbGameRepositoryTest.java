@@ -0,0 +1,255 @@
+package com.jamesdpeters.SequenceGame.game;
+
+import com.jamesdpeters.SequenceGame.card.Card;
+import com.jamesdpeters.SequenceGame.card.Deck;
+import com.jamesdpeters.SequenceGame.game.persistence.repository.GameStatsJpaRepository;
+import com.jamesdpeters.SequenceGame.player.Player;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIf;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.testcontainers.DockerClientFactory;
+
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Counts the JDBC statements behind each save and load, against PostgreSQL in a container. Skipped without Docker.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+@EnabledIf("dockerAvailable")
+class DbGameRepositoryTest {
+
+	@Autowired
+	private DbGameRepository repository;
+
+	@Autowired
+	private GameStatsJpaRepository statsJpaRepository;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	private Statistics statistics;
+
+	static boolean dockerAvailable() {
+		return DockerClientFactory.instance().isDockerAvailable();
+	}
+
+	@BeforeEach
+	void setUp() {
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+	}
+
+	@Test
+	void newGameIsInsertedInBatches() {
+		var game = startedGame(new Deck());
+
+		statistics.clear();
+		repository.save(game);
+
+		// 100 board spaces, 90 deck cards, 14 hand cards, 2 players and the game row.
+		assertEquals(207, statistics.getEntityInsertCount());
+		// One lookup, a handful of sequence calls and one batched insert per table and batch of 50 rows.
+		assertTrue(statistics.getPrepareStatementCount() <= 20,
+				"Expected batched inserts, prepared " + statistics.getPrepareStatementCount() + " statements");
+	}
+
+	@Test
+	void publicPlayerUuidIsFoundWithoutLoadingTheGame() {
+		var game = repository.save(startedGame(new Deck()));
+		var publicUuid = game.getPlayers().getFirst();
+		var privateUuid = game.getPlayerContainer().getPrivateUuid(publicUuid);
+
+		statistics.clear();
+		assertEquals(publicUuid, repository.findPublicPlayerUuid(game.getUuid(), privateUuid));
+		assertNull(repository.findPublicPlayerUuid(game.getUuid(), publicUuid));
+
+		assertEquals(2, statistics.getPrepareStatementCount());
+	}
+
+	@Test
+	void moveIsSavedWithoutPerRowDeletes() {
+		var game = repository.save(startedGame(new Deck()));
+		playFirstLegalMove(game);
+
+		statistics.clear();
+		repository.save(game);
+
+		assertEquals(0, statistics.getEntityDeleteCount());
+		assertTrue(statistics.getPrepareStatementCount() <= 20,
+				"Prepared " + statistics.getPrepareStatementCount() + " statements for one move");
+		var stored = repository.findByUuid(game.getUuid());
+		assertEquals(new ArrayList<>(game.getDeck()), new ArrayList<>(stored.getDeck()));
+		assertEquals(game.getDeck().getDiscardPile(), stored.getDeck().getDiscardPile());
+	}
+
+	@Test
+	void reshuffleClearsTheDiscardPileInOneStatement() {
+		// 14 cards are dealt, leaving one to draw. The second move finds the draw pile empty and reshuffles.
+		var cards = new ArrayList<Card>();
+		for (int value = 1; cards.size() < 15; value = value % 10 + 1) {
+			cards.add(new Card(Card.Suit.values()[cards.size() % 4], value));
+		}
+		var game = repository.save(startedGame(new Deck(cards)));
+		playFirstLegalMove(game);
+		repository.save(game);
+		assertEquals(1, repository.findByUuid(game.getUuid()).getDeck().getDiscardPile().size());
+
+		var draw = playFirstLegalMove(game);
+		assertTrue(draw.reshuffled());
+		statistics.clear();
+		repository.save(game);
+
+		assertEquals(0, statistics.getEntityDeleteCount());
+		var stored = repository.findByUuid(game.getUuid());
+		assertEquals(new ArrayList<>(game.getDeck()), new ArrayList<>(stored.getDeck()));
+		assertTrue(stored.getDeck().getDiscardPile().isEmpty());
+	}
+
+	@Test
+	void gameIsLoadedInAFixedNumberOfQueries() {
+		var game = repository.save(startedGame(new Deck()));
+		playFirstLegalMove(game);
+		repository.save(game);
+
+		statistics.clear();
+		var stored = repository.findByUuid(game.getUuid());
+
+		// The game with its players, then one query per child collection, with no lazy loads while mapping.
+		assertEquals(6, statistics.getPrepareStatementCount());
+		assertEquals(0, statistics.getCollectionFetchCount());
+		assertEquals(game.getMoveHistory(), stored.getMoveHistory());
+		assertEquals(game.getPlayerHands(), stored.getPlayerHands());
+	}
+
+	@Test
+	void findAllDoesNotQueryPerGame() {
+		for (int i = 0; i < 3; i++) {
+			repository.save(startedGame(new Deck()));
+		}
+
+		statistics.clear();
+		var games = repository.findAll();
+
+		assertTrue(games.size() >= 3);
+		assertEquals(6, statistics.getPrepareStatementCount());
+		assertEquals(0, statistics.getCollectionFetchCount());
+	}
+
+	@Test
+	void statsRowIsUpdatedOnEverySave() {
+		var game = repository.save(startedGame(new Deck()));
+		playFirstLegalMove(game);
+		repository.save(game);
+
+		var stats = storedStats(game);
+		assertEquals(Game.Status.IN_PROGRESS, stats.status());
+		assertEquals(1, stats.moves());
+		assertEquals(game.getBoard().getChipsPlaced(), stats.chipsPlaced());
+		assertFalse(repository.findStats(GameStatsFilter.ALL, GameCursor.of(stats), 1000).contains(stats));
+	}
+
+	@Test
+	void missingStatsAreBackfilled() {
+		var game = repository.save(startedGame(new Deck()));
+		statsJpaRepository.deleteById(game.getUuid());
+
+		// Drains every game without stats, including rows left by other tests.
+		new GameStatsBackfill(repository).backfill();
+
+		assertEquals(Game.Status.IN_PROGRESS, storedStats(game).status());
+	}
+
+	@Test
+	void backfillContinuesPastAFullBatchOfGamesThatCannotBeLoaded() {
+		// Ids with a zero high half sort before every random id, so the first batches are the broken games.
+		var broken = new ArrayList<Game>();
+		for (int i = 0; i < 4; i++) {
+			var game = repository.save(withUuid(startedGame(new Deck()), new UUID(0, i + System.nanoTime())));
+			jdbcTemplate.update("update game set host_player_public_uuid = ? where id = ?", UUID.randomUUID(), game.getUuid());
+			statsJpaRepository.deleteById(game.getUuid());
+			broken.add(game);
+		}
+		var game = repository.save(startedGame(new Deck()));
+		statsJpaRepository.deleteById(game.getUuid());
+
+		new GameStatsBackfill(repository, 2).backfill();
+
+		assertEquals(Game.Status.IN_PROGRESS, storedStats(game).status());
+		for (var brokenGame : broken) {
+			assertFalse(statsJpaRepository.existsById(brokenGame.getUuid()));
+		}
+	}
+
+	@Test
+	void playerSummariesAreReadWithoutLoadingGames() {
+		var player = new Player();
+		var games = new ArrayList<Game>();
+		for (int i = 0; i < 3; i++) {
+			var game = new Game();
+			game.addPlayer(player);
+			game.addPlayer(new Player());
+			games.add(repository.save(game));
+		}
+
+		statistics.clear();
+		var firstPage = repository.findSummariesByPlayer(player.publicUuid(), null, 2);
+		var secondPage = repository.findSummariesByPlayer(player.publicUuid(), GameCursor.of(firstPage.getLast()), 2);
+
+		// A query for the games and one for their players, per page.
+		assertEquals(4, statistics.getPrepareStatementCount());
+		assertEquals(2, firstPage.size());
+		assertEquals(1, secondPage.size());
+		var listed = new ArrayList<GameSummary>(firstPage);
+		listed.addAll(secondPage);
+		assertEquals(listed.stream().sorted(GameSummary.LISTING_ORDER).toList(), listed);
+		assertEquals(games.stream().map(Game::getUuid).collect(Collectors.toSet()),
+				listed.stream().map(GameSummary::gameUuid).collect(Collectors.toSet()));
+		assertEquals(games.getFirst().getPlayers(), listed.stream()
+				.filter(summary -> summary.gameUuid().equals(games.getFirst().getUuid())).findFirst().orElseThrow().players());
+	}
+
+	private GameStats storedStats(Game game) {
+		// PostgreSQL keeps microseconds, so the stored creation date may be rounded.
+		var filter = new GameStatsFilter(null, game.getCreatedDate().truncatedTo(ChronoUnit.MILLIS), null);
+		return repository.findStats(filter, null, 1000).stream()
+				.filter(stats -> stats.gameUuid().equals(game.getUuid()))
+				.findFirst()
+				.orElseThrow();
+	}
+
+	private static Game startedGame(Deck deck) {
+		var game = new Game(2, deck);
+		game.addPlayer(new Player());
+		game.addPlayer(new Player());
+		game.initialise();
+		return game;
+	}
+
+	private static Game withUuid(Game game, UUID uuid) {
+		return Game.rehydrate(uuid, game.getCreatedDate(), game.getDeck(), game.getBoard(), game.getPlayerContainer(),
+				game.getAmountOfTurns(), game.getMoveHistory(), game.getMaxPlayers(), game.getStartedDate(),
+				game.getWinner(), game.getWinningSequenceLength(), game.isDeadCardDiscardedThisTurn(), game.getStatus(), 0);
+	}
+
+	private static MoveDraw playFirstLegalMove(Game game) {
+		var player = game.getCurrentPlayerTurn();
+		List<MoveAction> moves = game.getLegalMoveGenerator().getLegalMoves(player);
+		return game.replayMove(player, moves.getFirst());
+	}
+}
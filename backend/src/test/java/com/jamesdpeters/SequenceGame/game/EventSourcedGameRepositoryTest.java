@@ -0,0 +1,44 @@
+package com.jamesdpeters.SequenceGame.game;
+
+import com.jamesdpeters.SequenceGame.game.persistence.mapper.GameToDomainMapper;
+import com.jamesdpeters.SequenceGame.game.persistence.mapper.GameToEntityMapper;
+import com.jamesdpeters.SequenceGame.game.persistence.repository.GameJpaRepository;
+import com.jamesdpeters.SequenceGame.game.persistence.repository.GameMoveJpaRepository;
+import com.jamesdpeters.SequenceGame.game.persistence.repository.GameSnapshotJpaRepository;
+import com.jamesdpeters.SequenceGame.game.persistence.repository.GameStatsJpaRepository;
+import com.jamesdpeters.SequenceGame.player.Player;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class EventSourcedGameRepositoryTest {
+
+	private final EventSourcedGameRepository repository = new EventSourcedGameRepository(
+			mock(GameJpaRepository.class), mock(GameMoveJpaRepository.class), mock(GameSnapshotJpaRepository.class),
+			mock(GameStatsJpaRepository.class), mock(GameToEntityMapper.class), mock(GameToDomainMapper.class), 3);
+
+	@Test
+	void snapshottedStatesAreWrittenImmediately() {
+		var game = new Game();
+		game.addPlayer(new Player(UUID.randomUUID(), UUID.randomUUID(), "One"));
+		game.addPlayer(new Player(UUID.randomUUID(), UUID.randomUUID(), "Two"));
+		assertFalse(repository.requiresImmediateWrite(game));
+
+		game.initialise();
+		assertTrue(repository.requiresImmediateWrite(game), "start");
+
+		playFirstLegalMove(game);
+		assertFalse(repository.requiresImmediateWrite(game));
+		playFirstLegalMove(game);
+		playFirstLegalMove(game);
+		assertTrue(repository.requiresImmediateWrite(game), "snapshot interval");
+	}
+
+	private static void playFirstLegalMove(Game game) {
+		var player = game.getCurrentPlayerTurn();
+		game.replayMove(player, game.getLegalMoveGenerator().getLegalMoves(player).getFirst());
+	}
+}
@@ -1,7 +1,9 @@
 package com.jamesdpeters.SequenceGame.game;
 
 import com.jamesdpeters.SequenceGame.game.exceptions.GameAlreadyFullException;
+import com.jamesdpeters.SequenceGame.game.exceptions.GameMoveException;
 import com.jamesdpeters.SequenceGame.game.exceptions.GameNotFoundException;
+import com.jamesdpeters.SequenceGame.game.exceptions.InvalidCursorException;
 import com.jamesdpeters.SequenceGame.player.Player;
 import com.jamesdpeters.SequenceGame.card.Card;
 import org.junit.jupiter.api.BeforeEach;
@@ -10,18 +12,32 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.resttestclient.autoconfigure.AutoConfigureRestTestClient;
 import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ProblemDetail;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.client.RestTestClient;
+import tools.jackson.databind.json.JsonMapper;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(GameController.class)
 @AutoConfigureRestTestClient
@@ -30,6 +46,12 @@ class GameControllerTest {
 	@Autowired
 	RestTestClient restTestClient;
 
+	@Autowired
+	MockMvc mockMvc;
+
+	@Autowired
+	JsonMapper jsonMapper;
+
 	@MockitoBean
 	GameService gameService;
 
@@ -45,6 +67,9 @@ class GameControllerTest {
 		when(gameService.getGame(any())).thenReturn(game);
 		when(gameService.joinGame(any(), any())).thenReturn(player);
 		when(gameService.doPlayerMove(any(), any(), any())).thenReturn(game);
+		when(gameService.startGame(any())).thenReturn(game);
+		when(gameService.getPublicPlayerUuid(any(), any()))
+				.thenAnswer(invocation -> game.getPlayerContainer().getPublicUuid(invocation.getArgument(1)));
 	}
 
 	@Test
@@ -267,6 +292,38 @@ class GameControllerTest {
 		assertEquals(uuid.toString(), problemDetail.getProperties().get("uuid"));
 	}
 
+	@Test
+	void getLegalMoves() {
+		var guest = new Player(UUID.randomUUID(), UUID.randomUUID(), "Guest");
+		game.addPlayer(guest);
+		game.initialise();
+
+		var response = restTestClient.get().uri("/game/{gameUuid}/player/{playerUuid}/moves", game.getUuid(), player.privateUuid())
+						.exchange()
+						.expectStatus().isOk()
+						.returnResult(LegalMovesResponse.class)
+						.getResponseBody();
+
+		assertNotNull(response);
+		assertEquals(player.publicUuid(), response.currentPlayerTurn());
+		assertEquals(game.getLegalMoveGenerator().getLegalMoves(player.publicUuid()), response.moves());
+		assertEquals(response.hand().size() * response.cellCount(), response.actionMask().length);
+	}
+
+	@Test
+	void getLegalMovesWithoutPermission() {
+		var uuid = UUID.randomUUID();
+		var problemDetail = restTestClient.get().uri("/game/{gameUuid}/player/{playerUuid}/moves", game.getUuid(), uuid)
+						.exchange()
+						.expectStatus().isUnauthorized()
+						.returnResult(ProblemDetail.class)
+						.getResponseBody();
+
+		assertNotNull(problemDetail);
+		assertNotNull(problemDetail.getProperties());
+		assertEquals(uuid.toString(), problemDetail.getProperties().get("uuid"));
+	}
+
 	@Test
 	void doPlayerAction() {
 		var gameSpy = spy(game);
@@ -289,6 +346,26 @@ class GameControllerTest {
 
 		assertNotNull(response);
 		assertEquals(game.getUuid(), response.uuid());
+		// Cards in request bodies are resolved to the shared instances.
+		verify(gameService).doPlayerMove(any(), any(), argThat(action -> action.card() == card));
+	}
+
+	@Test
+	void doPlayerActionWithCardOutsideTheDeck() {
+		when(gameService.doPlayerMove(any(), any(), argThat(action -> action.card() == null)))
+				.thenThrow(new GameMoveException(GameMoveException.GameMoveError.CARD_NOT_IN_HAND));
+
+		var problemDetail = restTestClient.post().uri("/game/{gameUuid}/move/{playerUuid}", game.getUuid(), player.privateUuid())
+						.contentType(MediaType.APPLICATION_JSON)
+						.body("{\"row\":0,\"column\":1,\"card\":{\"suit\":\"SPADES\",\"value\":14}}")
+						.exchange()
+						.expectStatus().isForbidden()
+						.returnResult(ProblemDetail.class)
+						.getResponseBody();
+
+		assertNotNull(problemDetail);
+		assertNotNull(problemDetail.getProperties());
+		assertEquals("CARD_NOT_IN_HAND", problemDetail.getProperties().get("error"));
 	}
 
 	@Test
@@ -309,19 +386,144 @@ class GameControllerTest {
 		assertEquals(uuid.toString(), problemDetail.getProperties().get("uuid"));
 	}
 
+	@Test
+	void getGameDetailsReturnsVersionETag() {
+		game.setVersion(4);
+		when(gameService.getGameVersion(any())).thenReturn(4L);
+
+		restTestClient.get().uri("/game/{gameUuid}/{playerUuid}", game.getUuid(), player.privateUuid())
+						.exchange()
+						.expectStatus().isOk()
+						.expectHeader().valueEquals("ETag", "\"4\"");
+	}
+
+	@Test
+	void getGameDetailsNotModifiedSkipsLoadingGame() {
+		when(gameService.getGameVersion(any())).thenReturn(4L);
+
+		restTestClient.get().uri("/game/{gameUuid}/{playerUuid}", game.getUuid(), player.privateUuid())
+						.header("If-None-Match", "\"4\"")
+						.exchange()
+						.expectStatus().isNotModified();
+
+		verify(gameService, never()).getGame(any());
+	}
+
+	@Test
+	void getGameDetailsChecksPlayerBeforeNotModified() {
+		when(gameService.getGameVersion(any())).thenReturn(4L);
+
+		restTestClient.get().uri("/game/{gameUuid}/{playerUuid}", game.getUuid(), UUID.randomUUID())
+						.header("If-None-Match", "\"4\"")
+						.exchange()
+						.expectStatus().isUnauthorized();
+	}
+
+	@Test
+	void streamGameWithoutPermission() {
+		var uuid = UUID.randomUUID();
+		var problemDetail = restTestClient.get().uri("/game/{gameUuid}/player/{playerUuid}/events", game.getUuid(), uuid)
+						.exchange()
+						.expectStatus().isUnauthorized()
+						.returnResult(ProblemDetail.class)
+						.getResponseBody();
+
+		assertNotNull(problemDetail);
+		assertEquals(uuid.toString(), problemDetail.getProperties().get("uuid"));
+	}
+
+	@Test
+	void getGameChangesNotModifiedSkipsLoadingGame() {
+		when(gameService.getGameVersion(any())).thenReturn(4L);
+
+		restTestClient.get().uri("/game/{gameUuid}/player/{playerUuid}/changes?since=4", game.getUuid(), player.privateUuid())
+						.exchange()
+						.expectStatus().isNotModified();
+
+		verify(gameService, never()).getGame(any());
+	}
+
+	@Test
+	void getGameChangesRequiresResyncBeforeStart() {
+		game.setVersion(2);
+		when(gameService.getGameVersion(any())).thenReturn(2L);
+
+		var response = restTestClient.get().uri("/game/{gameUuid}/player/{playerUuid}/changes?since=1", game.getUuid(), player.privateUuid())
+						.exchange()
+						.expectStatus().isOk()
+						.returnResult(GameChangesResponse.class)
+						.getResponseBody();
+
+		assertNotNull(response);
+		assertTrue(response.resyncRequired());
+		assertEquals(2, response.version());
+	}
+
+	@Test
+	void getGameChangesWithoutPermission() {
+		var uuid = UUID.randomUUID();
+		when(gameService.getGameVersion(any())).thenReturn(2L);
+
+		restTestClient.get().uri("/game/{gameUuid}/player/{playerUuid}/changes?since=1", game.getUuid(), uuid)
+						.exchange()
+						.expectStatus().isUnauthorized();
+	}
+
+	@Test
+	void getGameChangesChecksPlayerBeforeNotModified() {
+		when(gameService.getGameVersion(any())).thenReturn(4L);
+
+		restTestClient.get().uri("/game/{gameUuid}/player/{playerUuid}/changes?since=4", game.getUuid(), UUID.randomUUID())
+						.exchange()
+						.expectStatus().isUnauthorized();
+	}
+
 	@Test
 	void getGameStats() {
-		when(gameService.getGames()).thenReturn(List.of(game));
+		var stats = GameStats.from(game);
+		when(gameService.getGameStats(any(), any(), anyInt())).thenReturn(new GameStatsPageResponse(List.of(stats), "next"));
 
-		var response = restTestClient.get().uri("/game/stats")
+		var response = restTestClient.get().uri("/game/stats?status=NOT_STARTED&from=2026-01-01T00:00:00Z&limit=10000")
 						.exchange()
 						.expectStatus().isOk()
-						.returnResult(GameController.GameStatsResponse[].class)
+						.returnResult(GameStatsPageResponse.class)
 						.getResponseBody();
 
 		assertNotNull(response);
-		assertEquals(1, response.length);
-		assertEquals(game.getUuid(), response[0].gameUuid());
+		assertEquals(List.of(stats), response.games());
+		assertEquals("next", response.nextCursor());
+		verify(gameService).getGameStats(
+				new GameStatsFilter(Game.Status.NOT_STARTED, Instant.parse("2026-01-01T00:00:00Z"), null), null, 500);
+	}
+
+	@Test
+	void getGameStatsWithInvalidCursor() {
+		when(gameService.getGameStats(any(), any(), anyInt())).thenThrow(new InvalidCursorException("bad"));
+
+		restTestClient.get().uri("/game/stats?cursor=bad")
+						.exchange()
+						.expectStatus().isBadRequest();
+	}
+
+	@Test
+	void exportGameStats() throws Exception {
+		var stats = List.of(GameStats.from(game), GameStats.from(new Game()));
+		doAnswer(invocation -> {
+			Consumer<GameStats> sink = invocation.getArgument(1);
+			stats.forEach(sink);
+			return null;
+		}).when(gameService).exportGameStats(any(), any());
+
+		// The body is written asynchronously, which RestTestClient does not wait for.
+		var started = mockMvc.perform(get("/game/stats/export?status=IN_PROGRESS"))
+						.andExpect(request().asyncStarted())
+						.andReturn();
+		var body = mockMvc.perform(asyncDispatch(started))
+						.andExpect(status().isOk())
+						.andReturn().getResponse().getContentAsString();
+
+		assertEquals(stats, List.of(jsonMapper.readValue(body, GameStats[].class)));
+		verify(gameService).exportGameStats(argThat(filter -> filter.status() == Game.Status.IN_PROGRESS), any());
 	}
 
 	private static BoardPosition findFirstCardPosition(Game game) {
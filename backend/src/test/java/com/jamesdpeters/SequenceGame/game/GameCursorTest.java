@@ -0,0 +1,41 @@
+package com.jamesdpeters.SequenceGame.game;
+
+import com.jamesdpeters.SequenceGame.player.Player;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameCursorTest {
+
+	@Test
+	void uuidsAreOrderedByUnsignedBytesLikePostgres() {
+		var created = Instant.parse("2026-01-01T00:00:00Z");
+		var low = new GameCursor(created, UUID.fromString("00000000-0000-0000-0000-000000000000"));
+		var high = new GameCursor(created, UUID.fromString("f0000000-0000-0000-0000-000000000000"));
+
+		// UUID.compareTo sees the high UUID as negative.
+		assertTrue(high.gameUuid().compareTo(low.gameUuid()) < 0);
+		assertTrue(low.compareTo(high) < 0);
+	}
+
+	@Test
+	void cursorRoundTripsThroughItsToken() {
+		var cursor = new GameCursor(Instant.parse("2026-01-01T00:00:00.123456Z"), UUID.randomUUID());
+
+		assertEquals(cursor, GameCursor.decode(cursor.encode()));
+	}
+
+	@Test
+	void newGamesAreCreatedAtStoredPrecision() {
+		var game = new Game();
+		game.addPlayer(new Player());
+		game.addPlayer(new Player());
+		game.initialise();
+
+		assertEquals(0, game.getCreatedDate().getNano() % 1000);
+		assertEquals(0, game.getStartedDate().getNano() % 1000);
+	}
+}
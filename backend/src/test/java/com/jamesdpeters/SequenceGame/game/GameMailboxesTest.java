@@ -0,0 +1,90 @@
+package com.jamesdpeters.SequenceGame.game;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameMailboxesTest {
+
+	private final GameMailboxes mailboxes = new GameMailboxes();
+
+	@Test
+	void commandsForTheSameGameNeverOverlap() throws Exception {
+		var gameUuid = UUID.randomUUID();
+		var running = new AtomicInteger();
+		var maxRunning = new AtomicInteger();
+		var counter = new int[1];
+
+		try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+			var futures = new ArrayList<Future<?>>();
+			for (int i = 0; i < 200; i++) {
+				futures.add(executor.submit(() -> mailboxes.execute(gameUuid, () -> {
+					maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+					counter[0]++;
+					running.decrementAndGet();
+					return null;
+				})));
+			}
+			for (var future : futures) {
+				future.get();
+			}
+		}
+
+		assertEquals(1, maxRunning.get());
+		assertEquals(200, counter[0]);
+		assertEquals(0, mailboxes.activeMailboxes());
+	}
+
+	@Test
+	void differentGamesRunInParallel() throws Exception {
+		var bothRunning = new CountDownLatch(2);
+
+		try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+			var futures = List.of(
+							executor.submit(() -> mailboxes.execute(UUID.randomUUID(), () -> awaitOther(bothRunning))),
+							executor.submit(() -> mailboxes.execute(UUID.randomUUID(), () -> awaitOther(bothRunning))));
+			for (var future : futures) {
+				assertTrue(future.get());
+			}
+		}
+	}
+
+	@Test
+	void exceptionsAreRethrownUnchanged() {
+		var gameUuid = UUID.randomUUID();
+		var thrown = assertThrows(IllegalStateException.class, () -> mailboxes.execute(gameUuid, () -> {
+			throw new IllegalStateException("boom");
+		}));
+
+		assertEquals("boom", thrown.getMessage());
+		assertEquals(3, mailboxes.execute(gameUuid, () -> 3));
+	}
+
+	@Test
+	void nestedCommandForTheSameGameRunsInline() {
+		var gameUuid = UUID.randomUUID();
+
+		var result = mailboxes.execute(gameUuid, () -> mailboxes.execute(gameUuid, () -> "inner"));
+
+		assertEquals("inner", result);
+	}
+
+	private static boolean awaitOther(CountDownLatch latch) {
+		latch.countDown();
+		try {
+			return latch.await(5, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return false;
+		}
+	}
+}
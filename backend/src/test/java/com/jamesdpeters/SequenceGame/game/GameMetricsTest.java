@@ -0,0 +1,84 @@
+package com.jamesdpeters.SequenceGame.game;
+
+import com.jamesdpeters.SequenceGame.card.Card;
+import com.jamesdpeters.SequenceGame.game.exceptions.GameMoveException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class GameMetricsTest {
+
+	private SimpleMeterRegistry registry;
+	private GameService gameService;
+
+	@BeforeEach
+	void setUp() {
+		registry = new SimpleMeterRegistry();
+		gameService = new GameService(new InMemoryGameRepository(), new GameMailboxes(), new GameMetrics(registry));
+	}
+
+	@Test
+	void timesServiceOperations() {
+		var game = gameService.createGame();
+		gameService.getGame(game.getUuid());
+		gameService.getGame(game.getUuid());
+
+		assertEquals(1, registry.get("game.service").tag("operation", "createGame").timer().count());
+		assertEquals(2, registry.get("game.service").tag("operation", "getGame").timer().count());
+	}
+
+	@Test
+	void countsRejectedMovesByError() {
+		var game = gameService.createGame();
+		gameService.joinGame(game.getUuid());
+		var second = gameService.joinGame(game.getUuid());
+		game = gameService.startGame(game);
+
+		var gameUuid = game.getUuid();
+		var move = new MoveAction(1, 1, new Card(Card.Suit.SPADES, 2));
+		assertThrows(GameMoveException.class, () -> gameService.doPlayerMove(gameUuid, second.publicUuid(), move));
+
+		assertEquals(1, registry.get("game.move.rejected").tag("error", "NOT_YOUR_TURN").counter().count());
+		assertEquals(0, registry.get("game.move.rejected").tag("error", "POSITION_OCCUPIED").counter().count());
+		assertEquals(1, registry.get("game.service").tag("operation", "doPlayerMove").timer().count());
+	}
+
+	@Test
+	void gaugesCountGamesByStatus() {
+		var started = gameService.createGame();
+		gameService.joinGame(started.getUuid());
+		gameService.joinGame(started.getUuid());
+		gameService.startGame(started);
+		gameService.createGame();
+		gameService.createGame();
+
+		assertEquals(2, registry.get("game.games").tag("status", "NOT_STARTED").gauge().value());
+		assertEquals(1, registry.get("game.games").tag("status", "IN_PROGRESS").gauge().value());
+		assertEquals(0, registry.get("game.games").tag("status", "COMPLETED").gauge().value());
+	}
+
+	@Test
+	void gaugesShareOneCountPerScrape() {
+		var repository = spy(new InMemoryGameRepository());
+		var registry = new SimpleMeterRegistry();
+		new GameMetrics(registry).registerGameGauges(repository);
+
+		registry.get("game.games").gauges().forEach(Gauge::value);
+
+		verify(repository, times(1)).countByStatus();
+	}
+
+	@Test
+	void missingGamesAreStillTimed() {
+		assertThrows(RuntimeException.class, () -> gameService.getGame(UUID.randomUUID()));
+		assertEquals(1, registry.get("game.service").tag("operation", "getGame").timer().count());
+	}
+}
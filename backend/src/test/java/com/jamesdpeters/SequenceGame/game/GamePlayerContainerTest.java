@@ -0,0 +1,76 @@
+package com.jamesdpeters.SequenceGame.game;
+
+import com.jamesdpeters.SequenceGame.board.ChipColour;
+import com.jamesdpeters.SequenceGame.card.Card;
+import com.jamesdpeters.SequenceGame.game.exceptions.GameMoveException;
+import com.jamesdpeters.SequenceGame.player.Player;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GamePlayerContainerTest {
+
+	private GamePlayerContainer container;
+	private List<Player> players;
+
+	@BeforeEach
+	void setUp() {
+		container = new GamePlayerContainer();
+		players = List.of(new Player(), new Player(), new Player());
+		players.forEach(container::addPlayer);
+	}
+
+	@Test
+	void seatsFollowJoinOrder() {
+		for (int seat = 0; seat < players.size(); seat++) {
+			assertEquals(seat, container.getSeat(players.get(seat).publicUuid()));
+		}
+		assertEquals(-1, container.getSeat(UUID.randomUUID()));
+		assertEquals(players.getFirst(), container.getHost());
+	}
+
+	@Test
+	void resolvesPublicAndPrivateUuids() {
+		for (var player : players) {
+			assertEquals(player.publicUuid(), container.getPublicUuid(player.privateUuid()));
+			assertEquals(player.privateUuid(), container.getPrivateUuid(player.publicUuid()));
+		}
+		assertNull(container.getPublicUuid(UUID.randomUUID()));
+		assertNull(container.getPrivateUuid(UUID.randomUUID()));
+	}
+
+	@Test
+	void turnsRotateThroughEverySeat() {
+		assertEquals(players.get(0).publicUuid(), container.getCurrentPlayerTurn());
+		for (int turn = 1; turn <= 6; turn++) {
+			container.setCurrentPlayerTurn(container.nextPlayerTurn());
+			assertEquals(players.get(turn % players.size()).publicUuid(), container.getCurrentPlayerTurn());
+		}
+	}
+
+	@Test
+	void mapViewsOnlyHoldSeatsWithValues() {
+		var second = players.get(1).publicUuid();
+		assertTrue(container.getPlayerHands().isEmpty());
+
+		container.setCards(second, new ArrayList<>(List.of(new Card(Card.Suit.SPADES, 3))));
+		container.setTeam(second, ChipColour.GREEN);
+
+		assertEquals(Map.of(second, List.of(new Card(Card.Suit.SPADES, 3))), container.getPlayerHands());
+		assertEquals(Map.of(second, ChipColour.GREEN), container.getTeams());
+		assertEquals(3, container.getPlayerNames().size());
+		assertThrows(UnsupportedOperationException.class, () -> container.getPlayerNames().put(second, "name"));
+	}
+
+	@Test
+	void unknownPlayersCannotBeDealtCards() {
+		var exception = assertThrows(GameMoveException.class, () -> container.setCards(UUID.randomUUID(), List.of()));
+		assertEquals(GameMoveException.GameMoveError.PLAYER_NOT_FOUND, exception.getError());
+	}
+}
@@ -1,14 +1,23 @@
 package com.jamesdpeters.SequenceGame.game;
 
 import com.jamesdpeters.SequenceGame.game.exceptions.GameAlreadyFullException;
+import com.jamesdpeters.SequenceGame.game.exceptions.GameAlreadyStartedException;
 import com.jamesdpeters.SequenceGame.game.exceptions.GameNotFoundException;
 import com.jamesdpeters.SequenceGame.game.exceptions.GameNotFullException;
+import com.jamesdpeters.SequenceGame.game.exceptions.InvalidCursorException;
 import com.jamesdpeters.SequenceGame.player.Player;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.CALLS_REAL_METHODS;
@@ -41,7 +50,7 @@ class GameServiceTest {
 		gameService.joinGame(game.getUuid());
 		gameService.joinGame(game.getUuid());
 
-		gameService.startGame(game);
+		game = gameService.startGame(game);
 
 		assertEquals(Game.Status.IN_PROGRESS, game.getStatus());
 		assertTrue(game.getStartedDate().isBefore(Instant.now().plusSeconds(60)));
@@ -63,6 +72,23 @@ class GameServiceTest {
 		assertEquals(game.getUuid(), gameByUuid.getUuid());
 	}
 
+	@Test
+	void returnedGamesAreUnaffectedByLaterCommands() {
+		Game game = gameService.createGame();
+		gameService.joinGame(game.getUuid());
+		gameService.joinGame(game.getUuid());
+		var started = gameService.startGame(game);
+		var hand = List.copyOf(started.getPlayerHands().get(started.getCurrentPlayerTurn()));
+
+		var player = started.getCurrentPlayerTurn();
+		var moved = gameService.doPlayerMove(game.getUuid(), player, started.getLegalMoveGenerator().getLegalMoves(player).getFirst());
+
+		assertTrue(started.getMoveHistory().isEmpty());
+		assertEquals(hand, started.getPlayerHands().get(player));
+		assertEquals(player, started.getCurrentPlayerTurn());
+		assertEquals(1, moved.getMoveHistory().size());
+	}
+
 	@Test
 	void testGameNotFound() {
 		assertThrows(GameNotFoundException.class, () -> gameService.getGame(UUID.randomUUID()));
@@ -73,8 +99,8 @@ class GameServiceTest {
 		Game game = gameService.createGame();
 		gameService.joinGame(game.getUuid());
 		gameService.joinGame(game.getUuid());
-		assertDoesNotThrow(() -> gameService.startGame(game));
-		assertEquals(2, game.getPlayers().size());
+		var started = assertDoesNotThrow(() -> gameService.startGame(game));
+		assertEquals(2, started.getPlayers().size());
 	}
 
 	@Test
@@ -114,11 +140,23 @@ class GameServiceTest {
 		assertThrows(GameAlreadyFullException.class, () -> gameService.joinGame(game.getUuid()));
 	}
 
+	@Test
+	void cannotJoinStartedGame() {
+		Game game = gameService.createGame(3);
+		gameService.joinGame(game.getUuid());
+		gameService.joinGame(game.getUuid());
+		var version = gameService.startGame(game).getVersion();
+
+		assertThrows(GameAlreadyStartedException.class, () -> gameService.joinGame(game.getUuid()));
+		assertEquals(version, gameService.getGameVersion(game.getUuid()));
+	}
+
 	@Test
 	void firstPlayerToJoinGameIsHost() {
 		Game game = gameService.createGame();
 		Player player1 = gameService.joinGame(game.getUuid());
 		Player player2 = gameService.joinGame(game.getUuid());
+		game = gameService.getGame(game.getUuid());
 
 		assertEquals(player1.publicUuid(), game.getHost().publicUuid());
 		assertNotEquals(player2.publicUuid(), game.getHost().publicUuid());
@@ -143,7 +181,7 @@ class GameServiceTest {
 		gameService.joinGame(game.getUuid());
 		gameService.joinGame(game.getUuid());
 
-		gameService.startGame(game);
+		game = gameService.startGame(game);
 
 		var player1hand = game.getPlayerHands().get(game.getPlayers().getFirst());
 		var player2hand = game.getPlayerHands().get(game.getPlayers().getLast());
@@ -158,7 +196,7 @@ class GameServiceTest {
 		gameService.joinGame(game.getUuid());
 		gameService.joinGame(game.getUuid());
 		gameService.joinGame(game.getUuid());
-		gameService.startGame(game);
+		game = gameService.startGame(game);
 
 		var player1hand = game.getPlayerHands().get(game.getPlayers().getFirst());
 		var player2hand = game.getPlayerHands().get(game.getPlayers().get(1));
@@ -169,6 +207,124 @@ class GameServiceTest {
 		assertEquals(6, player3hand.size());
 	}
 
+	@Test
+	void versionIncrementsOnEveryChange() {
+		Game game = gameService.createGame();
+		assertEquals(0, gameService.getGameVersion(game.getUuid()));
+
+		gameService.joinGame(game.getUuid());
+		gameService.joinGame(game.getUuid());
+		game = gameService.startGame(game);
+
+		assertEquals(3, game.getVersion());
+		assertEquals(3, gameService.getGameVersion(game.getUuid()));
+		assertThrows(GameNotFoundException.class, () -> gameService.getGameVersion(UUID.randomUUID()));
+	}
+
+	@Test
+	void publicPlayerUuidIsLookedUpByPrivateUuid() {
+		Game game = gameService.createGame();
+		var player = gameService.joinGame(game.getUuid());
+
+		assertEquals(player.publicUuid(), gameService.getPublicPlayerUuid(game.getUuid(), player.privateUuid()));
+		assertNull(gameService.getPublicPlayerUuid(game.getUuid(), player.publicUuid()));
+		assertNull(gameService.getPublicPlayerUuid(UUID.randomUUID(), player.privateUuid()));
+	}
+
+	@Test
+	void subscribersFollowTheGameUntilUnsubscribed() throws InterruptedException {
+		Game game = gameService.createGame();
+		var states = new LinkedBlockingQueue<String>();
+		var unsubscribe = gameService.subscribe(game.getUuid(), null, states::add);
+		assertTrue(nextState(states).contains("\"status\":\"NOT_STARTED\""));
+
+		gameService.joinGame(game.getUuid());
+		gameService.joinGame(game.getUuid());
+		var started = gameService.startGame(game);
+
+		String state;
+		do {
+			state = nextState(states);
+		} while (!state.contains("\"status\":\"IN_PROGRESS\""));
+		unsubscribe.run();
+		var player = started.getCurrentPlayerTurn();
+		gameService.doPlayerMove(game.getUuid(), player, started.getLegalMoveGenerator().getLegalMoves(player).getFirst());
+		assertNull(states.poll(100, TimeUnit.MILLISECONDS));
+	}
+
+	@Test
+	void slowSubscriberDoesNotHoldUpTheGameAndSkipsToTheLatestState() throws InterruptedException {
+		Game game = gameService.createGame();
+		var release = new CountDownLatch(1);
+		var states = new LinkedBlockingQueue<String>();
+		gameService.subscribe(game.getUuid(), null, state -> {
+			states.add(state);
+			try {
+				release.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		});
+		nextState(states);
+
+		gameService.joinGame(game.getUuid());
+		gameService.joinGame(game.getUuid());
+		var started = gameService.startGame(game);
+		release.countDown();
+
+		assertTrue(nextState(states).contains("\"version\":" + started.getVersion()));
+		assertNull(states.poll(100, TimeUnit.MILLISECONDS));
+	}
+
+	@Test
+	void failingSubscriberIsDropped() throws InterruptedException {
+		Game game = gameService.createGame();
+		var calls = new AtomicInteger();
+		var called = new CountDownLatch(1);
+		gameService.subscribe(game.getUuid(), null, state -> {
+			calls.incrementAndGet();
+			called.countDown();
+			throw new IllegalStateException("Client went away");
+		});
+		assertTrue(called.await(5, TimeUnit.SECONDS));
+
+		assertDoesNotThrow(() -> gameService.joinGame(game.getUuid()));
+		gameService.joinGame(game.getUuid());
+		var states = new LinkedBlockingQueue<String>();
+		gameService.subscribe(game.getUuid(), null, states::add);
+		nextState(states);
+
+		assertEquals(1, calls.get());
+	}
+
+	@Test
+	void changesSinceVersionContainOnlyNewMoves() {
+		Game game = gameService.createGame();
+		gameService.joinGame(game.getUuid());
+		gameService.joinGame(game.getUuid());
+		game = gameService.startGame(game);
+		var startVersion = game.getVersion();
+		for (int i = 0; i < 3; i++) {
+			var player = game.getCurrentPlayerTurn();
+			game = gameService.doPlayerMove(game.getUuid(), player, game.getLegalMoveGenerator().getLegalMoves(player).getFirst());
+		}
+
+		var changes = GameChangesResponse.from(game, startVersion + 1, null);
+		assertFalse(changes.resyncRequired());
+		assertEquals(game.getMoveHistory().subList(1, 3), changes.moves());
+		var movedCells = changes.moves().stream()
+				.map(move -> List.of(move.getRight().row(), move.getRight().column()))
+				.distinct()
+				.toList();
+		assertEquals(movedCells, changes.spaces().stream().map(space -> List.of(space.row(), space.col())).toList());
+		assertEquals(game.getCurrentPlayerTurn(), changes.currentPlayerTurn());
+		assertNull(changes.playerHand());
+
+		assertTrue(GameChangesResponse.from(game, startVersion - 1, null).resyncRequired());
+		assertTrue(GameChangesResponse.from(game, game.getVersion() + 1, null).resyncRequired());
+		assertTrue(GameChangesResponse.from(game, game.getVersion(), null).moves().isEmpty());
+	}
+
 	@Test
 	void allGamesAreRetrieved() {
 		gameService.createGame();
@@ -177,5 +333,65 @@ class GameServiceTest {
 		assertEquals(3, gameService.getGames().size());
 	}
 
+	@Test
+	void gameStatsArePagedWithACursor() {
+		var created = new ArrayList<UUID>();
+		for (int i = 0; i < 5; i++) {
+			created.add(gameService.createGame().getUuid());
+		}
 
+		var seen = new ArrayList<UUID>();
+		String cursor = null;
+		var pages = 0;
+		do {
+			var page = gameService.getGameStats(GameStatsFilter.ALL, cursor, 2);
+			page.games().forEach(stats -> seen.add(stats.gameUuid()));
+			cursor = page.nextCursor();
+			pages++;
+		} while (cursor != null);
+
+		assertEquals(3, pages);
+		assertEquals(5, seen.size());
+		assertTrue(seen.containsAll(created));
+	}
+
+	@Test
+	void gameStatsAreFiltered() {
+		var started = gameService.createGame();
+		gameService.joinGame(started.getUuid());
+		gameService.joinGame(started.getUuid());
+		gameService.startGame(started);
+		gameService.createGame();
+
+		var inProgress = gameService.getGameStats(new GameStatsFilter(Game.Status.IN_PROGRESS, null, null), null, 10);
+		assertEquals(List.of(started.getUuid()), inProgress.games().stream().map(GameStats::gameUuid).toList());
+		assertNull(inProgress.nextCursor());
+
+		var future = new GameStatsFilter(null, Instant.now().plusSeconds(60), null);
+		assertTrue(gameService.getGameStats(future, null, 10).games().isEmpty());
+	}
+
+	@Test
+	void malformedStatsCursorIsRejected() {
+		assertThrows(InvalidCursorException.class, () -> gameService.getGameStats(GameStatsFilter.ALL, "not a cursor", 10));
+	}
+
+	@Test
+	void gameStatsExportCoversEveryGame() {
+		for (int i = 0; i < 3; i++) {
+			gameService.createGame();
+		}
+
+		var exported = new ArrayList<GameStats>();
+		gameService.exportGameStats(GameStatsFilter.ALL, exported::add);
+
+		assertEquals(3, exported.size());
+		assertEquals(exported.stream().sorted(GameStats.LISTING_ORDER).toList(), exported);
+	}
+
+	private static String nextState(BlockingQueue<String> states) throws InterruptedException {
+		var state = states.poll(5, TimeUnit.SECONDS);
+		assertNotNull(state, "No state received");
+		return state;
+	}
 }
@@ -1,11 +1,13 @@
 package com.jamesdpeters.SequenceGame.game;
 
 import com.jamesdpeters.SequenceGame.board.Board;
+import com.jamesdpeters.SequenceGame.board.CellMask;
 import com.jamesdpeters.SequenceGame.board.ChipColour;
 import com.jamesdpeters.SequenceGame.card.Card;
 import com.jamesdpeters.SequenceGame.card.Deck;
 import com.jamesdpeters.SequenceGame.game.exceptions.GameMoveException;
 import com.jamesdpeters.SequenceGame.player.Player;
+import org.apache.commons.lang3.tuple.Pair;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -13,8 +15,12 @@ import org.junit.jupiter.params.provider.CsvSource;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.SplittableRandom;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -326,6 +332,38 @@ class GameTest {
 			assertNotNull(game.getBoard().getSpace(space.getLeft(), space.getRight()).getChip());
 		}
 
+		@Test
+		void hashCoversBoardHandsAndTurn() {
+			var cards = Collections.nCopies(102, new Card(Card.Suit.SPADES, 1));
+			setupGame(cards);
+			var started = game.getHash();
+
+			var space = game.getBoard().getBoardSpacesFromCard(cards.getFirst()).getFirst();
+			game.doPlayerMoveAction(player1.publicUuid(), new MoveAction(space.getLeft(), space.getRight(), cards.getFirst()));
+			var afterMove = game.getHash();
+			assertNotEquals(started, afterMove);
+
+			// Same board and hands with the turn handed back: only the turn key differs.
+			game.getPlayerContainer().setCurrentPlayerTurn(player1);
+			assertNotEquals(afterMove, game.getHash());
+			game.getPlayerContainer().setCurrentPlayerTurn(player2);
+			assertEquals(afterMove, game.getHash());
+		}
+
+		@Test
+		void handsAreHashedAsMultisets() {
+			setupGame(Collections.nCopies(102, new Card(Card.Suit.SPADES, 1)));
+			var hand = new ArrayList<>(List.of(new Card(Card.Suit.HEARTS, 4), new Card(Card.Suit.HEARTS, 4), new Card(Card.Suit.CLUBS, 9)));
+			game.getPlayerContainer().setCards(player1.publicUuid(), hand);
+			var hash = game.getHash();
+
+			Collections.reverse(hand);
+			assertEquals(hash, game.getHash());
+			// Both copies count, a pair does not cancel out.
+			hand.remove(new Card(Card.Suit.HEARTS, 4));
+			assertNotEquals(hash, game.getHash());
+		}
+
 		@Test
 		void doesGameEndWhenSequencesComplete() {
 			var cards = Collections.nCopies(102, new Card(Card.Suit.SPADES, 1));
@@ -450,6 +488,73 @@ class GameTest {
 
 	}
 
+	@ParameterizedTest
+	@CsvSource({
+			// A full deck, and one small enough that most draws reshuffle the discard pile.
+			"104, 3",
+			"16, 9"
+	})
+	void unmakeMoveRestoresEveryMoveExactly(int deckSize, long seed) {
+		var random = new Random(seed);
+		var cards = new ArrayList<Card>();
+		for (int i = 0; i < deckSize; i++) {
+			cards.add(Card.of(i % Card.COUNT));
+		}
+		Collections.shuffle(cards, random);
+		var game = new Game(2, new Deck(cards));
+		game.addPlayer(new Player());
+		game.addPlayer(new Player());
+		game.initialise();
+
+		while (game.getStatus() == Game.Status.IN_PROGRESS) {
+			var player = game.getCurrentPlayerTurn();
+			var moves = game.getLegalMoveGenerator().getLegalMoves(player);
+			if (moves.isEmpty()) {
+				break;
+			}
+			var before = MoveState.of(game);
+			for (var move : moves) {
+				game.unmakeMove(game.makeMove(player, move));
+				assertEquals(before, MoveState.of(game));
+			}
+			game.makeMove(player, moves.get(random.nextInt(moves.size())));
+		}
+		assertFalse(game.getMoveHistory().isEmpty());
+	}
+
+	@Test
+	void onlyTheLastMoveCanBeUnmade() {
+		var game = new Game(2, new Deck(new SplittableRandom(1)));
+		game.addPlayer(new Player());
+		game.addPlayer(new Player());
+		game.initialise();
+		var first = game.makeMove(game.getCurrentPlayerTurn(),
+				game.getLegalMoveGenerator().getLegalMoves(game.getCurrentPlayerTurn()).getFirst());
+		game.makeMove(game.getCurrentPlayerTurn(),
+				game.getLegalMoveGenerator().getLegalMoves(game.getCurrentPlayerTurn()).getFirst());
+
+		assertThrows(IllegalStateException.class, () -> game.unmakeMove(first));
+	}
+
+	/**
+	 * Everything {@link Game#unmakeMove} has to put back, copied so later moves cannot change it.
+	 */
+	private record MoveState(long hash, long boardHash, CellMask sequenceCells, Map<ChipColour, Integer> sequences,
+			Map<UUID, List<Card>> hands, List<Card> drawPile, List<Card> discardPile, List<Pair<UUID, MoveAction>> moves,
+			Map<UUID, Integer> turns, UUID turn, Game.Status status, ChipColour winner, boolean deadCardDiscarded) {
+
+		private static MoveState of(Game game) {
+			var hands = new HashMap<UUID, List<Card>>();
+			game.getPlayerHands().forEach((player, hand) -> hands.put(player, List.copyOf(hand)));
+			var board = game.getBoard();
+			assertEquals(board.computeHash(), board.getHash());
+			return new MoveState(game.getHash(), board.getHash(), board.getSequenceCells(), board.getCompletedSequences(),
+					hands, List.copyOf(game.getDeck()), List.copyOf(game.getDeck().getDiscardPile()),
+					List.copyOf(game.getMoveHistory()), Map.copyOf(game.getAmountOfTurns()), game.getCurrentPlayerTurn(),
+					game.getStatus(), game.getWinner(), game.isDeadCardDiscardedThisTurn());
+		}
+	}
+
 	private static void setAllChips(Board board, ChipColour chipColour) {
 		for (int row = 0; row < board.getRows(); row++) {
 			for (int col = 0; col < board.getColumn(row).length; col++) {
@@ -0,0 +1,153 @@
+package com.jamesdpeters.SequenceGame.game;
+
+import com.jamesdpeters.SequenceGame.game.exceptions.GameVersionConflictException;
+import com.jamesdpeters.SequenceGame.player.Player;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InMemoryGameRepositoryTest {
+
+	private InMemoryGameRepository repository;
+
+	@AfterEach
+	void tearDown() {
+		repository.close();
+	}
+
+	@Test
+	void staleSaveIsRejected() {
+		repository = new InMemoryGameRepository();
+		var game = new Game();
+		repository.save(game);
+		repository.save(game);
+
+		var stale = Game.rehydrate(game.getUuid(), game.getCreatedDate(), game.getDeck(), game.getBoard(),
+				game.getPlayerContainer(), game.getAmountOfTurns(), game.getMoveHistory(), game.getMaxPlayers(),
+				null, null, game.getWinningSequenceLength(), false, game.getStatus(), 0);
+
+		assertThrows(GameVersionConflictException.class, () -> repository.save(stale));
+		assertEquals(1, repository.findVersion(game.getUuid()));
+	}
+
+	@Test
+	void gamesAreFoundByPlayerThroughTheIndex() {
+		repository = new InMemoryGameRepository();
+		var player = new Player(UUID.randomUUID(), UUID.randomUUID(), "Host");
+		var first = new Game();
+		var second = new Game();
+		first.addPlayer(player);
+		second.addPlayer(player);
+		repository.save(first);
+		repository.save(second);
+		repository.save(new Game());
+
+		var games = repository.findByPlayer(player);
+
+		assertEquals(2, games.size());
+		assertTrue(games.containsAll(List.of(first, second)));
+		assertTrue(repository.findByPlayer(new Player()).isEmpty());
+	}
+
+	@Test
+	void idleLobbiesAndCompletedGamesExpire() throws InterruptedException {
+		repository = new InMemoryGameRepository(4, 100, Duration.ofNanos(1), Duration.ofNanos(1), Duration.ZERO);
+		var player = new Player(UUID.randomUUID(), UUID.randomUUID(), "Host");
+		var lobby = new Game();
+		lobby.addPlayer(player);
+		var inProgress = new Game();
+		inProgress.setStatus(Game.Status.IN_PROGRESS);
+		var completed = new Game();
+		completed.setStatus(Game.Status.COMPLETED);
+		List.of(lobby, inProgress, completed).forEach(repository::save);
+
+		Thread.sleep(5);
+		repository.sweep();
+
+		assertEquals(List.of(inProgress), List.copyOf(repository.findAll()));
+		assertNull(repository.findByUuid(lobby.getUuid()));
+		assertTrue(repository.findByPlayer(player).isEmpty());
+	}
+
+	@Test
+	void recentlyUsedGamesDoNotExpire() {
+		repository = new InMemoryGameRepository(4, 100, Duration.ofHours(1), Duration.ofHours(1), Duration.ZERO);
+		var lobby = repository.save(new Game());
+
+		repository.sweep();
+
+		assertSame(lobby, repository.findByUuid(lobby.getUuid()));
+	}
+
+	@Test
+	void sizeCapEvictsLeastRecentlyUsedLobbyBeforeGamesInProgress() {
+		repository = new InMemoryGameRepository(1, 2, Duration.ZERO, Duration.ZERO, Duration.ZERO);
+		var inProgress = new Game();
+		inProgress.setStatus(Game.Status.IN_PROGRESS);
+		var lobby = new Game();
+		repository.save(inProgress);
+		repository.save(lobby);
+
+		repository.save(new Game());
+
+		assertEquals(2, repository.size());
+		assertSame(inProgress, repository.findByUuid(inProgress.getUuid()));
+		assertNull(repository.findByUuid(lobby.getUuid()));
+	}
+
+	@Test
+	void sizeCapKeepsNewLobbyInShardOfGamesInProgress() {
+		repository = new InMemoryGameRepository(1, 2, Duration.ZERO, Duration.ZERO, Duration.ZERO);
+		var first = new Game();
+		first.setStatus(Game.Status.IN_PROGRESS);
+		var second = new Game();
+		second.setStatus(Game.Status.IN_PROGRESS);
+		repository.save(first);
+		repository.save(second);
+
+		var lobby = repository.save(new Game());
+
+		assertEquals(2, repository.size());
+		assertSame(lobby, repository.findByUuid(lobby.getUuid()));
+		assertNull(repository.findByUuid(first.getUuid()));
+		assertSame(second, repository.findByUuid(second.getUuid()));
+	}
+
+	@Test
+	void findAllIsASnapshot() {
+		repository = new InMemoryGameRepository();
+		repository.save(new Game());
+		var games = repository.findAll();
+
+		repository.save(new Game());
+
+		assertEquals(1, games.size());
+		assertEquals(2, repository.findAll().size());
+	}
+
+	@Test
+	void concurrentSavesAreAllStored() {
+		repository = new InMemoryGameRepository();
+		var player = new Player(UUID.randomUUID(), UUID.randomUUID(), "Host");
+		try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+			for (int i = 0; i < 1000; i++) {
+				executor.execute(() -> {
+					var game = new Game();
+					game.addPlayer(player);
+					repository.save(game);
+					repository.save(game);
+				});
+			}
+		}
+
+		assertEquals(1000, repository.size());
+		assertEquals(1000, repository.findByPlayer(player).size());
+		assertEquals(1000, repository.countByStatus().get(Game.Status.NOT_STARTED));
+	}
+}
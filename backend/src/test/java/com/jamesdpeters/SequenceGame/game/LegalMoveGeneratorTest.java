@@ -0,0 +1,107 @@
+package com.jamesdpeters.SequenceGame.game;
+
+import com.jamesdpeters.SequenceGame.card.Card;
+import com.jamesdpeters.SequenceGame.card.Deck;
+import com.jamesdpeters.SequenceGame.player.Player;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LegalMoveGeneratorTest {
+
+	private Game game;
+	private Player player1;
+	private Player player2;
+
+	private void setupGame(Card... hand) {
+		game = new Game(2, new Deck(Collections.nCopies(102, new Card(Card.Suit.SPADES, 1))));
+		player1 = new Player();
+		player2 = new Player();
+		game.addPlayer(player1);
+		game.addPlayer(player2);
+		game.initialise();
+		game.getPlayerHands().put(player1.publicUuid(), new ArrayList<>(List.of(hand)));
+	}
+
+	@Test
+	void normalCardTargetsItsOpenSpaces() {
+		var card = new Card(Card.Suit.HEARTS, 5);
+		setupGame(card);
+		var spaces = game.getBoard().getBoardSpacesFromCard(card);
+		game.getBoard().setChip(spaces.getFirst().getLeft(), spaces.getFirst().getRight(), game.getTeams().get(player2.publicUuid()));
+
+		var moves = game.getLegalMoveGenerator().getLegalMoves(player1.publicUuid());
+		assertEquals(List.of(new MoveAction(spaces.getLast().getLeft(), spaces.getLast().getRight(), card)), moves);
+	}
+
+	@Test
+	void twoEyedJackTargetsEveryOpenSpace() {
+		setupGame(new Card(Card.Suit.DIAMONDS, 11));
+		game.getBoard().setChip(1, 1, game.getTeams().get(player2.publicUuid()));
+
+		var moves = game.getLegalMoveGenerator().getLegalMoves(player1.publicUuid());
+		assertEquals(95, moves.size());
+		assertFalse(moves.contains(new MoveAction(1, 1, new Card(Card.Suit.DIAMONDS, 11))));
+		assertFalse(moves.contains(new MoveAction(0, 0, new Card(Card.Suit.DIAMONDS, 11))));
+	}
+
+	@Test
+	void oneEyedJackTargetsOpponentChipsOutsideSequences() {
+		var jack = new Card(Card.Suit.CLUBS, 11);
+		setupGame(jack);
+		var ownTeam = game.getTeams().get(player1.publicUuid());
+		var opponentTeam = game.getTeams().get(player2.publicUuid());
+		game.getBoard().setChip(1, 1, ownTeam);
+		game.getBoard().setChip(2, 2, opponentTeam);
+		game.getBoard().setChip(3, 3, opponentTeam);
+		game.getBoard().setPartOfSequence(3, 3, true);
+
+		var moves = game.getLegalMoveGenerator().getLegalMoves(player1.publicUuid());
+		assertEquals(List.of(new MoveAction(2, 2, jack)), moves);
+	}
+
+	@Test
+	void deadCardCanBeDiscardedOnAnyOpenSpace() {
+		var card = new Card(Card.Suit.HEARTS, 5);
+		setupGame(card);
+		var opponentTeam = game.getTeams().get(player2.publicUuid());
+		game.getBoard().getBoardSpacesFromCard(card)
+				.forEach(space -> game.getBoard().setChip(space.getLeft(), space.getRight(), opponentTeam));
+
+		assertEquals(94, game.getLegalMoveGenerator().getLegalMoves(player1.publicUuid()).size());
+		assertFalse(game.getLegalMoveGenerator().hasPlayableMove(player1.publicUuid()));
+	}
+
+	@Test
+	void noMovesWhenNotPlayersTurn() {
+		setupGame(new Card(Card.Suit.DIAMONDS, 11));
+		game.getPlayerHands().put(player2.publicUuid(), new ArrayList<>(List.of(new Card(Card.Suit.DIAMONDS, 11))));
+
+		assertTrue(game.getLegalMoveGenerator().getLegalMoves(player2.publicUuid()).isEmpty());
+		var mask = game.getLegalMoveGenerator().getActionMask(player2.publicUuid());
+		assertEquals(100, mask.length);
+		for (boolean legal : mask) {
+			assertFalse(legal);
+		}
+	}
+
+	@Test
+	void actionMaskIsIndexedByHandSlotAndCell() {
+		var card = new Card(Card.Suit.HEARTS, 5);
+		setupGame(new Card(Card.Suit.CLUBS, 11), card);
+		var board = game.getBoard();
+
+		var mask = game.getLegalMoveGenerator().getActionMask(player1.publicUuid());
+		assertEquals(2 * board.getCellCount(), mask.length);
+		for (int cell = 0; cell < board.getCellCount(); cell++) {
+			assertFalse(mask[cell]);
+		}
+		for (var space : board.getBoardSpacesFromCard(card)) {
+			assertTrue(mask[board.getCellCount() + board.getCellIndex(space.getLeft(), space.getRight())]);
+		}
+	}
+}
@@ -0,0 +1,126 @@
+package com.jamesdpeters.SequenceGame.game.persistence.mapper;
+
+import com.jamesdpeters.SequenceGame.card.Card;
+import com.jamesdpeters.SequenceGame.game.Game;
+import com.jamesdpeters.SequenceGame.game.GameService;
+import com.jamesdpeters.SequenceGame.game.InMemoryGameRepository;
+import com.jamesdpeters.SequenceGame.game.persistence.entity.GameEntity;
+import com.jamesdpeters.SequenceGame.game.persistence.entity.GameMoveEntity;
+import com.jamesdpeters.SequenceGame.game.persistence.entity.GameSnapshotEntity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameToDomainMapperTest {
+
+	private final GameToEntityMapper entityMapper = new GameToEntityMapper();
+	private final GameToDomainMapper domainMapper = new GameToDomainMapper();
+
+	private GameService gameService;
+	private Game game;
+	private GameEntity entity;
+	private GameSnapshotEntity startSnapshot;
+
+	@BeforeEach
+	void setUp() {
+		gameService = new GameService(new InMemoryGameRepository());
+		game = gameService.createGame();
+		gameService.joinGame(game.getUuid(), "Host");
+		gameService.joinGame(game.getUuid(), "Guest");
+		game = gameService.startGame(game);
+		entity = entityMapper.toEntityHeader(game, new GameEntity());
+		startSnapshot = snapshot(game);
+	}
+
+	@Test
+	void snapshotRoundTrip() {
+		playMoves(5);
+
+		var restored = domainMapper.toDomain(entity, snapshot(game), moveEntities());
+
+		assertSameState(game, restored);
+		assertEquals(game.getMoveHistory(), restored.getMoveHistory());
+	}
+
+	@Test
+	void replaysMovesAfterSnapshot() {
+		playMoves(20);
+
+		var restored = domainMapper.toDomain(entity, startSnapshot, moveEntities());
+
+		assertSameState(game, restored);
+		assertEquals(game.getMoveHistory(), restored.getMoveHistory());
+	}
+
+	@Test
+	void replaysToAPointInTime() {
+		playMoves(8);
+		var midGame = snapshot(game);
+		var midGameState = GameSnapshotCodec.decode(midGame.getState());
+		playMoves(8);
+
+		var restored = domainMapper.toDomain(entity, startSnapshot, moveEntities().subList(0, 8));
+
+		assertEquals(8, restored.getMoveHistory().size());
+		assertEquals(midGameState.currentPlayerTurn(), restored.getCurrentPlayerTurn());
+		assertEquals(midGameState.playerHands(), restored.getPlayerHands());
+		assertEquals(new ArrayList<>(midGameState.deck()), new ArrayList<>(restored.getDeck()));
+	}
+
+	@Test
+	void replayRejectsMismatchedDraw() {
+		playMoves(1);
+		var moves = moveEntities();
+		var recorded = moves.getFirst();
+		var drawn = new Card(recorded.getDrawnCardSuit(), recorded.getDrawnCardValue());
+		recorded.setDrawnCardValue(drawn.value() % 13 + 1);
+
+		assertThrows(IllegalStateException.class, () -> domainMapper.toDomain(entity, startSnapshot, moves));
+	}
+
+	private void playMoves(int count) {
+		for (int i = 0; i < count && game.getStatus() == Game.Status.IN_PROGRESS; i++) {
+			var player = game.getCurrentPlayerTurn();
+			var move = game.getLegalMoveGenerator().getLegalMoves(player).getFirst();
+			game = gameService.doPlayerMove(game.getUuid(), player, move);
+		}
+	}
+
+	private List<GameMoveEntity> moveEntities() {
+		var moves = new ArrayList<GameMoveEntity>();
+		for (int moveOrder = 0; moveOrder < game.getMoveHistory().size(); moveOrder++) {
+			moves.add(entityMapper.toMoveEntity(game, moveOrder, entity));
+		}
+		return moves;
+	}
+
+	private GameSnapshotEntity snapshot(Game game) {
+		var snapshot = new GameSnapshotEntity();
+		snapshot.setGame(entity);
+		snapshot.setMoveCount(game.getMoveHistory().size());
+		snapshot.setState(GameSnapshotCodec.encode(game));
+		return snapshot;
+	}
+
+	private static void assertSameState(Game expected, Game actual) {
+		assertEquals(expected.getStatus(), actual.getStatus());
+		assertEquals(expected.getCurrentPlayerTurn(), actual.getCurrentPlayerTurn());
+		assertEquals(expected.getPlayerHands(), actual.getPlayerHands());
+		assertEquals(expected.getAmountOfTurns(), actual.getAmountOfTurns());
+		assertEquals(expected.getPlayerContainer().getTeams(), actual.getPlayerContainer().getTeams());
+		assertEquals(new ArrayList<>(expected.getDeck()), new ArrayList<>(actual.getDeck()));
+		assertEquals(expected.getDeck().getDiscardPile(), actual.getDeck().getDiscardPile());
+		var board = expected.getBoard();
+		for (int cell = 0; cell < board.getCellCount(); cell++) {
+			var row = board.getCellRow(cell);
+			var column = board.getCellColumn(cell);
+			assertEquals(board.getChip(row, column), actual.getBoard().getChip(row, column));
+			assertEquals(board.isPartOfSequence(row, column), actual.getBoard().isPartOfSequence(row, column));
+		}
+		assertEquals(expected.getHash(), actual.getHash());
+	}
+}
@@ -0,0 +1,86 @@
+package com.jamesdpeters.SequenceGame.game.persistence.mapper;
+
+import com.jamesdpeters.SequenceGame.game.Game;
+import com.jamesdpeters.SequenceGame.game.GameService;
+import com.jamesdpeters.SequenceGame.game.InMemoryGameRepository;
+import com.jamesdpeters.SequenceGame.game.persistence.entity.DeckPile;
+import com.jamesdpeters.SequenceGame.game.persistence.entity.GameBoardSpaceEntity;
+import com.jamesdpeters.SequenceGame.game.persistence.entity.GameDeckCardEntity;
+import com.jamesdpeters.SequenceGame.game.persistence.entity.GameEntity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameToEntityMapperTest {
+
+	private final GameToEntityMapper entityMapper = new GameToEntityMapper();
+	private final GameToDomainMapper domainMapper = new GameToDomainMapper();
+
+	private GameService gameService;
+	private Game game;
+	private GameEntity entity;
+
+	@BeforeEach
+	void setUp() {
+		gameService = new GameService(new InMemoryGameRepository());
+		game = gameService.createGame();
+		gameService.joinGame(game.getUuid(), "Host");
+		gameService.joinGame(game.getUuid(), "Guest");
+		game = gameService.startGame(game);
+		entity = entityMapper.toEntity(game);
+	}
+
+	@Test
+	void roundTripKeepsDrawOrder() {
+		var restored = domainMapper.toDomain(entity);
+
+		assertEquals(new ArrayList<>(game.getDeck()), new ArrayList<>(restored.getDeck()));
+		assertEquals(game.getPlayerHands(), restored.getPlayerHands());
+	}
+
+	@Test
+	void moveOnlyChangesAffectedRows() {
+		var boardSpaces = List.copyOf(entity.getBoardSpaces());
+		var boardSnapshot = boardSpaces.stream().map(GameToEntityMapperTest::chipOf).toList();
+		var drawCards = pile(DeckPile.DRAW);
+		var player = game.getCurrentPlayerTurn();
+		var move = game.getLegalMoveGenerator().getLegalMoves(player).getFirst();
+
+		game = gameService.doPlayerMove(game.getUuid(), player, move);
+		entityMapper.toEntity(game, entity);
+
+		assertEquals(boardSpaces, entity.getBoardSpaces());
+		var changedSpaces = 0;
+		for (int i = 0; i < boardSpaces.size(); i++) {
+			if (!Objects.equals(boardSnapshot.get(i), chipOf(boardSpaces.get(i)))) {
+				changedSpaces++;
+			}
+		}
+		assertEquals(1, changedSpaces);
+
+		// Drawing from the top only drops the highest ordered row; the rest are the same rows.
+		var remainingDraw = pile(DeckPile.DRAW);
+		assertEquals(drawCards.size() - 1, remainingDraw.size());
+		assertTrue(drawCards.containsAll(remainingDraw));
+		assertEquals(1, pile(DeckPile.DISCARD).size());
+		assertEquals(1, entity.getMoveHistory().size());
+
+		var restored = domainMapper.toDomain(entity);
+		assertEquals(new ArrayList<>(game.getDeck()), new ArrayList<>(restored.getDeck()));
+		assertEquals(game.getPlayerHands(), restored.getPlayerHands());
+		assertEquals(game.getMoveHistory(), restored.getMoveHistory());
+	}
+
+	private List<GameDeckCardEntity> pile(DeckPile pile) {
+		return entity.getDeckCards().stream().filter(deckCard -> deckCard.getPile() == pile).toList();
+	}
+
+	private static String chipOf(GameBoardSpaceEntity boardSpace) {
+		return boardSpace.getChipColour() + ":" + boardSpace.isPartOfSequence();
+	}
+}
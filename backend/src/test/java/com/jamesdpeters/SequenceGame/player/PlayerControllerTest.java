@@ -0,0 +1,50 @@
+package com.jamesdpeters.SequenceGame.player;
+
+import com.jamesdpeters.SequenceGame.game.Game;
+import com.jamesdpeters.SequenceGame.game.GameSummary;
+import com.jamesdpeters.SequenceGame.game.GameSummaryPageResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.resttestclient.autoconfigure.AutoConfigureRestTestClient;
+import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.client.RestTestClient;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@WebMvcTest(PlayerController.class)
+@AutoConfigureRestTestClient
+class PlayerControllerTest {
+
+	@Autowired
+	RestTestClient restTestClient;
+
+	@MockitoBean
+	PlayerService playerService;
+
+	@Test
+	void getGames() {
+		var player = new Player(UUID.randomUUID(), UUID.randomUUID(), "Host");
+		var game = new Game();
+		game.addPlayer(player);
+		var summary = GameSummary.from(game);
+		when(playerService.getGameSummaries(player.publicUuid(), "cursor", 100))
+				.thenReturn(new GameSummaryPageResponse(List.of(summary), null));
+
+		var response = restTestClient.get().uri("/player/{publicUuid}/games?cursor=cursor&limit=1000", player.publicUuid())
+						.exchange()
+						.expectStatus().isOk()
+						.returnResult(GameSummaryPageResponse.class)
+						.getResponseBody();
+
+		assertNotNull(response);
+		assertEquals(List.of(summary), response.games());
+		assertNull(response.nextCursor());
+		verify(playerService).getGameSummaries(player.publicUuid(), "cursor", 100);
+	}
+}
@@ -1,11 +1,17 @@
 package com.jamesdpeters.SequenceGame.player;
 
+import com.jamesdpeters.SequenceGame.game.Game;
 import com.jamesdpeters.SequenceGame.game.GameRepository;
 import com.jamesdpeters.SequenceGame.game.GameService;
+import com.jamesdpeters.SequenceGame.game.GameSummary;
 import com.jamesdpeters.SequenceGame.game.InMemoryGameRepository;
+import com.jamesdpeters.SequenceGame.game.exceptions.InvalidCursorException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.UUID;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class PlayerServiceTest {
@@ -33,4 +39,42 @@ class PlayerServiceTest {
 		assertEquals(1, games.size());
 	}
 
-}
\ No newline at end of file
+	@Test
+	void gameSummariesArePagedNewestFirst() {
+		var player = new Player(UUID.randomUUID(), UUID.randomUUID(), "Host");
+		for (int i = 0; i < 5; i++) {
+			var game = new Game();
+			game.addPlayer(player);
+			gameRepository.save(game);
+		}
+		gameService.createGame();
+
+		var summaries = new ArrayList<GameSummary>();
+		String cursor = null;
+		do {
+			var page = playerService.getGameSummaries(player.publicUuid(), cursor, 2);
+			summaries.addAll(page.games());
+			cursor = page.nextCursor();
+		} while (cursor != null);
+
+		assertEquals(5, summaries.size());
+		assertEquals(summaries.stream().sorted(GameSummary.LISTING_ORDER).toList(), summaries);
+		var first = summaries.getFirst();
+		assertEquals(Game.Status.NOT_STARTED, first.status());
+		assertEquals(player.publicUuid(), first.currentPlayerTurn());
+		assertEquals("Host", first.playerNames().get(player.publicUuid()));
+	}
+
+	@Test
+	void playerWithoutGamesHasAnEmptyList() {
+		var page = playerService.getGameSummaries(UUID.randomUUID(), null, 20);
+
+		assertTrue(page.games().isEmpty());
+		assertNull(page.nextCursor());
+	}
+
+	@Test
+	void malformedCursorIsRejected() {
+		assertThrows(InvalidCursorException.class, () -> playerService.getGameSummaries(UUID.randomUUID(), "nope", 20));
+	}
+}
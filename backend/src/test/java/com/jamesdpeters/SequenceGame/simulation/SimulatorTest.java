@@ -0,0 +1,54 @@
+package com.jamesdpeters.SequenceGame.simulation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SimulatorTest {
+
+	private static final List<Simulator.NamedPolicy> SEATS = List.of(
+			new Simulator.NamedPolicy("random", Policies.RANDOM),
+			new Simulator.NamedPolicy("greedy", Policies.GREEDY));
+
+	@Test
+	void sameSeedPlaysSameGames() {
+		var simulator = new Simulator(SEATS, 4);
+		for (int i = 0; i < 20; i++) {
+			assertEquals(simulator.playGame(7, i), simulator.playGame(7, i));
+		}
+	}
+
+	@Test
+	void resultsDoNotDependOnParallelism() {
+		var sequential = new Simulator(SEATS, 1).run(50, 3);
+		var parallel = new Simulator(SEATS, 4).run(50, 3);
+
+		assertEquals(sequential.averageMoves(), parallel.averageMoves());
+		assertEquals(sequential.winRates(), parallel.winRates());
+		assertEquals(sequential.unfinished(), parallel.unfinished());
+	}
+
+	@Test
+	void everyFinishedGameHasOneWinner() {
+		var result = new Simulator(SEATS, 2).run(100, 11);
+
+		var totalWinRate = result.winRates().values().stream().mapToDouble(Double::doubleValue).sum();
+		assertEquals(100 - result.unfinished(), Math.round(totalWinRate * 100));
+		assertTrue(result.averageMoves() > 0);
+		assertTrue(result.winRates().get("greedy") > result.winRates().get("random"));
+	}
+
+	@Test
+	void unplayableSeatCountIsRejected() {
+		var seats = List.of(SEATS.get(0), SEATS.get(1), SEATS.get(0), SEATS.get(1), SEATS.get(0));
+		assertThrows(IllegalArgumentException.class, () -> new Simulator(seats, 1));
+		assertThrows(IllegalArgumentException.class, () -> new Simulator(SEATS.subList(0, 1), 1));
+	}
+
+	@Test
+	void unknownPolicyIsRejected() {
+		assertThrows(IllegalArgumentException.class, () -> Policies.byName("minimax"));
+	}
+}
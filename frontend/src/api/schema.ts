@@ -84,6 +84,66 @@ export interface paths {
         patch?: never;
         trace?: never;
     };
+    "/env/step": {
+        parameters: {
+            query?: never;
+            header?: never;
+            path?: never;
+            cookie?: never;
+        };
+        get?: never;
+        put?: never;
+        /**
+         * Step environments
+         * @description Applies one action index per game and returns the next observation, reward, done flag and legal action mask of each
+         */
+        post: operations["step"];
+        delete?: never;
+        options?: never;
+        head?: never;
+        patch?: never;
+        trace?: never;
+    };
+    "/env/reset": {
+        parameters: {
+            query?: never;
+            header?: never;
+            path?: never;
+            cookie?: never;
+        };
+        get?: never;
+        put?: never;
+        /**
+         * Create environments
+         * @description Creates and starts a batch of games with every seat played by an agent, and returns the first observation of each
+         */
+        post: operations["reset"];
+        delete?: never;
+        options?: never;
+        head?: never;
+        patch?: never;
+        trace?: never;
+    };
+    "/player/{publicUuid}/games": {
+        parameters: {
+            query?: never;
+            header?: never;
+            path?: never;
+            cookie?: never;
+        };
+        /**
+         * List a player's games
+         * @description Returns one page of summaries of the games a player has joined, newest first. Pass nextCursor back as cursor for the next page
+         */
+        get: operations["getGames"];
+        put?: never;
+        post?: never;
+        delete?: never;
+        options?: never;
+        head?: never;
+        patch?: never;
+        trace?: never;
+    };
     "/game/{gameUuid}": {
         parameters: {
             query?: never;
@@ -124,6 +184,26 @@ export interface paths {
         patch?: never;
         trace?: never;
     };
+    "/game/{gameUuid}/player/{playerUuid}/moves": {
+        parameters: {
+            query?: never;
+            header?: never;
+            path?: never;
+            cookie?: never;
+        };
+        /**
+         * Get a player's legal moves
+         * @description Returns every legal move for the player and an action mask indexed by hand slot * cellCount + cell. Empty when it is not the player's turn. Requires the player's private UUID.
+         */
+        get: operations["getLegalMoves"];
+        put?: never;
+        post?: never;
+        delete?: never;
+        options?: never;
+        head?: never;
+        patch?: never;
+        trace?: never;
+    };
     "/game/{gameUuid}/player/{playerUuid}/hand": {
         parameters: {
             query?: never;
@@ -144,6 +224,86 @@ export interface paths {
         patch?: never;
         trace?: never;
     };
+    "/game/{gameUuid}/player/{playerUuid}/events": {
+        parameters: {
+            query?: never;
+            header?: never;
+            path?: never;
+            cookie?: never;
+        };
+        /**
+         * Stream game updates for a player
+         * @description Server-sent events stream sending a "game" event with the current state, including the player's hand, then again every time the game changes. Requires the player's private UUID.
+         */
+        get: operations["streamGame"];
+        put?: never;
+        post?: never;
+        delete?: never;
+        options?: never;
+        head?: never;
+        patch?: never;
+        trace?: never;
+    };
+    "/game/{gameUuid}/player/{playerUuid}/changes": {
+        parameters: {
+            query?: never;
+            header?: never;
+            path?: never;
+            cookie?: never;
+        };
+        /**
+         * Get game changes for a player
+         * @description Returns the moves, changed board spaces, turn state and the player's hand since version `since`. Returns 304 if the game is still at that version. Requires the player's private UUID.
+         */
+        get: operations["getGameChanges"];
+        put?: never;
+        post?: never;
+        delete?: never;
+        options?: never;
+        head?: never;
+        patch?: never;
+        trace?: never;
+    };
+    "/game/{gameUuid}/events": {
+        parameters: {
+            query?: never;
+            header?: never;
+            path?: never;
+            cookie?: never;
+        };
+        /**
+         * Stream game updates
+         * @description Server-sent events stream sending a "game" event with the current state, then again every time the game changes. Does not include any player's hand.
+         */
+        get: operations["streamGame_1"];
+        put?: never;
+        post?: never;
+        delete?: never;
+        options?: never;
+        head?: never;
+        patch?: never;
+        trace?: never;
+    };
+    "/game/{gameUuid}/changes": {
+        parameters: {
+            query?: never;
+            header?: never;
+            path?: never;
+            cookie?: never;
+        };
+        /**
+         * Get game changes
+         * @description Returns the moves, changed board spaces and turn state since version `since`, without any player's hand. Returns 304 if the game is still at that version.
+         */
+        get: operations["getGameChanges_1"];
+        put?: never;
+        post?: never;
+        delete?: never;
+        options?: never;
+        head?: never;
+        patch?: never;
+        trace?: never;
+    };
     "/game/stats": {
         parameters: {
             query?: never;
@@ -151,6 +311,10 @@ export interface paths {
             path?: never;
             cookie?: never;
         };
+        /**
+         * List game stats
+         * @description Returns one page of per-game summary counters, ordered by creation date. Pass nextCursor back as cursor for the next page
+         */
         get: operations["getGameStats"];
         put?: never;
         post?: never;
@@ -160,6 +324,46 @@ export interface paths {
         patch?: never;
         trace?: never;
     };
+    "/game/stats/export": {
+        parameters: {
+            query?: never;
+            header?: never;
+            path?: never;
+            cookie?: never;
+        };
+        /**
+         * Export game stats
+         * @description Streams the stats of every matching game as one JSON array, ordered by creation date
+         */
+        get: operations["exportGameStats"];
+        put?: never;
+        post?: never;
+        delete?: never;
+        options?: never;
+        head?: never;
+        patch?: never;
+        trace?: never;
+    };
+    "/env/observation/{gameUuid}/{playerUuid}": {
+        parameters: {
+            query?: never;
+            header?: never;
+            path?: never;
+            cookie?: never;
+        };
+        /**
+         * Get a binary observation
+         * @description Returns the player's observation as a raw int8 vector: chips, board cards and sequence membership for every cell, then the hand as 7 card ids, then 4 bytes of turn info. Send Accept: application/x-npy for a NumPy .npy stream instead. Requires the player's private UUID.
+         */
+        get: operations["getObservationNpy"];
+        put?: never;
+        post?: never;
+        delete?: never;
+        options?: never;
+        head?: never;
+        patch?: never;
+        trace?: never;
+    };
 }
 export type webhooks = Record<string, never>;
 export interface components {
@@ -200,6 +404,10 @@ export interface components {
         GameResponse: {
             /** Format: uuid */
             uuid?: string;
+            /** Format: int64 */
+            version?: number;
+            /** Format: uuid */
+            userPublicUuid?: string;
             /** Format: int32 */
             maxPlayerSize?: number;
             /** Format: int32 */
@@ -218,8 +426,6 @@ export interface components {
             board?: components["schemas"]["BoardResponse"];
             /** Format: uuid */
             currentPlayerTurn?: string;
-            /** Format: uuid */
-            userPublicUuid?: string;
             playerHand?: components["schemas"]["Card"][];
             /** @enum {string} */
             winner?: "RED" | "BLUE" | "GREEN";
@@ -236,28 +442,140 @@ export interface components {
             value?: components["schemas"]["MoveAction"];
             /** Format: uuid */
             key?: string;
-            right?: components["schemas"]["MoveAction"];
             /** Format: uuid */
             left?: string;
+            right?: components["schemas"]["MoveAction"];
+        };
+        EnvAction: {
+            /** Format: uuid */
+            gameUuid?: string;
+            /** Format: uuid */
+            playerUuid?: string;
+            /** Format: int32 */
+            action?: number;
+        };
+        EnvStepRequest: {
+            actions?: components["schemas"]["EnvAction"][];
+        };
+        EnvState: {
+            /** Format: uuid */
+            gameUuid?: string;
+            /** Format: uuid */
+            playerUuid?: string;
+            /** Format: byte */
+            chips?: string;
+            /** Format: byte */
+            sequences?: string;
+            /** Format: byte */
+            hand?: string;
+            /** Format: byte */
+            actionMask?: string;
+            /** Format: double */
+            reward?: number;
+            /** Format: int32 */
+            sequencesCompleted?: number;
+            done?: boolean;
+            invalid?: boolean;
+            /** @enum {string} */
+            winner?: "RED" | "BLUE" | "GREEN";
+        };
+        EnvStepResponse: {
+            envs?: components["schemas"]["EnvState"][];
+        };
+        EnvResetRequest: {
+            /** Format: int32 */
+            count?: number;
+            /** Format: int32 */
+            players?: number;
+        };
+        EnvResetResponse: {
+            /** Format: int32 */
+            cellCount?: number;
+            /** Format: int32 */
+            maxHandSize?: number;
+            /** Format: byte */
+            boardCards?: string;
+            envs?: components["schemas"]["EnvState"][];
+        };
+        GameSummary: {
+            /** Format: uuid */
+            gameUuid?: string;
+            /** @enum {string} */
+            status?: "NOT_STARTED" | "IN_PROGRESS" | "COMPLETED";
+            /** Format: date-time */
+            createdDate?: string;
+            /** Format: int32 */
+            maxPlayers?: number;
+            players?: string[];
+            playerNames?: {
+                [key: string]: string;
+            };
+            /** Format: uuid */
+            currentPlayerTurn?: string;
+        };
+        GameSummaryPageResponse: {
+            games?: components["schemas"]["GameSummary"][];
+            nextCursor?: string;
+        };
+        LegalMovesResponse: {
+            /** Format: uuid */
+            currentPlayerTurn?: string;
+            hand?: components["schemas"]["Card"][];
+            /** Format: int32 */
+            cellCount?: number;
+            moves?: components["schemas"]["MoveAction"][];
+            actionMask?: boolean[];
         };
         GamePlayerHandResponse: {
             cards?: components["schemas"]["Card"][];
         };
-        GameStatsResponse: {
+        SseEmitter: {
+            /** Format: int64 */
+            timeout?: number;
+        };
+        GameChangesResponse: {
+            /** Format: uuid */
+            uuid?: string;
+            /** Format: int64 */
+            since?: number;
+            /** Format: int64 */
+            version?: number;
+            resyncRequired?: boolean;
+            /** @enum {string} */
+            status?: "NOT_STARTED" | "IN_PROGRESS" | "COMPLETED";
+            /** Format: uuid */
+            currentPlayerTurn?: string;
+            /** @enum {string} */
+            winner?: "RED" | "BLUE" | "GREEN";
+            moves?: components["schemas"]["PairUUIDMoveAction"][];
+            spaces?: components["schemas"]["BoardSpaceResponse"][];
+            playerHand?: components["schemas"]["Card"][];
+        };
+        GameStats: {
             /** Format: uuid */
             gameUuid?: string;
             /** @enum {string} */
+            status?: "NOT_STARTED" | "IN_PROGRESS" | "COMPLETED";
+            /** Format: date-time */
+            createdDate?: string;
+            /** Format: date-time */
+            startedDate?: string;
+            /** @enum {string} */
             winner?: "RED" | "BLUE" | "GREEN";
+            /** Format: int32 */
+            moves?: number;
             sequences?: {
                 [key: string]: number;
             };
-            amountOfTurns?: {
-                [key: string]: number;
-            };
             chipsPlaced?: {
                 [key: string]: number;
             };
         };
+        GameStatsPageResponse: {
+            games?: components["schemas"]["GameStats"][];
+            nextCursor?: string;
+        };
+        StreamingResponseBody: unknown;
     };
     responses: never;
     parameters: never;
@@ -410,6 +728,15 @@ export interface operations {
                     "application/json": components["schemas"]["GameJoinedResponse"];
                 };
             };
+            /** @description Game has already started */
+            403: {
+                headers: {
+                    [name: string]: unknown;
+                };
+                content: {
+                    "application/json": components["schemas"]["GameJoinedResponse"];
+                };
+            };
             /** @description Game not found */
             404: {
                 headers: {
@@ -430,45 +757,131 @@ export interface operations {
             };
         };
     };
-    getGameDetails: {
+    step: {
         parameters: {
             query?: never;
             header?: never;
-            path: {
-                gameUuid: string;
-            };
+            path?: never;
             cookie?: never;
         };
-        requestBody?: never;
+        requestBody: {
+            content: {
+                "application/json": components["schemas"]["EnvStepRequest"];
+            };
+        };
         responses: {
-            /** @description Game details retrieved */
+            /** @description Environments stepped */
             200: {
                 headers: {
                     [name: string]: unknown;
                 };
                 content: {
-                    "application/json": components["schemas"]["GameResponse"];
+                    "application/json": components["schemas"]["EnvStepResponse"];
                 };
             };
-            /** @description Game not found */
-            404: {
+            /** @description Batch too large */
+            400: {
                 headers: {
                     [name: string]: unknown;
                 };
                 content: {
-                    "application/json": components["schemas"]["GameResponse"];
+                    "application/json": components["schemas"]["EnvStepResponse"];
                 };
             };
-        };
-    };
-    getGameDetails_1: {
-        parameters: {
-            query?: never;
-            header?: never;
-            path: {
-                gameUuid: string;
-                playerUuid: string;
-            };
+            /** @description Invalid player UUID */
+            401: {
+                headers: {
+                    [name: string]: unknown;
+                };
+                content: {
+                    "application/json": components["schemas"]["EnvStepResponse"];
+                };
+            };
+            /** @description Game not found */
+            404: {
+                headers: {
+                    [name: string]: unknown;
+                };
+                content: {
+                    "application/json": components["schemas"]["EnvStepResponse"];
+                };
+            };
+        };
+    };
+    reset: {
+        parameters: {
+            query?: never;
+            header?: never;
+            path?: never;
+            cookie?: never;
+        };
+        requestBody: {
+            content: {
+                "application/json": components["schemas"]["EnvResetRequest"];
+            };
+        };
+        responses: {
+            /** @description Environments created */
+            200: {
+                headers: {
+                    [name: string]: unknown;
+                };
+                content: {
+                    "application/json": components["schemas"]["EnvResetResponse"];
+                };
+            };
+            /** @description Batch too large, or invalid count or players */
+            400: {
+                headers: {
+                    [name: string]: unknown;
+                };
+                content: {
+                    "application/json": components["schemas"]["EnvResetResponse"];
+                };
+            };
+        };
+    };
+    getGames: {
+        parameters: {
+            query?: {
+                cursor?: string;
+                limit?: number;
+            };
+            header?: never;
+            path: {
+                publicUuid: string;
+            };
+            cookie?: never;
+        };
+        requestBody?: never;
+        responses: {
+            /** @description Page of game summaries */
+            200: {
+                headers: {
+                    [name: string]: unknown;
+                };
+                content: {
+                    "application/json": components["schemas"]["GameSummaryPageResponse"];
+                };
+            };
+            /** @description Malformed cursor */
+            400: {
+                headers: {
+                    [name: string]: unknown;
+                };
+                content: {
+                    "application/json": components["schemas"]["GameSummaryPageResponse"];
+                };
+            };
+        };
+    };
+    getGameDetails: {
+        parameters: {
+            query?: never;
+            header?: never;
+            path: {
+                gameUuid: string;
+            };
             cookie?: never;
         };
         requestBody?: never;
@@ -482,6 +895,15 @@ export interface operations {
                     "application/json": components["schemas"]["GameResponse"];
                 };
             };
+            /** @description Game has not changed since the version in If-None-Match */
+            304: {
+                headers: {
+                    [name: string]: unknown;
+                };
+                content: {
+                    "application/json": components["schemas"]["GameResponse"];
+                };
+            };
             /** @description Game not found */
             404: {
                 headers: {
@@ -493,6 +915,97 @@ export interface operations {
             };
         };
     };
+    getGameDetails_1: {
+        parameters: {
+            query?: never;
+            header?: never;
+            path: {
+                gameUuid: string;
+                playerUuid: string;
+            };
+            cookie?: never;
+        };
+        requestBody?: never;
+        responses: {
+            /** @description Game details retrieved */
+            200: {
+                headers: {
+                    [name: string]: unknown;
+                };
+                content: {
+                    "application/json": components["schemas"]["GameResponse"];
+                };
+            };
+            /** @description Game has not changed since the version in If-None-Match */
+            304: {
+                headers: {
+                    [name: string]: unknown;
+                };
+                content: {
+                    "application/json": components["schemas"]["GameResponse"];
+                };
+            };
+            /** @description Invalid player UUID */
+            401: {
+                headers: {
+                    [name: string]: unknown;
+                };
+                content: {
+                    "application/json": components["schemas"]["GameResponse"];
+                };
+            };
+            /** @description Game not found */
+            404: {
+                headers: {
+                    [name: string]: unknown;
+                };
+                content: {
+                    "application/json": components["schemas"]["GameResponse"];
+                };
+            };
+        };
+    };
+    getLegalMoves: {
+        parameters: {
+            query?: never;
+            header?: never;
+            path: {
+                gameUuid: string;
+                playerUuid: string;
+            };
+            cookie?: never;
+        };
+        requestBody?: never;
+        responses: {
+            /** @description Legal moves retrieved */
+            200: {
+                headers: {
+                    [name: string]: unknown;
+                };
+                content: {
+                    "application/json": components["schemas"]["LegalMovesResponse"];
+                };
+            };
+            /** @description Invalid player UUID */
+            401: {
+                headers: {
+                    [name: string]: unknown;
+                };
+                content: {
+                    "application/json": components["schemas"]["LegalMovesResponse"];
+                };
+            };
+            /** @description Game not found */
+            404: {
+                headers: {
+                    [name: string]: unknown;
+                };
+                content: {
+                    "application/json": components["schemas"]["LegalMovesResponse"];
+                };
+            };
+        };
+    };
     getGamePlayerHand: {
         parameters: {
             query?: never;
@@ -534,22 +1047,268 @@ export interface operations {
             };
         };
     };
-    getGameStats: {
+    streamGame: {
+        parameters: {
+            query?: never;
+            header?: never;
+            path: {
+                gameUuid: string;
+                playerUuid: string;
+            };
+            cookie?: never;
+        };
+        requestBody?: never;
+        responses: {
+            /** @description Stream opened */
+            200: {
+                headers: {
+                    [name: string]: unknown;
+                };
+                content: {
+                    "text/event-stream": components["schemas"]["SseEmitter"];
+                };
+            };
+            /** @description Invalid player UUID */
+            401: {
+                headers: {
+                    [name: string]: unknown;
+                };
+                content: {
+                    "text/event-stream": components["schemas"]["SseEmitter"];
+                };
+            };
+            /** @description Game not found */
+            404: {
+                headers: {
+                    [name: string]: unknown;
+                };
+                content: {
+                    "text/event-stream": components["schemas"]["SseEmitter"];
+                };
+            };
+        };
+    };
+    getGameChanges: {
+        parameters: {
+            query: {
+                since: number;
+            };
+            header?: never;
+            path: {
+                gameUuid: string;
+                playerUuid: string;
+            };
+            cookie?: never;
+        };
+        requestBody?: never;
+        responses: {
+            /** @description Changes retrieved; resyncRequired is set if the full game must be fetched instead */
+            200: {
+                headers: {
+                    [name: string]: unknown;
+                };
+                content: {
+                    "application/json": components["schemas"]["GameChangesResponse"];
+                };
+            };
+            /** @description Game is still at version since */
+            304: {
+                headers: {
+                    [name: string]: unknown;
+                };
+                content: {
+                    "application/json": components["schemas"]["GameChangesResponse"];
+                };
+            };
+            /** @description Invalid player UUID */
+            401: {
+                headers: {
+                    [name: string]: unknown;
+                };
+                content: {
+                    "application/json": components["schemas"]["GameChangesResponse"];
+                };
+            };
+            /** @description Game not found */
+            404: {
+                headers: {
+                    [name: string]: unknown;
+                };
+                content: {
+                    "application/json": components["schemas"]["GameChangesResponse"];
+                };
+            };
+        };
+    };
+    streamGame_1: {
         parameters: {
             query?: never;
             header?: never;
+            path: {
+                gameUuid: string;
+            };
+            cookie?: never;
+        };
+        requestBody?: never;
+        responses: {
+            /** @description Stream opened */
+            200: {
+                headers: {
+                    [name: string]: unknown;
+                };
+                content: {
+                    "text/event-stream": components["schemas"]["SseEmitter"];
+                };
+            };
+            /** @description Game not found */
+            404: {
+                headers: {
+                    [name: string]: unknown;
+                };
+                content: {
+                    "text/event-stream": components["schemas"]["SseEmitter"];
+                };
+            };
+        };
+    };
+    getGameChanges_1: {
+        parameters: {
+            query: {
+                since: number;
+            };
+            header?: never;
+            path: {
+                gameUuid: string;
+            };
+            cookie?: never;
+        };
+        requestBody?: never;
+        responses: {
+            /** @description Changes retrieved; resyncRequired is set if the full game must be fetched instead */
+            200: {
+                headers: {
+                    [name: string]: unknown;
+                };
+                content: {
+                    "application/json": components["schemas"]["GameChangesResponse"];
+                };
+            };
+            /** @description Game is still at version since */
+            304: {
+                headers: {
+                    [name: string]: unknown;
+                };
+                content: {
+                    "application/json": components["schemas"]["GameChangesResponse"];
+                };
+            };
+            /** @description Game not found */
+            404: {
+                headers: {
+                    [name: string]: unknown;
+                };
+                content: {
+                    "application/json": components["schemas"]["GameChangesResponse"];
+                };
+            };
+        };
+    };
+    getGameStats: {
+        parameters: {
+            query?: {
+                status?: "NOT_STARTED" | "IN_PROGRESS" | "COMPLETED";
+                from?: string;
+                to?: string;
+                cursor?: string;
+                limit?: number;
+            };
+            header?: never;
             path?: never;
             cookie?: never;
         };
         requestBody?: never;
         responses: {
-            /** @description OK */
+            /** @description Page of game stats */
             200: {
                 headers: {
                     [name: string]: unknown;
                 };
                 content: {
-                    "application/json": components["schemas"]["GameStatsResponse"][];
+                    "application/json": components["schemas"]["GameStatsPageResponse"];
+                };
+            };
+            /** @description Malformed cursor */
+            400: {
+                headers: {
+                    [name: string]: unknown;
+                };
+                content: {
+                    "application/json": components["schemas"]["GameStatsPageResponse"];
+                };
+            };
+        };
+    };
+    exportGameStats: {
+        parameters: {
+            query?: {
+                status?: "NOT_STARTED" | "IN_PROGRESS" | "COMPLETED";
+                from?: string;
+                to?: string;
+            };
+            header?: never;
+            path?: never;
+            cookie?: never;
+        };
+        requestBody?: never;
+        responses: {
+            /** @description JSON array of game stats */
+            200: {
+                headers: {
+                    [name: string]: unknown;
+                };
+                content: {
+                    "application/json": components["schemas"]["StreamingResponseBody"];
+                };
+            };
+        };
+    };
+    getObservationNpy: {
+        parameters: {
+            query?: never;
+            header?: never;
+            path: {
+                gameUuid: string;
+                playerUuid: string;
+            };
+            cookie?: never;
+        };
+        requestBody?: never;
+        responses: {
+            /** @description Observation retrieved */
+            200: {
+                headers: {
+                    [name: string]: unknown;
+                };
+                content: {
+                    "application/x-npy": string;
+                };
+            };
+            /** @description Invalid player UUID */
+            401: {
+                headers: {
+                    [name: string]: unknown;
+                };
+                content: {
+                    "application/octet-stream": string;
+                };
+            };
+            /** @description Game not found */
+            404: {
+                headers: {
+                    [name: string]: unknown;
+                };
+                content: {
+                    "application/octet-stream": string;
                 };
             };
         };
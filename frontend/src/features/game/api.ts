@@ -1,4 +1,4 @@
-import { api } from "@/api/client";
+import { api, baseUrl } from "@/api/client";
 import type { components } from "@/api/schema";
 
 export type GameSession = {
@@ -142,3 +142,26 @@ export async function submitMove(
 
   return data;
 }
+
+/**
+ * Opens a server-sent events stream that calls `onGame` with the current game state and again every time
+ * the game changes. `onOpenChange` reports whether the stream is connected, so callers can fall back to
+ * polling while it is not. Returns a function that closes the stream.
+ */
+export function subscribeToGame(params: {
+  gameUuid: string;
+  privatePlayerUuid?: string;
+  onGame: (game: components["schemas"]["GameResponse"]) => void;
+  onOpenChange?: (open: boolean) => void;
+}): () => void {
+  const path = params.privatePlayerUuid
+    ? `/game/${params.gameUuid}/player/${params.privatePlayerUuid}/events`
+    : `/game/${params.gameUuid}/events`;
+  const source = new EventSource(`${baseUrl}${path}`);
+  source.addEventListener("open", () => params.onOpenChange?.(true));
+  source.addEventListener("error", () => params.onOpenChange?.(false));
+  source.addEventListener("game", (event) => {
+    params.onGame(JSON.parse((event as MessageEvent<string>).data));
+  });
+  return () => source.close();
+}
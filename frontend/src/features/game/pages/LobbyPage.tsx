@@ -1,10 +1,10 @@
-import { useState } from "react";
+import { useEffect, useState } from "react";
 import { useMutation, useQuery, useQueryClient } from "@tanstack/react-query";
 import { Link, Navigate, useNavigate, useParams, useSearchParams } from "react-router-dom";
 import type { ReactNode } from "react";
 
 import type { components } from "@/api/schema";
-import { createGameSession, getGameDetails, getGameDetailsAsViewer, joinGameSession, startGame, submitMove } from "@/features/game/api";
+import { createGameSession, getGameDetails, getGameDetailsAsViewer, joinGameSession, startGame, submitMove, subscribeToGame } from "@/features/game/api";
 import { GameBoard } from "@/features/game/components/GameBoard";
 import { Badge } from "@/components/ui/badge";
 import { Button } from "@/components/ui/button";
@@ -675,6 +675,22 @@ export function LobbyPage() {
   const isCreateIntent = !gameUuid && searchParams.get("create") === "1";
   const isViewer = !privatePlayerUuid;
 
+  const [isStreamOpen, setIsStreamOpen] = useState(false);
+
+  useEffect(() => {
+    if (!gameUuid) return;
+    const close = subscribeToGame({
+      gameUuid,
+      privatePlayerUuid,
+      onGame: (game) => queryClient.setQueryData(["game", gameUuid, privatePlayerUuid ?? "viewer"], game),
+      onOpenChange: setIsStreamOpen,
+    });
+    return () => {
+      close();
+      setIsStreamOpen(false);
+    };
+  }, [gameUuid, privatePlayerUuid, queryClient]);
+
   const lobbyGame = useQuery({
     queryKey: ["game", gameUuid, privatePlayerUuid ?? "viewer"],
     queryFn: () => {
@@ -684,7 +700,8 @@ export function LobbyPage() {
       return getGameDetailsAsViewer(gameUuid!);
     },
     enabled: Boolean(gameUuid),
-    refetchInterval: 1000,
+    // The event stream pushes every change; only poll while it is disconnected.
+    refetchInterval: isStreamOpen ? false : 1000,
   });
 
   const startGameMutation = useMutation({
@@ -260,6 +260,16 @@ class SequenceGameAPI:
             return matched
         return empty_non_wild if is_dead_card(card, board_spaces) else []
 
+    def fetch_legal_moves(self, session: GameSession, current_private: UUID) -> dict:
+        """Server-side legal moves and action mask (hand slot * cellCount + cell) for the player."""
+        response = self.client.get_httpx_client().request(
+            "get",
+            f"/game/{session.game_uuid}/player/{current_private}/moves",
+        )
+        if response.status_code != 200:
+            raise RuntimeError(f"Failed to fetch legal moves (status {response.status_code})")
+        return response.json()
+
     def step(self, session: GameSession, current_private: UUID, card, space):
         move_action = MoveAction(row=space.row, column=space.col, card=card)
         try: